@@ -0,0 +1,101 @@
+package com.bookvenue.backend.config;
+
+import com.bookvenue.backend.BackendApplication;
+import com.bookvenue.backend.model.Venue;
+import com.bookvenue.backend.repository.VenueRepository;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.LocalDate;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Platform-thread vs virtual-thread request handling under more concurrent
+ * clients than the connection pool (and, with {@code -t}, than Tomcat's 200
+ * platform threads). Each request books a fresh date, so every call needs a
+ * connection. Compare the throughput scores and the p0.99 line of the
+ * sample-time results.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3, time = 10)
+@Threads(64)
+@Fork(1)
+public class ThreadModeBenchmark {
+
+    private static final int VENUES = 256;
+
+    @Param({"false", "true"})
+    private boolean virtualThreads;
+
+    private ConfigurableApplicationContext context;
+
+    private HttpClient client;
+
+    private URI bookingsUri;
+
+    private long[] venueIds;
+
+    private final AtomicLong sequence = new AtomicLong();
+
+    @Setup
+    public void setUp() {
+        context = new SpringApplicationBuilder(BackendApplication.class)
+                .run("--server.port=0",
+                        "--spring.threads.virtual.enabled=" + virtualThreads,
+                        "--spring.datasource.url=jdbc:h2:mem:threads-" + virtualThreads
+                                + ";DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE;MODE=PostgreSQL",
+                        "--spring.main.banner-mode=off",
+                        "--logging.level.root=WARN");
+
+        VenueRepository venueRepository = context.getBean(VenueRepository.class);
+        venueIds = new long[VENUES];
+        for (int i = 0; i < VENUES; i++) {
+            venueIds[i] = venueRepository.save(new Venue("Thread Hall " + i, "Pune", 100, 1000.0, "jmh")).getId();
+        }
+
+        int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+        bookingsUri = URI.create("http://localhost:" + port + "/api/bookings");
+        client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public int createBooking() throws Exception {
+        long n = sequence.getAndIncrement();
+        String body = "{\"venueId\":" + venueIds[(int) (n % VENUES)]
+                + ",\"userName\":\"Thread User\",\"userEmail\":\"threads@example.com\""
+                + ",\"bookingDate\":\"" + LocalDate.of(2030, 1, 1).plusDays(n / VENUES)
+                + "\",\"hoursBooked\":2}";
+        HttpRequest request = HttpRequest.newBuilder(bookingsUri)
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body))
+                .build();
+        return client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+    }
+}
@@ -0,0 +1,87 @@
+package com.bookvenue.backend.model;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Jackson serialization of the venue and booking payloads, configured like the
+ * application's ObjectMapper.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JsonSerializationBenchmark {
+
+    @Param({"0", "100", "1000"})
+    private int blockedDates;
+
+    private ObjectMapper objectMapper;
+
+    private Venue venue;
+
+    private List<Venue> catalog;
+
+    private Booking booking;
+
+    @Setup
+    public void setUp() {
+        objectMapper = JsonMapper.builder()
+                .findAndAddModules()
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .serializationInclusion(JsonInclude.Include.NON_NULL)
+                .build();
+
+        LocalDate start = LocalDate.of(2025, 1, 1);
+        catalog = new ArrayList<>();
+        for (int v = 0; v < 100; v++) {
+            Venue next = new Venue("Benchmark Hall " + v, "Pune", 200, 1500.0, "jmh");
+            next.setId((long) v + 1);
+            List<LocalDate> dates = new ArrayList<>(blockedDates);
+            for (int i = 0; i < blockedDates; i++) {
+                dates.add(start.plusDays(i * 3L + v));
+            }
+            next.setUnavailableDates(dates);
+            catalog.add(next);
+        }
+        venue = catalog.get(0);
+
+        booking = new Booking(venue, "Benchmark User", "jmh@example.com", start, 4, 6000.0);
+        booking.setId(1L);
+    }
+
+    @Benchmark
+    public byte[] serializeVenue() throws Exception {
+        return objectMapper.writeValueAsBytes(venue);
+    }
+
+    @Benchmark
+    public byte[] serializeCatalog() throws Exception {
+        return objectMapper.writeValueAsBytes(catalog);
+    }
+
+    @Benchmark
+    public byte[] serializeBooking() throws Exception {
+        return objectMapper.writeValueAsBytes(booking);
+    }
+}
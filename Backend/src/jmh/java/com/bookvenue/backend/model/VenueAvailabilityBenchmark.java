@@ -0,0 +1,107 @@
+package com.bookvenue.backend.model;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Availability checks and calendar edits on venues with a growing number of
+ * blocked dates.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class VenueAvailabilityBenchmark {
+
+    private static final LocalDate START = LocalDate.of(2025, 1, 1);
+
+    @Param({"10", "100", "1000", "10000"})
+    private int blockedDates;
+
+    private Venue venue;
+
+    private LocalDate[] probes;
+
+    private LocalDate freeDate;
+
+    private List<LocalDate> blockUpdate;
+
+    private List<LocalDate> unblockUpdate;
+
+    private int next;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        int span = blockedDates * 2;
+
+        List<LocalDate> dates = new ArrayList<>(blockedDates);
+        for (int i = 0; i < blockedDates; i++) {
+            dates.add(START.plusDays(i * 2L));
+        }
+        venue = new Venue("Benchmark Hall", "Pune", 200, 1500.0, "jmh");
+        venue.setUnavailableDates(dates);
+
+        probes = new LocalDate[1024];
+        for (int i = 0; i < probes.length; i++) {
+            probes[i] = START.plusDays(random.nextInt(span));
+        }
+        freeDate = START.plusDays(1);
+
+        // A typical admin edit: a month of blocks and a month of unblocks.
+        blockUpdate = new ArrayList<>();
+        unblockUpdate = new ArrayList<>();
+        for (int i = 0; i < 30; i++) {
+            blockUpdate.add(START.plusDays(random.nextInt(span)));
+            unblockUpdate.add(START.plusDays(random.nextInt(span)));
+        }
+    }
+
+    @Benchmark
+    public boolean isAvailableOn() {
+        return venue.isAvailableOn(probes[next++ & (probes.length - 1)]);
+    }
+
+    @Benchmark
+    public Venue blockAndUnblockDate() {
+        venue.blockDate(freeDate);
+        venue.unblockDate(freeDate);
+        return venue;
+    }
+
+    /**
+     * The calendar merge done by {@code VenueService.updateAvailability}.
+     */
+    @Benchmark
+    public Venue mergeAvailabilityUpdate() {
+        AvailabilityCalendar calendar = venue.getAvailability().copy();
+        blockUpdate.forEach(calendar::block);
+        unblockUpdate.forEach(calendar::unblock);
+
+        Venue updated = venue.copy();
+        updated.setAvailability(calendar);
+        return updated;
+    }
+
+    @Benchmark
+    public List<LocalDate> unavailableDates() {
+        return venue.getUnavailableDates();
+    }
+}
@@ -0,0 +1,41 @@
+package com.bookvenue.backend.service.impl;
+
+import com.bookvenue.backend.model.Venue;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BookingCostBenchmark {
+
+    private final BookingService bookingService = new BookingService();
+
+    private Venue venue;
+
+    private int hours;
+
+    @Setup
+    public void setUp() {
+        venue = new Venue("Benchmark Hall", "Pune", 200, 1499.5, "jmh");
+    }
+
+    @Benchmark
+    public Double calculateBookingCost() {
+        hours = (hours % 12) + 1;
+        return bookingService.calculateBookingCost(venue, hours);
+    }
+}
@@ -0,0 +1,102 @@
+package com.bookvenue.backend.service.impl;
+
+import com.bookvenue.backend.BackendApplication;
+import com.bookvenue.backend.dto.BookingTicket;
+import com.bookvenue.backend.model.Booking;
+import com.bookvenue.backend.model.Venue;
+import com.bookvenue.backend.repository.VenueRepository;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * End-to-end {@link BookingService#createBooking} against embedded H2: striped
+ * lock, transaction, row lock, insert and calendar update. Every invocation
+ * books a fresh venue/date so nothing is rejected as a conflict. Run with
+ * {@code -t N} to measure contention; {@code createBookingQueued} goes through
+ * the group-commit intake instead.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CreateBookingBenchmark {
+
+    private static final int VENUES = 64;
+
+    private static final LocalDate FIRST_DATE = LocalDate.of(2030, 1, 1);
+
+    private ConfigurableApplicationContext context;
+
+    private BookingService bookingService;
+
+    private BookingIntake bookingIntake;
+
+    private final List<Venue> venues = new ArrayList<>();
+
+    private final AtomicLong sequence = new AtomicLong();
+
+    @Setup
+    public void setUp() {
+        context = new SpringApplicationBuilder(BackendApplication.class)
+                .web(WebApplicationType.NONE)
+                .run("--spring.datasource.url=jdbc:h2:mem:jmh;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE;MODE=PostgreSQL",
+                        "--spring.main.banner-mode=off",
+                        "--logging.level.root=WARN");
+        bookingService = context.getBean(BookingService.class);
+        bookingIntake = context.getBean(BookingIntake.class);
+
+        VenueRepository venueRepository = context.getBean(VenueRepository.class);
+        for (int i = 0; i < VENUES; i++) {
+            venues.add(venueRepository.save(new Venue("Benchmark Hall " + i, "Pune", 200, 1500.0, "jmh")));
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public Booking createBooking() {
+        return bookingService.createBooking(nextBooking());
+    }
+
+    @Benchmark
+    public BookingTicket createBookingQueued() {
+        BookingTicket ticket = bookingIntake.submitAndWait(nextBooking());
+        if (ticket.getStatus() != BookingTicket.Status.CONFIRMED) {
+            throw new IllegalStateException("Booking not confirmed: " + ticket);
+        }
+        return ticket;
+    }
+
+    private Booking nextBooking() {
+        long n = sequence.getAndIncrement();
+        Venue venue = venues.get((int) (n % VENUES));
+
+        Venue reference = new Venue();
+        reference.setId(venue.getId());
+        return new Booking(reference, "Benchmark User", "jmh@example.com",
+                FIRST_DATE.plusDays(n / VENUES), 3, null);
+    }
+}
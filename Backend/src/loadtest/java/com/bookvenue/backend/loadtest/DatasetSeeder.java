@@ -0,0 +1,225 @@
+package com.bookvenue.backend.loadtest;
+
+import com.bookvenue.backend.model.AvailabilityCalendar;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * Bulk-loads a synthetic dataset straight into the database with batched JDBC
+ * inserts: venues with blocked dates in the coming year, and whole-day
+ * bookings on past dates. Booking {@code i} goes to venue {@code i % venues}
+ * on day {@code i / venues + 1} before today, so no two bookings collide and
+ * 5M bookings over 100k venues reach back 50 days.
+ * <p>
+ * The schema must already exist (start the backend against the database once).
+ * Seeded venues are tagged {@value #CREATED_BY}; seeding refuses to run twice.
+ */
+final class DatasetSeeder {
+
+    static final String CREATED_BY = "loadtest";
+
+    static final String[] LOCATIONS = {"Mumbai", "Delhi", "Bangalore", "Hyderabad", "Chennai", "Kolkata",
+            "Pune", "Ahmedabad", "Jaipur", "Surat", "Lucknow", "Kanpur", "Nagpur", "Indore", "Bhopal", "Patna",
+            "Vadodara", "Goa", "Kochi", "Chandigarh", "Coimbatore", "Mysore", "Udaipur", "Nashik"};
+
+    private static final String[] KINDS = {"Banquet Hall", "Convention Centre", "Garden", "Rooftop", "Ballroom",
+            "Studio", "Auditorium", "Lawn", "Pavilion", "Terrace"};
+
+    private final String url;
+
+    private final String user;
+
+    private final String password;
+
+    private final int venues;
+
+    private final long bookings;
+
+    private final int blockedDates;
+
+    private final int batchSize;
+
+    private final SplittableRandom random;
+
+    DatasetSeeder(Options options) {
+        this.url = withBatchRewrite(options.required("jdbc-url"));
+        this.user = options.string("user", "postgres");
+        this.password = options.string("password", "");
+        this.venues = options.integer("venues", 1000);
+        this.bookings = options.longValue("bookings", 10_000);
+        this.blockedDates = options.integer("blocked-dates", 5);
+        this.batchSize = options.integer("batch-size", 5000);
+        this.random = new SplittableRandom(options.longValue("random-seed", 42));
+        if (venues <= 0 || bookings < 0 || blockedDates < 0 || batchSize <= 0) {
+            throw new IllegalArgumentException("venues and batch-size must be positive, the others not negative");
+        }
+    }
+
+    void seed() throws SQLException {
+        try (Connection connection = DriverManager.getConnection(url, user, password)) {
+            connection.setAutoCommit(false);
+            if (count(connection, "SELECT COUNT(*) FROM venues WHERE created_by = '" + CREATED_BY + "'") > 0) {
+                throw new IllegalStateException("Database already has seeded venues (created_by = '"
+                        + CREATED_BY + "'); use a fresh database");
+            }
+
+            insertVenues(connection);
+            List<long[]> venueRows = loadVenues(connection);
+            insertBookings(connection, venueRows);
+
+            // The backend recomputes its aggregates on start when this table is empty
+            try (Statement statement = connection.createStatement()) {
+                statement.executeUpdate("DELETE FROM booking_rollups");
+            }
+            connection.commit();
+            System.out.println("Done. Restart the backend, or POST /api/admin/stats/rebuild, to pick up the new "
+                    + "booking totals.");
+        }
+    }
+
+    private void insertVenues(Connection connection) throws SQLException {
+        String sql = "INSERT INTO venues (name, location, capacity, price_per_hour, created_by, is_active, "
+                + "unavailable_ranges, slot_version, created_at, updated_at) VALUES (?, ?, ?, ?, ?, TRUE, ?, 0, ?, ?)";
+        LocalDate today = LocalDate.now();
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        Progress progress = new Progress("venues", venues);
+        try (PreparedStatement insert = connection.prepareStatement(sql)) {
+            for (int i = 0; i < venues; i++) {
+                String location = LOCATIONS[random.nextInt(LOCATIONS.length)];
+                insert.setString(1, location + " " + KINDS[random.nextInt(KINDS.length)] + " " + (i + 1));
+                insert.setString(2, location);
+                insert.setInt(3, 20 + random.nextInt(99) * 10);
+                insert.setDouble(4, 500 + random.nextInt(96) * 100);
+                insert.setString(5, CREATED_BY);
+                insert.setString(6, blockedCalendar(today).encode());
+                insert.setTimestamp(7, now);
+                insert.setTimestamp(8, now);
+                insert.addBatch();
+                if ((i + 1) % batchSize == 0 || i + 1 == venues) {
+                    insert.executeBatch();
+                    connection.commit();
+                    progress.update(i + 1);
+                }
+            }
+        }
+    }
+
+    private AvailabilityCalendar blockedCalendar(LocalDate today) {
+        AvailabilityCalendar calendar = new AvailabilityCalendar();
+        for (int i = 0; i < blockedDates; i++) {
+            calendar.block(today.plusDays(1 + random.nextInt(365)));
+        }
+        return calendar;
+    }
+
+    // {id, price per hour}
+    private static List<long[]> loadVenues(Connection connection) throws SQLException {
+        List<long[]> rows = new ArrayList<>();
+        try (Statement statement = connection.createStatement();
+             ResultSet result = statement.executeQuery("SELECT id, price_per_hour FROM venues WHERE created_by = '"
+                     + CREATED_BY + "' ORDER BY id")) {
+            while (result.next()) {
+                rows.add(new long[]{result.getLong(1), (long) result.getDouble(2)});
+            }
+        }
+        return rows;
+    }
+
+    private void insertBookings(Connection connection, List<long[]> venueRows) throws SQLException {
+        String sql = "INSERT INTO bookings (id, venue_id, user_name, user_email, booking_date, hours_booked, "
+                + "start_time, status, total_cost, created_at, confirmed_marker) "
+                + "VALUES (?, ?, ?, ?, ?, ?, NULL, 'CONFIRMED', ?, ?, TRUE)";
+        long firstId = count(connection, "SELECT COALESCE(MAX(id), 0) FROM bookings") + 1;
+        LocalDate today = LocalDate.now();
+        Progress progress = new Progress("bookings", bookings);
+        try (PreparedStatement insert = connection.prepareStatement(sql)) {
+            for (long i = 0; i < bookings; i++) {
+                long[] venue = venueRows.get((int) (i % venueRows.size()));
+                LocalDate date = today.minusDays(i / venueRows.size() + 1);
+                int hours = 1 + random.nextInt(8);
+                int user = random.nextInt(1_000_000);
+                insert.setLong(1, firstId + i);
+                insert.setLong(2, venue[0]);
+                insert.setString(3, "Load User " + user);
+                insert.setString(4, "user" + user + "@loadtest.example");
+                insert.setObject(5, date);
+                insert.setInt(6, hours);
+                insert.setDouble(7, (double) venue[1] * hours);
+                insert.setTimestamp(8, Timestamp.valueOf(date.minusDays(random.nextInt(60)).atTime(10, 0)));
+                insert.addBatch();
+                if ((i + 1) % batchSize == 0 || i + 1 == bookings) {
+                    insert.executeBatch();
+                    connection.commit();
+                    progress.update(i + 1);
+                }
+            }
+        }
+        moveSequencePast(connection, firstId + bookings);
+    }
+
+    // Hibernate allocates ids from bookings_seq; keep it ahead of the explicit ids.
+    private static void moveSequencePast(Connection connection, long nextId) throws SQLException {
+        String database = connection.getMetaData().getDatabaseProductName();
+        try (Statement statement = connection.createStatement()) {
+            if ("PostgreSQL".equals(database)) {
+                statement.execute("SELECT setval('bookings_seq', GREATEST(" + nextId
+                        + ", (SELECT last_value FROM bookings_seq)))");
+            } else {
+                statement.execute("ALTER SEQUENCE bookings_seq RESTART WITH " + (nextId + 50));
+            }
+        }
+        connection.commit();
+    }
+
+    private static long count(Connection connection, String sql) throws SQLException {
+        try (Statement statement = connection.createStatement(); ResultSet result = statement.executeQuery(sql)) {
+            result.next();
+            return result.getLong(1);
+        }
+    }
+
+    // Lets the Postgres driver send each batch as multi-row INSERTs.
+    private static String withBatchRewrite(String url) {
+        if (!url.startsWith("jdbc:postgresql:") || url.contains("reWriteBatchedInserts")) {
+            return url;
+        }
+        return url + (url.contains("?") ? "&" : "?") + "reWriteBatchedInserts=true";
+    }
+
+    private static final class Progress {
+
+        private final String what;
+
+        private final long total;
+
+        private final long start = System.nanoTime();
+
+        private long lastReport = start;
+
+        private Progress(String what, long total) {
+            this.what = what;
+            this.total = total;
+        }
+
+        private void update(long done) {
+            long now = System.nanoTime();
+            if (done < total && now - lastReport < 2_000_000_000L) {
+                return;
+            }
+            lastReport = now;
+            double seconds = Math.max(1e-9, (now - start) / 1e9);
+            System.out.printf("%-8s %,12d / %,d  (%,.0f rows/s)%n", what, done, total, done / seconds);
+        }
+    }
+}
@@ -0,0 +1,509 @@
+package com.bookvenue.backend.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Open-loop load generator: requests start on a fixed schedule at
+ * {@code rate} per second whatever the server's latency, each on its own
+ * virtual thread, and latency is measured from the scheduled start, so a
+ * stalled server shows up in the percentiles instead of slowing the load
+ * (no coordinated omission).
+ * <p>
+ * Bookings go to a small set of hot venues and dates so that conflicting
+ * requests race each other; afterwards every hot venue's bookings are read
+ * back and checked for overlaps. Requests carry a synthetic
+ * {@code X-Forwarded-For} client address, which the backend honours from a
+ * local proxy, so per-client rate limits see many clients.
+ */
+final class LoadRunner {
+
+    private static final ObjectMapper JSON = new ObjectMapper();
+
+    private static final long HIGHEST_MICROS = TimeUnit.MINUTES.toMicros(10);
+
+    private final URI baseUri;
+
+    private final double rate;
+
+    private final Duration duration;
+
+    private final Duration warmup;
+
+    private final Duration reportInterval;
+
+    private final Duration timeout;
+
+    private final int maxInFlight;
+
+    private final int clients;
+
+    private final int hotVenues;
+
+    private final int hotDays;
+
+    private final int venueSample;
+
+    private final Map<Operation, Integer> mix;
+
+    private final int totalWeight;
+
+    private final Map<Operation, Stats> stats = new EnumMap<>(Operation.class);
+
+    private final Queue<Slot> confirmed = new ConcurrentLinkedQueue<>();
+
+    private final LongAdder skipped = new LongAdder();
+
+    private final AtomicReference<String> venuesEtag = new AtomicReference<>();
+
+    private final LocalDate firstHotDate = LocalDate.now().plusDays(400);
+
+    private final HttpClient client;
+
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+
+    private long[] venueIds;
+
+    LoadRunner(Options options) {
+        this.baseUri = URI.create(options.string("base-url", "http://localhost:8081"));
+        this.rate = options.decimal("rate", 100);
+        this.duration = options.duration("duration", Duration.ofSeconds(60));
+        this.warmup = options.duration("warmup", Duration.ofSeconds(10));
+        this.reportInterval = options.duration("report-interval", Duration.ofSeconds(5));
+        this.timeout = options.duration("timeout", Duration.ofSeconds(30));
+        this.maxInFlight = options.integer("max-in-flight", 10_000);
+        this.clients = options.integer("clients", 500);
+        this.hotVenues = options.integer("hot-venues", 20);
+        this.hotDays = options.integer("hot-days", 10);
+        this.venueSample = options.integer("venue-sample", 10_000);
+        this.mix = parseMix(options.string("mix", "list:5,venue:35,search:20,calendar:15,book:20,block:5"));
+        this.totalWeight = mix.values().stream().mapToInt(Integer::intValue).sum();
+        if (rate <= 0 || totalWeight <= 0) {
+            throw new IllegalArgumentException("rate and the mix weights must be positive");
+        }
+        for (Operation operation : Operation.values()) {
+            stats.put(operation, new Stats());
+        }
+        this.client = HttpClient.newBuilder()
+                .executor(executor)
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(10))
+                .build();
+    }
+
+    /**
+     * Runs the workload and returns the number of double bookings found.
+     */
+    int run() throws Exception {
+        venueIds = loadVenueIds();
+        System.out.printf("Target %,.0f req/s for %s after %s warmup against %s, %,d venues (%d hot)%n",
+                rate, duration, warmup, baseUri, venueIds.length, Math.min(hotVenues, venueIds.length));
+
+        Semaphore inFlight = new Semaphore(maxInFlight);
+        long intervalNanos = (long) (1e9 / rate);
+        long start = System.nanoTime();
+        long measureFrom = start + warmup.toNanos();
+        long end = measureFrom + duration.toNanos();
+        long nextReport = measureFrom + reportInterval.toNanos();
+        boolean measuring = false;
+
+        for (long k = 0; ; k++) {
+            long intended = start + k * intervalNanos;
+            if (intended - end >= 0) {
+                break;
+            }
+            long wait = intended - System.nanoTime();
+            if (wait > 0) {
+                LockSupport.parkNanos(wait);
+            }
+            if (!measuring && intended - measureFrom >= 0) {
+                measuring = true;
+                stats.values().forEach(Stats::reset);
+                skipped.reset();
+            }
+            if (measuring && System.nanoTime() - nextReport >= 0) {
+                report(reportInterval);
+                nextReport += reportInterval.toNanos();
+            }
+            if (!inFlight.tryAcquire()) {
+                skipped.increment();
+                continue;
+            }
+            Operation operation = pick();
+            executor.execute(() -> {
+                try {
+                    execute(operation, intended);
+                } finally {
+                    inFlight.release();
+                }
+            });
+        }
+
+        inFlight.acquire(maxInFlight);
+        report(Duration.ofNanos(System.nanoTime() - (nextReport - reportInterval.toNanos())));
+        printSummary();
+        int doubleBookings = audit();
+        executor.shutdown();
+        return doubleBookings;
+    }
+
+    private void execute(Operation operation, long intended) {
+        Stats stat = stats.get(operation);
+        String outcome;
+        try {
+            HttpResponse<String> response = client.send(request(operation), HttpResponse.BodyHandlers.ofString());
+            outcome = Integer.toString(response.statusCode());
+            onResponse(operation, response);
+        } catch (IOException e) {
+            outcome = e.getClass().getSimpleName();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return;
+        }
+        stat.recorder.recordValue(Math.min(HIGHEST_MICROS, (System.nanoTime() - intended) / 1000));
+        stat.outcomes.computeIfAbsent(outcome, key -> new LongAdder()).increment();
+    }
+
+    private HttpRequest request(Operation operation) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        LocalDate today = LocalDate.now();
+        HttpRequest.Builder builder = switch (operation) {
+            case LIST -> {
+                HttpRequest.Builder list = HttpRequest.newBuilder(uri("/api/venues")).GET();
+                String etag = venuesEtag.get();
+                if (etag != null) {
+                    list.header("If-None-Match", etag);
+                }
+                yield list;
+            }
+            case VENUE -> HttpRequest.newBuilder(uri("/api/venues/" + anyVenue(random))).GET();
+            case SEARCH -> {
+                StringBuilder query = new StringBuilder("/api/venues/search?location=")
+                        .append(DatasetSeeder.LOCATIONS[random.nextInt(DatasetSeeder.LOCATIONS.length)]);
+                if (random.nextBoolean()) {
+                    query.append("&minCapacity=").append(50 * random.nextInt(1, 10));
+                }
+                if (random.nextInt(4) == 0) {
+                    query.append("&freeOn=").append(today.plusDays(random.nextInt(1, 90)));
+                }
+                yield HttpRequest.newBuilder(uri(query.toString())).GET();
+            }
+            case CALENDAR -> HttpRequest.newBuilder(uri("/api/venues/" + anyVenue(random)
+                    + "/availability?from=" + today + "&to=" + today.plusDays(90))).GET();
+            case BOOK -> HttpRequest.newBuilder(uri("/api/bookings"))
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofString(bookingJson(random)));
+            case BLOCK -> {
+                String date = "[\"" + hotDate(random) + "\"]";
+                String body = random.nextBoolean()
+                        ? "{\"blockDates\":" + date + ",\"unblockDates\":[]}"
+                        : "{\"blockDates\":[],\"unblockDates\":" + date + "}";
+                yield HttpRequest.newBuilder(uri("/api/venues/" + hotVenue(random) + "/availability"))
+                        .header("Content-Type", "application/json")
+                        .PUT(HttpRequest.BodyPublishers.ofString(body));
+            }
+        };
+        return builder.timeout(timeout)
+                .header("X-Forwarded-For", clientAddress(random.nextInt(clients)))
+                .build();
+    }
+
+    private String bookingJson(ThreadLocalRandom random) {
+        int user = random.nextInt(100_000);
+        StringBuilder json = new StringBuilder("{\"venueId\":").append(hotVenue(random))
+                .append(",\"userName\":\"Load User ").append(user)
+                .append("\",\"userEmail\":\"user").append(user).append("@loadtest.example\"")
+                .append(",\"bookingDate\":\"").append(hotDate(random)).append('"');
+        if (random.nextBoolean()) {
+            json.append(",\"hoursBooked\":").append(random.nextInt(1, 9));
+        } else {
+            int hours = random.nextInt(1, 4);
+            json.append(",\"startTime\":\"").append(LocalTime.of(random.nextInt(6, 24 - hours), 0))
+                    .append("\",\"hoursBooked\":").append(hours);
+        }
+        return json.append('}').toString();
+    }
+
+    private void onResponse(Operation operation, HttpResponse<String> response) throws IOException {
+        if (operation == Operation.LIST && response.statusCode() == 200) {
+            response.headers().firstValue("ETag").ifPresent(venuesEtag::set);
+        }
+        if (operation == Operation.BOOK && response.statusCode() == 201) {
+            JsonNode booking = JSON.readTree(response.body()).path("booking");
+            confirmed.add(Slot.of(booking.path("venue").path("id").asLong(), booking));
+        }
+    }
+
+    // Double bookings seen in the 201 responses, then in the database itself.
+    private int audit() throws Exception {
+        Map<String, List<Slot>> accepted = new TreeMap<>();
+        for (Slot slot : confirmed) {
+            accepted.computeIfAbsent(slot.venueId + " " + slot.date, key -> new ArrayList<>()).add(slot);
+        }
+        int fromResponses = countOverlaps(accepted);
+
+        Map<String, List<Slot>> stored = new TreeMap<>();
+        for (int i = 0; i < Math.min(hotVenues, venueIds.length); i++) {
+            long venueId = venueIds[i];
+            String cursor = null;
+            do {
+                // Cursors are URL-safe base64
+                JsonNode page = JSON.readTree(getWithRetry("/api/bookings/venue/" + venueId + "?limit=500"
+                        + (cursor == null ? "" : "&cursor=" + cursor)));
+                for (JsonNode booking : page.path("items")) {
+                    Slot slot = Slot.of(venueId, booking);
+                    if ("CONFIRMED".equals(booking.path("status").asText("CONFIRMED"))
+                            && !slot.date.isBefore(firstHotDate)) {
+                        stored.computeIfAbsent(venueId + " " + slot.date, key -> new ArrayList<>()).add(slot);
+                    }
+                }
+                cursor = page.path("nextCursor").isTextual() ? page.path("nextCursor").asText() : null;
+            } while (cursor != null);
+        }
+        int fromDatabase = countOverlaps(stored);
+        System.out.printf("%nBookings confirmed in responses: %,d; double bookings in responses: %d, "
+                + "in the database: %d%n", confirmed.size(), fromResponses, fromDatabase);
+        return Math.max(fromResponses, fromDatabase);
+    }
+
+    private static int countOverlaps(Map<String, List<Slot>> byVenueDate) {
+        int overlaps = 0;
+        for (Map.Entry<String, List<Slot>> entry : byVenueDate.entrySet()) {
+            List<Slot> slots = entry.getValue();
+            for (int i = 0; i < slots.size(); i++) {
+                for (int j = i + 1; j < slots.size(); j++) {
+                    if (slots.get(i).overlaps(slots.get(j))) {
+                        overlaps++;
+                        System.out.println("DOUBLE BOOKING venue/date " + entry.getKey() + ": "
+                                + slots.get(i) + " and " + slots.get(j));
+                    }
+                }
+            }
+        }
+        return overlaps;
+    }
+
+    private long[] loadVenueIds() throws Exception {
+        JsonNode venues = JSON.readTree(getWithRetry("/api/venues"));
+        int count = Math.min(venues.size(), venueSample);
+        if (count == 0) {
+            throw new IllegalStateException("No venues at " + baseUri + "; seed the database first");
+        }
+        long[] ids = new long[count];
+        for (int i = 0; i < count; i++) {
+            ids[i] = venues.get(i).path("id").asLong();
+        }
+        return ids;
+    }
+
+    // Setup and audit requests back off when admission control turns them away.
+    private String getWithRetry(String path) throws Exception {
+        for (int attempt = 1; ; attempt++) {
+            HttpResponse<String> response = client.send(HttpRequest.newBuilder(uri(path))
+                            .timeout(Duration.ofMinutes(2))
+                            .header("X-Forwarded-For", "100.127.255.254")
+                            .GET().build(),
+                    HttpResponse.BodyHandlers.ofString());
+            int status = response.statusCode();
+            if (status == 200) {
+                return response.body();
+            }
+            if ((status != 429 && status != 503) || attempt == 10) {
+                throw new IllegalStateException("GET " + path + " returned " + status + ": " + response.body());
+            }
+            long seconds = response.headers().firstValueAsLong("Retry-After").orElse(1);
+            Thread.sleep(TimeUnit.SECONDS.toMillis(Math.max(1, seconds)));
+        }
+    }
+
+    private void report(Duration interval) {
+        StringBuilder line = new StringBuilder(String.format("%tT", System.currentTimeMillis()));
+        for (Map.Entry<Operation, Stats> entry : stats.entrySet()) {
+            Histogram histogram = entry.getValue().interval();
+            if (histogram.getTotalCount() == 0) {
+                continue;
+            }
+            line.append(String.format("  %s %.0f/s p50=%.1f p99=%.1fms", entry.getKey().label,
+                    histogram.getTotalCount() / Math.max(1e-3, interval.toMillis() / 1000.0),
+                    histogram.getValueAtPercentile(50) / 1000.0, histogram.getValueAtPercentile(99) / 1000.0));
+        }
+        System.out.println(line);
+    }
+
+    private void printSummary() {
+        System.out.printf("%n%-9s %9s %9s %9s %9s %9s %9s  %s%n",
+                "op", "count", "p50 ms", "p90 ms", "p99 ms", "p99.9 ms", "max ms", "outcomes");
+        Histogram all = new Histogram(HIGHEST_MICROS, 3);
+        for (Map.Entry<Operation, Stats> entry : stats.entrySet()) {
+            Stats stat = entry.getValue();
+            stat.interval();
+            if (stat.total.getTotalCount() == 0) {
+                continue;
+            }
+            all.add(stat.total);
+            printRow(entry.getKey().label, stat.total, new TreeMap<>(stat.outcomes));
+        }
+        printRow("all", all, Map.of());
+        System.out.printf("Achieved %,.1f req/s; %,d requests not sent because %,d were in flight%n",
+                all.getTotalCount() / (duration.toMillis() / 1000.0), skipped.sum(), maxInFlight);
+    }
+
+    private static void printRow(String label, Histogram histogram, Map<String, LongAdder> outcomes) {
+        StringBuilder counts = new StringBuilder();
+        outcomes.forEach((outcome, count) -> counts.append(outcome).append('=').append(count.sum()).append(' '));
+        System.out.printf("%-9s %,9d %9.1f %9.1f %9.1f %9.1f %9.1f  %s%n", label, histogram.getTotalCount(),
+                histogram.getValueAtPercentile(50) / 1000.0, histogram.getValueAtPercentile(90) / 1000.0,
+                histogram.getValueAtPercentile(99) / 1000.0, histogram.getValueAtPercentile(99.9) / 1000.0,
+                histogram.getMaxValue() / 1000.0, counts.toString().trim());
+    }
+
+    private Operation pick() {
+        int ticket = ThreadLocalRandom.current().nextInt(totalWeight);
+        for (Map.Entry<Operation, Integer> entry : mix.entrySet()) {
+            ticket -= entry.getValue();
+            if (ticket < 0) {
+                return entry.getKey();
+            }
+        }
+        throw new IllegalStateException();
+    }
+
+    private long anyVenue(ThreadLocalRandom random) {
+        return venueIds[random.nextInt(venueIds.length)];
+    }
+
+    private long hotVenue(ThreadLocalRandom random) {
+        return venueIds[random.nextInt(Math.min(hotVenues, venueIds.length))];
+    }
+
+    private LocalDate hotDate(ThreadLocalRandom random) {
+        return firstHotDate.plusDays(random.nextInt(hotDays));
+    }
+
+    private static String clientAddress(int client) {
+        return "100.64." + (client / 256 % 256) + "." + (client % 256);
+    }
+
+    private URI uri(String path) {
+        return baseUri.resolve(path);
+    }
+
+    private static Map<Operation, Integer> parseMix(String spec) {
+        Map<Operation, Integer> weights = new EnumMap<>(Operation.class);
+        for (String part : spec.split(",")) {
+            String[] pair = part.split(":");
+            weights.put(Operation.of(pair[0].trim()), Integer.parseInt(pair[1].trim()));
+        }
+        return weights;
+    }
+
+    enum Operation {
+        LIST("list"),
+        VENUE("venue"),
+        SEARCH("search"),
+        CALENDAR("calendar"),
+        BOOK("book"),
+        BLOCK("block");
+
+        private final String label;
+
+        Operation(String label) {
+            this.label = label;
+        }
+
+        static Operation of(String label) {
+            for (Operation operation : values()) {
+                if (operation.label.equals(label)) {
+                    return operation;
+                }
+            }
+            throw new IllegalArgumentException("Unknown operation '" + label + "' in mix");
+        }
+    }
+
+    private static final class Stats {
+
+        private final Recorder recorder = new Recorder(HIGHEST_MICROS, 3);
+
+        private final Histogram total = new Histogram(HIGHEST_MICROS, 3);
+
+        private final Map<String, LongAdder> outcomes = new ConcurrentHashMap<>();
+
+        private Histogram interval() {
+            Histogram histogram = recorder.getIntervalHistogram();
+            total.add(histogram);
+            return histogram;
+        }
+
+        private void reset() {
+            recorder.reset();
+            total.reset();
+            outcomes.clear();
+        }
+    }
+
+    // A confirmed booking; a null start time takes the whole day.
+    private static final class Slot {
+
+        private final long venueId;
+
+        private final LocalDate date;
+
+        private final LocalTime startTime;
+
+        private final int hours;
+
+        private Slot(long venueId, LocalDate date, LocalTime startTime, int hours) {
+            this.venueId = venueId;
+            this.date = date;
+            this.startTime = startTime;
+            this.hours = hours;
+        }
+
+        private static Slot of(long venueId, JsonNode booking) {
+            String start = booking.path("startTime").asText(null);
+            return new Slot(venueId, LocalDate.parse(booking.path("bookingDate").asText()),
+                    start == null ? null : LocalTime.parse(start), booking.path("hoursBooked").asInt());
+        }
+
+        private boolean overlaps(Slot other) {
+            if (startTime == null || other.startTime == null) {
+                return true;
+            }
+            return startTime.isBefore(other.startTime.plusHours(other.hours))
+                    && other.startTime.isBefore(startTime.plusHours(hours));
+        }
+
+        @Override
+        public String toString() {
+            return (startTime == null ? "whole day" : startTime + "+" + hours + "h");
+        }
+    }
+}
@@ -0,0 +1,45 @@
+package com.bookvenue.backend.loadtest;
+
+/**
+ * Entry point of the load-test harness:
+ * <pre>
+ * mvn -Ploadtest test-compile exec:exec -Dloadtest.args="seed jdbc-url=jdbc:postgresql://localhost/bookvenue
+ *     user=postgres password=secret venues=100000 bookings=5000000 blocked-dates=10"
+ * mvn -Ploadtest test-compile exec:exec -Dloadtest.args="run base-url=http://localhost:8081 rate=500 duration=2m"
+ * </pre>
+ * {@code seed} options: {@code jdbc-url}, {@code user}, {@code password},
+ * {@code venues}, {@code bookings}, {@code blocked-dates} (per venue),
+ * {@code batch-size}, {@code random-seed}.
+ * <p>
+ * {@code run} options: {@code base-url}, {@code rate} (requests per second),
+ * {@code duration}, {@code warmup}, {@code report-interval}, {@code timeout},
+ * {@code max-in-flight}, {@code clients} (distinct client addresses),
+ * {@code hot-venues} and {@code hot-days} (where bookings contend),
+ * {@code venue-sample}, and {@code mix} as {@code op:weight,...} over
+ * {@code list, venue, search, calendar, book, block}.
+ * <p>
+ * {@code run} exits with status 2 when it finds a double booking.
+ */
+public final class LoadTest {
+
+    private LoadTest() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        if (args.length == 0 || !("seed".equals(args[0]) || "run".equals(args[0]))) {
+            System.err.println("Usage: LoadTest seed|run key=value...  (see LoadTest javadoc for the options)");
+            System.exit(1);
+        }
+        Options options = new Options(args, 1);
+        if ("seed".equals(args[0])) {
+            DatasetSeeder seeder = new DatasetSeeder(options);
+            options.checkAllUsed();
+            seeder.seed();
+            return;
+        }
+        LoadRunner runner = new LoadRunner(options);
+        options.checkAllUsed();
+        int doubleBookings = runner.run();
+        System.exit(doubleBookings > 0 ? 2 : 0);
+    }
+}
@@ -0,0 +1,71 @@
+package com.bookvenue.backend.loadtest;
+
+import org.springframework.boot.convert.DurationStyle;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * {@code key=value} command-line options; every key must be read at least
+ * once, so a typo fails the run instead of silently using a default.
+ */
+final class Options {
+
+    private final Map<String, String> values = new HashMap<>();
+
+    private final Set<String> used = new HashSet<>();
+
+    Options(String[] args, int from) {
+        for (int i = from; i < args.length; i++) {
+            int separator = args[i].indexOf('=');
+            if (separator <= 0) {
+                throw new IllegalArgumentException("Expected key=value, got '" + args[i] + "'");
+            }
+            values.put(args[i].substring(0, separator), args[i].substring(separator + 1));
+        }
+    }
+
+    String string(String key, String defaultValue) {
+        used.add(key);
+        return values.getOrDefault(key, defaultValue);
+    }
+
+    String required(String key) {
+        String value = string(key, null);
+        if (value == null) {
+            throw new IllegalArgumentException("Missing option " + key + "=...");
+        }
+        return value;
+    }
+
+    int integer(String key, int defaultValue) {
+        String value = string(key, null);
+        return value == null ? defaultValue : Integer.parseInt(value);
+    }
+
+    long longValue(String key, long defaultValue) {
+        String value = string(key, null);
+        return value == null ? defaultValue : Long.parseLong(value.replace("_", ""));
+    }
+
+    double decimal(String key, double defaultValue) {
+        String value = string(key, null);
+        return value == null ? defaultValue : Double.parseDouble(value);
+    }
+
+    Duration duration(String key, Duration defaultValue) {
+        String value = string(key, null);
+        return value == null ? defaultValue : DurationStyle.detectAndParse(value);
+    }
+
+    void checkAllUsed() {
+        Set<String> unknown = new HashSet<>(values.keySet());
+        unknown.removeAll(used);
+        if (!unknown.isEmpty()) {
+            throw new IllegalArgumentException("Unknown options " + unknown);
+        }
+    }
+}
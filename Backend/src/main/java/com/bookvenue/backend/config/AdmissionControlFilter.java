@@ -0,0 +1,343 @@
+package com.bookvenue.backend.config;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.env.Environment;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Admission control for the booking and venue APIs.
+ * <p>
+ * Requests are split into bulkheads: catalog and booking reads, booking
+ * writes, and admin work (venue writes, stats, exports). Each has a per-client
+ * token bucket, answered with 429 when empty, and its own concurrency limit,
+ * answered with 503, so a booking surge cannot starve browsing. The booking and
+ * admin limits adapt to the recent wait for a database permit (see
+ * {@link ConnectionLimiter}): they shrink by a fifth while the wait is above
+ * {@code bookvenue.admission.target-pool-wait} and grow back by one per
+ * interval below half of it. Rejections carry {@code Retry-After} and happen
+ * before any database work, so they stay fast while the pool is saturated.
+ */
+@Component
+public class AdmissionControlFilter extends OncePerRequestFilter {
+
+    private static final Logger log = LoggerFactory.getLogger(AdmissionControlFilter.class);
+
+    private static final String PREFIX = "bookvenue.admission.";
+
+    private static final long ADJUST_INTERVAL_NANOS = Duration.ofSeconds(1).toNanos();
+
+    private final boolean enabled;
+
+    private final Duration targetPoolWait;
+
+    private final Supplier<Duration> poolWait;
+
+    private final Map<Bulkhead, Limit> limits = new EnumMap<>(Bulkhead.class);
+
+    private final Cache<String, TokenBucket> buckets;
+
+    private final AtomicLong nextAdjust = new AtomicLong(System.nanoTime());
+
+    @Autowired
+    public AdmissionControlFilter(Environment environment, ConnectionLimiter connectionLimiter,
+                                  MeterRegistry meterRegistry) {
+        this(environment, connectionLimiter::getAverageWait, meterRegistry);
+    }
+
+    AdmissionControlFilter(Environment environment, Supplier<Duration> poolWait, MeterRegistry meterRegistry) {
+        this.enabled = environment.getProperty(PREFIX + "enabled", Boolean.class, true);
+        this.targetPoolWait = environment.getProperty(PREFIX + "target-pool-wait", Duration.class,
+                Duration.ofMillis(50));
+        this.poolWait = poolWait;
+        this.buckets = Caffeine.newBuilder()
+                .expireAfterAccess(environment.getProperty(PREFIX + "client-idle-timeout", Duration.class,
+                        Duration.ofMinutes(10)))
+                .maximumSize(environment.getProperty(PREFIX + "max-clients", Long.class, 100_000L))
+                .build();
+        for (Bulkhead bulkhead : Bulkhead.values()) {
+            limits.put(bulkhead, new Limit(bulkhead, environment, meterRegistry));
+        }
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !enabled || classify(request) == null;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        Limit limit = limits.get(classify(request));
+        adjustIfDue();
+
+        String client = request.getRemoteAddr();
+        TokenBucket bucket = buckets.get(limit.bulkhead + "|" + client, key -> new TokenBucket(limit));
+        long retryAfter = bucket.tryConsume(System.nanoTime());
+        if (retryAfter > 0) {
+            limit.rateLimited.increment();
+            log.debug("Rate limited {} request from {}", limit.bulkhead.tag, client);
+            reject(response, HttpStatus.TOO_MANY_REQUESTS, retryAfter, "Too many requests, slow down");
+            return;
+        }
+        if (!limit.tryAcquire()) {
+            limit.shed.increment();
+            log.debug("Shed {} request at {} in flight", limit.bulkhead.tag, limit.limit);
+            reject(response, HttpStatus.SERVICE_UNAVAILABLE, 1, "Server is busy, try again shortly");
+            return;
+        }
+
+        AtomicBoolean released = new AtomicBoolean();
+        Runnable release = () -> {
+            if (released.compareAndSet(false, true)) {
+                limit.release();
+            }
+        };
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            // Streaming responses hold their slot until they complete
+            if (request.isAsyncStarted()) {
+                request.getAsyncContext().addListener(new ReleasingListener(release));
+            } else {
+                release.run();
+            }
+        }
+    }
+
+    // Async dispatches belong to a request that was already admitted.
+    @Override
+    protected boolean shouldNotFilterAsyncDispatch() {
+        return true;
+    }
+
+    static Bulkhead classify(HttpServletRequest request) {
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        String method = request.getMethod().toUpperCase(Locale.ROOT);
+        if ("OPTIONS".equals(method)) {
+            return null;
+        }
+        boolean read = "GET".equals(method) || "HEAD".equals(method);
+        if (path.startsWith("/api/admin/")
+                || path.equals("/api/bookings/export") || path.equals("/api/bookings/stream")) {
+            return Bulkhead.ADMIN;
+        }
+        if (path.equals("/api/venues") || path.startsWith("/api/venues/")) {
+            return read ? Bulkhead.READ : Bulkhead.ADMIN;
+        }
+        if (path.equals("/api/bookings") || path.startsWith("/api/bookings/")) {
+            return read ? Bulkhead.READ : Bulkhead.BOOKING;
+        }
+        return null;
+    }
+
+    private void adjustIfDue() {
+        long now = System.nanoTime();
+        long due = nextAdjust.get();
+        if (now - due >= 0 && nextAdjust.compareAndSet(due, now + ADJUST_INTERVAL_NANOS)) {
+            adjustLimits();
+        }
+    }
+
+    // AIMD on the measured pool wait, for the bulkheads that hit the database.
+    void adjustLimits() {
+        Duration wait = poolWait.get();
+        for (Limit limit : limits.values()) {
+            if (!limit.bulkhead.adaptive) {
+                continue;
+            }
+            int current = limit.limit;
+            int next = current;
+            if (wait.compareTo(targetPoolWait) > 0) {
+                next = Math.max(limit.min, current * 4 / 5);
+            } else if (wait.compareTo(targetPoolWait.dividedBy(2)) < 0) {
+                next = Math.min(limit.max, current + 1);
+            }
+            if (next != current) {
+                limit.limit = next;
+                log.debug("{} concurrency limit {} -> {} (pool wait {} ms)",
+                        limit.bulkhead.tag, current, next, wait.toMillis());
+            }
+        }
+    }
+
+    int getLimit(Bulkhead bulkhead) {
+        return limits.get(bulkhead).limit;
+    }
+
+    private static void reject(HttpServletResponse response, HttpStatus status, long retryAfterSeconds,
+                               String message) throws IOException {
+        response.setStatus(status.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, Long.toString(retryAfterSeconds));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.getWriter().write("{\"error\":\"" + message + "\"}");
+    }
+
+    enum Bulkhead {
+        READ("read", false, 200, 50, 100),
+        BOOKING("booking", true, 40, 5, 20),
+        ADMIN("admin", true, 10, 5, 20);
+
+        private final String tag;
+
+        private final boolean adaptive;
+
+        private final int defaultMaxConcurrent;
+
+        private final double defaultRate;
+
+        private final int defaultBurst;
+
+        Bulkhead(String tag, boolean adaptive, int defaultMaxConcurrent, double defaultRate, int defaultBurst) {
+            this.tag = tag;
+            this.adaptive = adaptive;
+            this.defaultMaxConcurrent = defaultMaxConcurrent;
+            this.defaultRate = defaultRate;
+            this.defaultBurst = defaultBurst;
+        }
+    }
+
+    private static final class Limit {
+
+        private final Bulkhead bulkhead;
+
+        private final int max;
+
+        private final int min;
+
+        private final double ratePerNano;
+
+        private final int burst;
+
+        private final AtomicInteger inFlight = new AtomicInteger();
+
+        private volatile int limit;
+
+        private final Counter rateLimited;
+
+        private final Counter shed;
+
+        private Limit(Bulkhead bulkhead, Environment environment, MeterRegistry meterRegistry) {
+            String prefix = PREFIX + bulkhead.tag + ".";
+            this.bulkhead = bulkhead;
+            this.max = environment.getProperty(prefix + "max-concurrent", Integer.class,
+                    bulkhead.defaultMaxConcurrent);
+            this.min = Math.min(max, environment.getProperty(prefix + "min-concurrent", Integer.class,
+                    Math.max(1, max / 10)));
+            this.ratePerNano = environment.getProperty(prefix + "rate", Double.class, bulkhead.defaultRate) / 1e9;
+            this.burst = environment.getProperty(prefix + "burst", Integer.class, bulkhead.defaultBurst);
+            this.limit = max;
+
+            Gauge.builder("bookvenue.admission.limit", this, l -> l.limit)
+                    .description("Current concurrency limit")
+                    .tag("bulkhead", bulkhead.tag)
+                    .register(meterRegistry);
+            Gauge.builder("bookvenue.admission.in-flight", inFlight, AtomicInteger::get)
+                    .description("Admitted requests in progress")
+                    .tag("bulkhead", bulkhead.tag)
+                    .register(meterRegistry);
+            this.rateLimited = Counter.builder("bookvenue.admission.rejected")
+                    .description("Requests rejected by admission control")
+                    .tag("bulkhead", bulkhead.tag)
+                    .tag("reason", "rate")
+                    .register(meterRegistry);
+            this.shed = Counter.builder("bookvenue.admission.rejected")
+                    .description("Requests rejected by admission control")
+                    .tag("bulkhead", bulkhead.tag)
+                    .tag("reason", "concurrency")
+                    .register(meterRegistry);
+        }
+
+        private boolean tryAcquire() {
+            if (inFlight.incrementAndGet() > limit) {
+                inFlight.decrementAndGet();
+                return false;
+            }
+            return true;
+        }
+
+        private void release() {
+            inFlight.decrementAndGet();
+        }
+    }
+
+    private static final class TokenBucket {
+
+        private final Limit limit;
+
+        private double tokens;
+
+        private long refilledAt;
+
+        private TokenBucket(Limit limit) {
+            this.limit = limit;
+            this.tokens = limit.burst;
+            this.refilledAt = System.nanoTime();
+        }
+
+        // Takes a token and returns 0, or returns the seconds until one is available.
+        private synchronized long tryConsume(long now) {
+            tokens = Math.min(limit.burst, tokens + (now - refilledAt) * limit.ratePerNano);
+            refilledAt = now;
+            if (tokens >= 1) {
+                tokens--;
+                return 0;
+            }
+            return Math.max(1, (long) Math.ceil((1 - tokens) / limit.ratePerNano / 1e9));
+        }
+    }
+
+    private static final class ReleasingListener implements AsyncListener {
+
+        private final Runnable release;
+
+        private ReleasingListener(Runnable release) {
+            this.release = release;
+        }
+
+        @Override
+        public void onComplete(AsyncEvent event) {
+            release.run();
+        }
+
+        @Override
+        public void onTimeout(AsyncEvent event) {
+            release.run();
+        }
+
+        @Override
+        public void onError(AsyncEvent event) {
+            release.run();
+        }
+
+        @Override
+        public void onStartAsync(AsyncEvent event) {
+        }
+    }
+}
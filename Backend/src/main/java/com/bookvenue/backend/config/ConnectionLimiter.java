@@ -0,0 +1,194 @@
+package com.bookvenue.backend.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.time.Duration;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Puts a fair semaphore, sized to the connection pool, in front of the
+ * application's DataSource.
+ * <p>
+ * With virtual threads there is no request thread pool to cap concurrency, so
+ * thousands of requests can reach Hikari at once and start failing after its
+ * connection timeout. Here they wait in FIFO order for a permit instead, for up
+ * to {@code bookvenue.datasource.limiter.acquire-timeout}. A permit is held
+ * from {@code getConnection} until the connection is closed, so only requests
+ * that actually use the database wait; cache and index hits never do.
+ * A moving average of the wait is kept for admission control.
+ */
+@Component
+public class ConnectionLimiter implements BeanPostProcessor {
+
+    private static final double WAIT_SMOOTHING = 0.1;
+
+    private final boolean enabled;
+
+    private final int permits;
+
+    private final Duration acquireTimeout;
+
+    private final ObjectProvider<MeterRegistry> meterRegistry;
+
+    // Exponentially weighted moving average of permit waits, as double bits
+    private final AtomicLong averageWaitNanos = new AtomicLong(Double.doubleToLongBits(0));
+
+    public ConnectionLimiter(@Value("${bookvenue.datasource.limiter.enabled:true}") boolean enabled,
+                             @Value("${bookvenue.datasource.limiter.permits:${spring.datasource.hikari.maximum-pool-size:10}}") int permits,
+                             @Value("${bookvenue.datasource.limiter.acquire-timeout:2m}") Duration acquireTimeout,
+                             ObjectProvider<MeterRegistry> meterRegistry) {
+        this.enabled = enabled;
+        this.permits = permits;
+        this.acquireTimeout = acquireTimeout;
+        this.meterRegistry = meterRegistry;
+    }
+
+    /**
+     * Recent average time requests waited for a database permit; zero when the
+     * limiter is disabled.
+     */
+    public Duration getAverageWait() {
+        return Duration.ofNanos((long) Double.longBitsToDouble(averageWaitNanos.get()));
+    }
+
+    private void recordWait(long nanos) {
+        averageWaitNanos.getAndUpdate(bits ->
+                Double.doubleToLongBits(Double.longBitsToDouble(bits) * (1 - WAIT_SMOOTHING) + nanos * WAIT_SMOOTHING));
+    }
+
+    /**
+     * Limits a pool that is not a bean itself, such as the targets of
+     * {@link ReplicaRoutingDataSource}, to {@code permits} connections.
+     */
+    public DataSource limit(DataSource dataSource, int permits) {
+        return enabled ? new LimitedDataSource(dataSource, permits) : dataSource;
+    }
+
+    // A routing DataSource has its target pools limited individually.
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (enabled && bean instanceof DataSource dataSource
+                && !(bean instanceof LimitedDataSource) && !(bean instanceof ReplicaRoutingDataSource)) {
+            return new LimitedDataSource(dataSource, permits);
+        }
+        return bean;
+    }
+
+    private final class LimitedDataSource extends DelegatingDataSource {
+
+        private final Semaphore semaphore;
+
+        private volatile Timer waitTimer;
+
+        private LimitedDataSource(DataSource target, int permits) {
+            super(target);
+            this.semaphore = new Semaphore(permits, true);
+        }
+
+        @Override
+        public Connection getConnection() throws SQLException {
+            acquire();
+            return limited(() -> super.getConnection());
+        }
+
+        @Override
+        public Connection getConnection(String username, String password) throws SQLException {
+            acquire();
+            return limited(() -> super.getConnection(username, password));
+        }
+
+        private void acquire() throws SQLException {
+            long start = System.nanoTime();
+            boolean acquired;
+            try {
+                acquired = semaphore.tryAcquire(acquireTimeout.toNanos(), TimeUnit.NANOSECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new SQLTransientConnectionException("Interrupted while waiting for a database permit", e);
+            }
+            long waited = System.nanoTime() - start;
+            recordWait(waited);
+            Timer timer = waitTimer();
+            if (timer != null) {
+                timer.record(waited, TimeUnit.NANOSECONDS);
+            }
+            if (!acquired) {
+                throw new SQLTransientConnectionException("No database permit available after " + acquireTimeout
+                        + " (" + semaphore.getQueueLength() + " waiting)");
+            }
+        }
+
+        private Connection limited(ConnectionSource source) throws SQLException {
+            Connection connection;
+            try {
+                connection = source.get();
+            } catch (SQLException | RuntimeException e) {
+                semaphore.release();
+                throw e;
+            }
+
+            AtomicBoolean released = new AtomicBoolean();
+            return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(),
+                    new Class<?>[]{Connection.class}, (proxy, method, args) -> {
+                        switch (method.getName()) {
+                            case "close":
+                                if (released.compareAndSet(false, true)) {
+                                    try {
+                                        connection.close();
+                                    } finally {
+                                        semaphore.release();
+                                    }
+                                }
+                                return null;
+                            case "equals":
+                                return proxy == args[0];
+                            case "hashCode":
+                                return System.identityHashCode(proxy);
+                            default:
+                                break;
+                        }
+                        try {
+                            return method.invoke(connection, args);
+                        } catch (InvocationTargetException e) {
+                            throw e.getTargetException();
+                        }
+                    });
+        }
+
+        // Resolved on first use: the DataSource is created before the registry.
+        private Timer waitTimer() {
+            Timer timer = waitTimer;
+            if (timer == null) {
+                MeterRegistry registry = meterRegistry.getIfAvailable();
+                if (registry == null) {
+                    return null;
+                }
+                timer = Timer.builder("bookvenue.datasource.permit.wait")
+                        .description("Time spent waiting for a database permit")
+                        .register(registry);
+                waitTimer = timer;
+            }
+            return timer;
+        }
+    }
+
+    @FunctionalInterface
+    private interface ConnectionSource {
+        Connection get() throws SQLException;
+    }
+}
@@ -0,0 +1,58 @@
+package com.bookvenue.backend.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Runs startup data work (sample data, rollup load, search index warm-up)
+ * either inline, or with {@code bookvenue.startup.defer-initialization} on one
+ * background thread so the application accepts requests first. Tasks run one
+ * at a time in submission order; readers of the warmed-up state fall back to
+ * loading it themselves or serve partial data until it is ready.
+ */
+@Component
+public class DeferredInitialization implements DisposableBean {
+
+    private static final Logger log = LoggerFactory.getLogger(DeferredInitialization.class);
+
+    private final ExecutorService executor;
+
+    public DeferredInitialization(@Value("${bookvenue.startup.defer-initialization:false}") boolean deferred) {
+        this.executor = deferred ? Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "deferred-init");
+            thread.setDaemon(true);
+            return thread;
+        }) : null;
+    }
+
+    public void run(String name, Runnable task) {
+        if (executor == null) {
+            task.run();
+            return;
+        }
+        executor.execute(() -> {
+            long start = System.nanoTime();
+            try {
+                task.run();
+                log.info("Deferred {} finished in {} ms", name, (System.nanoTime() - start) / 1_000_000);
+            } catch (RuntimeException e) {
+                if (!executor.isShutdown()) {
+                    log.error("Deferred {} failed", name, e);
+                }
+            }
+        });
+    }
+
+    @Override
+    public void destroy() {
+        if (executor != null) {
+            executor.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,119 @@
+package com.bookvenue.backend.config;
+
+import com.bookvenue.backend.event.VenueChangedEvent;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.availability.AvailabilityChangeEvent;
+import org.springframework.boot.availability.ReadinessState;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.Duration;
+
+/**
+ * Decides when a read-only transaction must still use the primary database
+ * despite a replica being configured, so replica lag never shows a client an
+ * older state than one it has already seen.
+ * <p>
+ * Write requests (anything but GET and HEAD) read from the primary throughout,
+ * so lookups ahead of an update or an idempotency check see current rows. A
+ * successful write request, or any request that opened a read-write
+ * transaction, marks its client (by remote address), whose reads then stay on
+ * the primary for {@code stickiness}. The status decides rather than the
+ * transaction alone, because queued bookings are written by the intake thread,
+ * not the request thread.
+ * Venue changes pin all reads for that long, because the shared venue cache and
+ * search index reload right after them; so does startup, until the application
+ * accepts traffic.
+ */
+@Component
+@ConditionalOnProperty("bookvenue.datasource.replica.url")
+public class ReadYourWrites extends OncePerRequestFilter {
+
+    private final long stickinessNanos;
+
+    private final Cache<String, Boolean> recentWriters;
+
+    private final ThreadLocal<Scope> current = new ThreadLocal<>();
+
+    private volatile long catalogPinnedUntil = System.nanoTime();
+
+    private volatile boolean ready;
+
+    public ReadYourWrites(@Value("${bookvenue.datasource.replica.stickiness:5s}") Duration stickiness) {
+        this.stickinessNanos = stickiness.toNanos();
+        this.recentWriters = Caffeine.newBuilder()
+                .expireAfterWrite(stickiness)
+                .maximumSize(100_000)
+                .build();
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        String client = request.getRemoteAddr();
+        boolean read = "GET".equals(request.getMethod()) || "HEAD".equals(request.getMethod());
+        Scope scope = new Scope(!read || recentWriters.getIfPresent(client) != null);
+        current.set(scope);
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            current.remove();
+            if (scope.wrote || (!read && response.getStatus() < 400)) {
+                recentWriters.put(client, Boolean.TRUE);
+            }
+        }
+    }
+
+    /**
+     * Whether reads on this thread have to see the primary's latest state.
+     */
+    public boolean isPinnedToPrimary() {
+        Scope scope = current.get();
+        return !ready || (scope != null && (scope.pinned || scope.wrote))
+                || System.nanoTime() - catalogPinnedUntil < 0;
+    }
+
+    /**
+     * Records that the current request opened a read-write transaction.
+     */
+    public void wrote() {
+        Scope scope = current.get();
+        if (scope != null) {
+            scope.wrote = true;
+        }
+    }
+
+    // Published after the ApplicationReadyEvent listeners, which warm the indexes.
+    @EventListener
+    public void onReadiness(AvailabilityChangeEvent<ReadinessState> event) {
+        ready = event.getState() == ReadinessState.ACCEPTING_TRAFFIC;
+    }
+
+    // Runs on publish, before the after-commit listeners that reload the catalog.
+    @EventListener
+    public void onVenueChanged(VenueChangedEvent event) {
+        if (event.getType() != VenueChangedEvent.ChangeType.DATE_BOOKED) {
+            catalogPinnedUntil = System.nanoTime() + stickinessNanos;
+        }
+    }
+
+    private static final class Scope {
+
+        private final boolean pinned;
+
+        private boolean wrote;
+
+        private Scope(boolean pinned) {
+            this.pinned = pinned;
+        }
+    }
+}
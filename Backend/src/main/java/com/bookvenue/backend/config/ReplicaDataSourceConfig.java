@@ -0,0 +1,61 @@
+package com.bookvenue.backend.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.env.Environment;
+
+/**
+ * Splits the database into a primary pool, configured by
+ * {@code spring.datasource.*} as before, and a read-only replica pool,
+ * configured by {@code bookvenue.datasource.replica.*}. Without a replica URL
+ * this does nothing and Spring Boot sets up the single pool as usual.
+ */
+@Configuration(proxyBeanMethods = false)
+@ConditionalOnProperty("bookvenue.datasource.replica.url")
+public class ReplicaDataSourceConfig {
+
+    private static final String REPLICA = "bookvenue.datasource.replica";
+
+    @Bean
+    @Primary
+    public ReplicaRoutingDataSource dataSource(DataSourceProperties properties, Environment environment,
+                                               ConnectionLimiter connectionLimiter, ReadYourWrites readYourWrites,
+                                               ObjectProvider<MeterRegistry> meterRegistry) {
+        Binder binder = Binder.get(environment);
+
+        HikariDataSource primary = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        binder.bind("spring.datasource.hikari", Bindable.ofInstance(primary));
+        primary.setPoolName("primary");
+
+        HikariDataSource replica = DataSourceBuilder.create()
+                .type(HikariDataSource.class)
+                .url(environment.getRequiredProperty(REPLICA + ".url"))
+                .username(environment.getProperty(REPLICA + ".username", properties.determineUsername()))
+                .password(environment.getProperty(REPLICA + ".password", properties.determinePassword()))
+                .build();
+        binder.bind("spring.datasource.hikari", Bindable.ofInstance(replica));
+        binder.bind(REPLICA + ".hikari", Bindable.ofInstance(replica));
+        replica.setPoolName("replica");
+        replica.setReadOnly(true);
+
+        meterRegistry.ifAvailable(registry -> {
+            primary.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(registry));
+            replica.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(registry));
+        });
+
+        return new ReplicaRoutingDataSource(
+                primary, connectionLimiter.limit(primary, primary.getMaximumPoolSize()),
+                replica, connectionLimiter.limit(replica, replica.getMaximumPoolSize()),
+                readYourWrites);
+    }
+}
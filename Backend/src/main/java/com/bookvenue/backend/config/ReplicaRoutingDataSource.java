@@ -0,0 +1,67 @@
+package com.bookvenue.backend.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.io.Closeable;
+import java.sql.Connection;
+import java.util.Map;
+
+/**
+ * Sends read-only transactions to the replica pool and everything else to the
+ * primary, unless {@link ReadYourWrites} pins the current thread to the
+ * primary.
+ * <p>
+ * Connections are handed out lazily, so the pool is chosen at the first
+ * statement, after the transaction manager has marked the transaction
+ * read-only, and a transaction that never reaches the database takes no
+ * connection from either pool.
+ */
+public class ReplicaRoutingDataSource extends LazyConnectionDataSourceProxy implements Closeable {
+
+    private static final String PRIMARY = "primary";
+
+    private static final String REPLICA = "replica";
+
+    private final HikariDataSource primaryPool;
+
+    private final HikariDataSource replicaPool;
+
+    public ReplicaRoutingDataSource(HikariDataSource primaryPool, DataSource primary,
+                                    HikariDataSource replicaPool, DataSource replica,
+                                    ReadYourWrites readYourWrites) {
+        this.primaryPool = primaryPool;
+        this.replicaPool = replicaPool;
+
+        AbstractRoutingDataSource router = new AbstractRoutingDataSource() {
+            @Override
+            protected Object determineCurrentLookupKey() {
+                if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+                    if (TransactionSynchronizationManager.isActualTransactionActive()) {
+                        readYourWrites.wrote();
+                    }
+                    return PRIMARY;
+                }
+                return readYourWrites.isPinnedToPrimary() ? PRIMARY : REPLICA;
+            }
+        };
+        router.setTargetDataSources(Map.of(PRIMARY, primary, REPLICA, replica));
+        router.setDefaultTargetDataSource(primary);
+        router.afterPropertiesSet();
+
+        // Set up front so the proxy does not borrow a connection to find them out
+        setDefaultAutoCommit(primaryPool.isAutoCommit());
+        setDefaultTransactionIsolation(Connection.TRANSACTION_READ_COMMITTED);
+        setTargetDataSource(router);
+        afterPropertiesSet();
+    }
+
+    @Override
+    public void close() {
+        replicaPool.close();
+        primaryPool.close();
+    }
+}
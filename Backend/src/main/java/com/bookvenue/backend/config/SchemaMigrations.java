@@ -0,0 +1,213 @@
+package com.bookvenue.backend.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.orm.jpa.EntityManagerFactoryDependsOnPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.support.EncodedResource;
+import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
+import org.springframework.jdbc.datasource.init.ScriptUtils;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.zip.CRC32;
+
+/**
+ * Applies versioned SQL migrations before Hibernate starts; Hibernate then only
+ * validates the schema. Scripts are named {@code V<version>__<description>.sql}
+ * and live in {@code db/migration/common} and {@code db/migration/<vendor>}
+ * ({@code postgresql} or {@code h2}). Each runs once, in its own transaction,
+ * and is recorded with a checksum in {@code schema_migrations}; editing a script
+ * that already ran fails startup. V1 only creates or adds what is missing, so a
+ * database created by the old {@code ddl-auto=update} (tables but no history)
+ * is migrated from V1 like an empty one.
+ * {@code bookvenue.schema.migrate=false} skips all of this.
+ */
+@Component(SchemaMigrations.BEAN_NAME)
+public class SchemaMigrations implements InitializingBean {
+
+    static final String BEAN_NAME = "schemaMigrations";
+
+    private static final Logger log = LoggerFactory.getLogger(SchemaMigrations.class);
+
+    private static final Pattern SCRIPT_NAME = Pattern.compile("V(\\d+)__(\\w+)\\.sql");
+
+    // Serializes instances migrating the same Postgres database
+    private static final long ADVISORY_LOCK = 0x626f6f6b76656e75L;
+
+    @Autowired
+    private DataSource dataSource;
+
+    private final boolean enabled;
+
+    public SchemaMigrations(@Value("${bookvenue.schema.migrate:true}") boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    // Hibernate validates the schema, so it must see the migrated one
+    @Bean
+    static EntityManagerFactoryDependsOnPostProcessor entityManagerFactoryDependsOnSchemaMigrations() {
+        return new EntityManagerFactoryDependsOnPostProcessor(BEAN_NAME);
+    }
+
+    @Override
+    public void afterPropertiesSet() throws SQLException, IOException {
+        if (!enabled) {
+            return;
+        }
+        try (Connection connection = dataSource.getConnection()) {
+            String vendor = vendor(connection);
+            Map<Integer, Migration> migrations = findMigrations(vendor);
+            boolean postgres = "postgresql".equals(vendor);
+            if (postgres) {
+                try (PreparedStatement lock = connection.prepareStatement("SELECT pg_advisory_lock(?)")) {
+                    lock.setLong(1, ADVISORY_LOCK);
+                    lock.execute();
+                }
+            }
+            boolean autoCommit = connection.getAutoCommit();
+            connection.setAutoCommit(false);
+            try {
+                migrate(connection, migrations);
+            } finally {
+                connection.setAutoCommit(autoCommit);
+                if (postgres) {
+                    try (PreparedStatement unlock = connection.prepareStatement("SELECT pg_advisory_unlock(?)")) {
+                        unlock.setLong(1, ADVISORY_LOCK);
+                        unlock.execute();
+                    }
+                }
+            }
+        }
+    }
+
+    private void migrate(Connection connection, Map<Integer, Migration> migrations) throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("CREATE TABLE IF NOT EXISTS schema_migrations (" +
+                    "version INTEGER NOT NULL PRIMARY KEY, " +
+                    "description VARCHAR(200) NOT NULL, " +
+                    "checksum BIGINT NOT NULL, " +
+                    "installed_at TIMESTAMP NOT NULL)");
+        }
+        connection.commit();
+
+        Map<Integer, Long> applied = appliedChecksums(connection);
+        for (Migration migration : migrations.values()) {
+            Long checksum = applied.get(migration.version);
+            if (checksum != null) {
+                if (checksum != migration.checksum) {
+                    throw new IllegalStateException("Migration " + migration + " was changed after it was applied");
+                }
+                continue;
+            }
+            try {
+                ScriptUtils.executeSqlScript(connection, new EncodedResource(migration.script, StandardCharsets.UTF_8));
+                record(connection, migration);
+                connection.commit();
+            } catch (RuntimeException | SQLException e) {
+                connection.rollback();
+                throw new IllegalStateException("Migration " + migration + " failed", e);
+            }
+            log.info("Applied migration {}", migration);
+        }
+    }
+
+    private static Map<Integer, Long> appliedChecksums(Connection connection) throws SQLException {
+        Map<Integer, Long> applied = new HashMap<>();
+        try (Statement statement = connection.createStatement();
+             ResultSet result = statement.executeQuery("SELECT version, checksum FROM schema_migrations")) {
+            while (result.next()) {
+                applied.put(result.getInt(1), result.getLong(2));
+            }
+        }
+        return applied;
+    }
+
+    private static void record(Connection connection, Migration migration) throws SQLException {
+        try (PreparedStatement insert = connection.prepareStatement("INSERT INTO schema_migrations " +
+                "(version, description, checksum, installed_at) VALUES (?, ?, ?, ?)")) {
+            insert.setInt(1, migration.version);
+            insert.setString(2, migration.description);
+            insert.setLong(3, migration.checksum);
+            insert.setTimestamp(4, Timestamp.valueOf(LocalDateTime.now()));
+            insert.executeUpdate();
+        }
+    }
+
+    private static Map<Integer, Migration> findMigrations(String vendor) throws IOException {
+        PathMatchingResourcePatternResolver resolver = new PathMatchingResourcePatternResolver();
+        Map<Integer, Migration> migrations = new TreeMap<>();
+        for (String location : new String[]{"common", vendor}) {
+            for (Resource script : resolver.getResources("classpath*:db/migration/" + location + "/*.sql")) {
+                Matcher name = SCRIPT_NAME.matcher(script.getFilename());
+                if (!name.matches()) {
+                    throw new IllegalStateException("Migration script " + script + " is not named V<version>__<description>.sql");
+                }
+                Migration migration = new Migration(Integer.parseInt(name.group(1)), name.group(2), script);
+                Migration duplicate = migrations.put(migration.version, migration);
+                if (duplicate != null) {
+                    throw new IllegalStateException("Migrations " + duplicate.script + " and " + script + " share a version");
+                }
+            }
+        }
+        if (!migrations.containsKey(1)) {
+            throw new IllegalStateException("No baseline migration V1 in db/migration/common");
+        }
+        return migrations;
+    }
+
+    private static String vendor(Connection connection) throws SQLException {
+        String product = connection.getMetaData().getDatabaseProductName();
+        return switch (product) {
+            case "PostgreSQL" -> "postgresql";
+            case "H2" -> "h2";
+            default -> throw new IllegalStateException("No schema migrations for " + product);
+        };
+    }
+
+    private static final class Migration {
+
+        private final int version;
+
+        private final String description;
+
+        private final Resource script;
+
+        private final long checksum;
+
+        private Migration(int version, String description, Resource script) throws IOException {
+            this.version = version;
+            this.description = description.replace('_', ' ');
+            this.script = script;
+            CRC32 crc = new CRC32();
+            try (InputStream in = script.getInputStream()) {
+                crc.update(in.readAllBytes());
+            }
+            this.checksum = crc.getValue();
+        }
+
+        @Override
+        public String toString() {
+            return "V" + version + " (" + description + ")";
+        }
+    }
+}
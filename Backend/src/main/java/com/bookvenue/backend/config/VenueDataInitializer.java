@@ -1,28 +1,55 @@
 package com.bookvenue.backend.config;
 
+import com.bookvenue.backend.event.VenueChangedEvent;
+import com.bookvenue.backend.model.AvailabilityCalendar;
 import com.bookvenue.backend.model.Venue;
 import com.bookvenue.backend.repository.BookingRepository;
 import com.bookvenue.backend.repository.VenueRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.CommandLineRunner;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Component;
 
+import java.sql.Date;
 import java.time.LocalDate;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 @Component
 public class VenueDataInitializer implements CommandLineRunner {
 
+    private static final Logger log = LoggerFactory.getLogger(VenueDataInitializer.class);
+
     @Autowired
     private VenueRepository venueRepository;
 
     @Autowired
     private BookingRepository bookingRepository;
 
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private DeferredInitialization deferredInitialization;
+
     @Override
     public void run(String... args) throws Exception {
+        deferredInitialization.run("venue data initialization", this::initialize);
+    }
+
+    private void initialize() {
+        migrateLegacyUnavailableDates();
+
         if (shouldInitializeData()) {
             performDataInitialization();
         } else {
@@ -35,29 +62,58 @@ public class VenueDataInitializer implements CommandLineRunner {
     }
 
     private void performDataInitialization() {
-        System.out.println("🏢 Database is empty. Initializing venue data...");
+        log.info("Database is empty. Initializing venue data...");
 
         try {
             initializeVenues();
-            System.out.println("✅ Venue data initialized successfully!");
-            System.out.println("🎯 Ready for booking process testing!");
+            log.info("Venue data initialized successfully");
         } catch (Exception e) {
-            System.err.println("❌ Failed to initialize venue data: " + e.getMessage());
+            log.error("Failed to initialize venue data", e);
             throw e;
         }
     }
 
+    // Folds rows from the old one-row-per-date venue_unavailable_dates table into
+    // the encoded unavailable_ranges column, then empties the old table.
+    private void migrateLegacyUnavailableDates() {
+        Map<Long, List<LocalDate>> legacyDates = new HashMap<>();
+        try {
+            jdbcTemplate.query("SELECT venue_id, unavailable_date FROM venue_unavailable_dates", rs -> {
+                Date date = rs.getDate("unavailable_date");
+                if (date != null) {
+                    legacyDates.computeIfAbsent(rs.getLong("venue_id"), id -> new ArrayList<>())
+                            .add(date.toLocalDate());
+                }
+            });
+        } catch (DataAccessException e) {
+            return;
+        }
+        if (legacyDates.isEmpty()) {
+            return;
+        }
+
+        for (Venue venue : venueRepository.findAllById(legacyDates.keySet())) {
+            AvailabilityCalendar calendar = venue.getAvailability().copy();
+            legacyDates.get(venue.getId()).forEach(calendar::block);
+            venue.setAvailability(calendar);
+            venueRepository.save(venue);
+        }
+        jdbcTemplate.update("DELETE FROM venue_unavailable_dates");
+        log.info("Migrated unavailable dates for {} venues to range encoding", legacyDates.size());
+    }
+
     private void displayExistingDataStats() {
-        System.out.println("📊 Database already contains data. Skipping initialization.");
-        System.out.println("🏢 Total venues: " + venueRepository.count());
-        System.out.println("📅 Total bookings: " + bookingRepository.count());
-        System.out.println("✨ Preserving existing test data for continued development.");
+        log.info("Database already contains data. Skipping initialization.");
+        log.info("Total venues: {}, total bookings: {}", venueRepository.count(), bookingRepository.count());
     }
 
     private void initializeVenues() {
         List<Venue> venues = createSampleVenues();
-        venueRepository.saveAll(venues);
-        System.out.println("🏢 Successfully created " + venues.size() + " sample venues");
+        for (Venue venue : venueRepository.saveAll(venues)) {
+            // Caches and the search index may already be warm when this runs deferred
+            eventPublisher.publishEvent(new VenueChangedEvent(venue, VenueChangedEvent.ChangeType.CREATED));
+        }
+        log.info("Created {} sample venues", venues.size());
     }
 
     private List<Venue> createSampleVenues() {
@@ -0,0 +1,38 @@
+package com.bookvenue.backend.controller;
+
+import com.bookvenue.backend.service.impl.BookingAggregates;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDate;
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/admin/stats")
+@CrossOrigin(origins = "*")
+public class AdminStatsController {
+
+    @Autowired
+    private BookingAggregates bookingAggregates;
+
+    @GetMapping
+    public ResponseEntity<?> getStats(@RequestParam(required = false)
+                                      @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+                                      @RequestParam(required = false)
+                                      @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+                                      @RequestParam(defaultValue = "20") int top) {
+        try {
+            return ResponseEntity.ok(bookingAggregates.getStats(from, to, top));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        }
+    }
+
+    @PostMapping("/rebuild")
+    public ResponseEntity<?> rebuild(@RequestParam(defaultValue = "20") int top) {
+        bookingAggregates.rebuild();
+        return ResponseEntity.ok(bookingAggregates.getStats(null, null, top));
+    }
+}
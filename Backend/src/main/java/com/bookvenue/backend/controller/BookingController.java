@@ -1,14 +1,32 @@
 package com.bookvenue.backend.controller;
 
 import com.bookvenue.backend.dto.BookingRequest;
+import com.bookvenue.backend.dto.BookingSummary;
+import com.bookvenue.backend.dto.BookingTicket;
 import com.bookvenue.backend.model.Booking;
 import com.bookvenue.backend.model.Venue;
+import com.bookvenue.backend.service.impl.BookingExporter;
+import com.bookvenue.backend.service.impl.BookingIntake;
 import com.bookvenue.backend.service.impl.BookingService;
+import com.bookvenue.backend.service.impl.BookingService.Period;
+import com.bookvenue.backend.service.impl.IdempotencyStore;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.time.LocalDate;
 import java.util.List;
 import java.util.Map;
 
@@ -17,29 +35,85 @@ import java.util.Map;
 @CrossOrigin(origins = "*")
 public class BookingController {
 
+    private static final int MAX_BATCH_SIZE = 500;
+
     @Autowired
     private BookingService bookingService;
 
+    @Autowired
+    private BookingIntake bookingIntake;
+
+    @Autowired
+    private BookingExporter bookingExporter;
+
+    @Autowired
+    private IdempotencyStore idempotencyStore;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
     @GetMapping
-    public List<Booking> getAllBookings() {
-        return bookingService.getAllBookings();
+    public ResponseEntity<?> getAllBookings(@RequestParam(required = false) String cursor,
+                                            @RequestParam(defaultValue = "50") int limit) {
+        try {
+            return ResponseEntity.ok(bookingService.getBookingsPage(cursor, limit));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        }
+    }
+
+    @GetMapping("/user")
+    public ResponseEntity<?> getUserBookings(@RequestParam String email,
+                                             @RequestParam(defaultValue = "upcoming") String period,
+                                             @RequestParam(required = false) String cursor,
+                                             @RequestParam(defaultValue = "20") int limit) {
+        try {
+            return ResponseEntity.ok(bookingService.getUserBookingsPage(email, Period.of(period), cursor, limit));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        }
+    }
+
+    @GetMapping(value = "/stream", produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamAllBookings() {
+        StreamingResponseBody body = out -> {
+            try (JsonGenerator generator = objectMapper.getFactory().createGenerator(out)) {
+                generator.writeStartArray();
+                bookingService.streamAllBookings(booking -> {
+                    try {
+                        generator.writeObject(booking);
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+                generator.writeEndArray();
+            }
+        };
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(body);
     }
 
     @PostMapping
-    public ResponseEntity<?> createBooking(@RequestBody BookingRequest request) {
+    public ResponseEntity<?> createBooking(@RequestBody BookingRequest request,
+                                           @RequestHeader(value = IdempotencyStore.HEADER, required = false)
+                                           String idempotencyKey) {
+        if (idempotencyKey != null) {
+            return idempotencyStore.execute(idempotencyKey, request, () -> doCreateBooking(request));
+        }
+        return doCreateBooking(request);
+    }
+
+    private ResponseEntity<?> doCreateBooking(BookingRequest request) {
+        if (bookingIntake.isEnabled()) {
+            try {
+                return ticketResponse(bookingIntake.submitAndWait(toBooking(request)));
+            } catch (IllegalStateException e) {
+                return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body(Map.of("error", e.getMessage()));
+            }
+        }
         try {
-            Booking booking = new Booking();
-            booking.setUserName(request.getUserName());
-            booking.setUserEmail(request.getUserEmail());
-            booking.setBookingDate(request.getBookingDate());
-            booking.setHoursBooked(request.getHoursBooked());
-
-            // Create a venue object with ID
-            Venue venue = new Venue();
-            venue.setId(request.getVenueId());
-            booking.setVenue(venue);
-
-            Booking created = bookingService.createBooking(booking);
+            Booking created = bookingService.createBooking(toBooking(request));
             return ResponseEntity.status(HttpStatus.CREATED).body(Map.of(
                     "message", "Booking confirmed successfully",
                     "booking", created
@@ -49,9 +123,96 @@ public class BookingController {
         }
     }
 
+    @PostMapping("/async")
+    public ResponseEntity<?> submitBooking(@RequestBody BookingRequest request) {
+        try {
+            BookingTicket ticket = bookingIntake.submit(toBooking(request));
+            return ResponseEntity.accepted()
+                    .location(URI.create("/api/bookings/tickets/" + ticket.getId()))
+                    .body(ticket);
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body(Map.of("error", e.getMessage()));
+        }
+    }
+
+    @GetMapping("/tickets/{ticketId}")
+    public ResponseEntity<BookingTicket> getTicket(@PathVariable String ticketId) {
+        return bookingIntake.getTicket(ticketId)
+                .map(ResponseEntity::ok)
+                .orElse(ResponseEntity.notFound().build());
+    }
+
+    @PostMapping("/batch")
+    public ResponseEntity<?> createBookings(@RequestBody List<BookingRequest> requests) {
+        if (requests == null || requests.isEmpty() || requests.size() > MAX_BATCH_SIZE) {
+            return ResponseEntity.badRequest().body(Map.of(
+                    "error", "A batch must contain between 1 and " + MAX_BATCH_SIZE + " bookings"));
+        }
+        try {
+            List<Booking> bookings = requests.stream().map(this::toBooking).toList();
+            return ResponseEntity.ok(bookingService.createBookings(bookings));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        }
+    }
+
     @GetMapping("/recent")
-    public List<Booking> getRecentBookings() {
-        return bookingService.getRecentBookings(); // This returns List<Booking> directly
+    public List<BookingSummary> getRecentBookings() {
+        return bookingService.getRecentBookings(); // This returns List<BookingSummary> directly
+    }
+
+    @GetMapping("/venue/{venueId}")
+    public ResponseEntity<?> getBookingsForVenue(@PathVariable Long venueId,
+                                                 @RequestParam(required = false) String cursor,
+                                                 @RequestParam(defaultValue = "50") int limit) {
+        try {
+            return ResponseEntity.ok(bookingService.getVenueBookingsPage(venueId, cursor, limit));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        }
+    }
+
+    @GetMapping("/range")
+    public ResponseEntity<?> getBookingsBetween(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "50") int limit) {
+        try {
+            return ResponseEntity.ok(bookingService.getBookingsBetweenPage(from, to, cursor, limit));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        }
+    }
+
+    // Gzip is applied here rather than by the container, which does not compress
+    // these content types and would buffer differently.
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportBookings(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(defaultValue = "csv") String format,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
+        BookingExporter.Format exportFormat;
+        try {
+            exportFormat = BookingExporter.Format.of(format);
+            bookingService.checkDateRange(from, to);
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage(), e);
+        }
+
+        boolean gzip = acceptEncoding != null && acceptEncoding.contains("gzip");
+        StreamingResponseBody body = out -> bookingExporter.export(exportFormat, from, to, gzip, out);
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(exportFormat.getMediaType() + ";charset=UTF-8"))
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                        .filename("bookings-" + from + "-" + to + "." + exportFormat.getExtension())
+                        .build().toString())
+                .varyBy(HttpHeaders.ACCEPT_ENCODING);
+        if (gzip) {
+            response.header(HttpHeaders.CONTENT_ENCODING, "gzip");
+        }
+        return response.body(body);
     }
 
     @GetMapping("/{id}")
@@ -76,4 +237,35 @@ public class BookingController {
             return ResponseEntity.notFound().build();
         }
     }
+
+    // Same responses as the synchronous path once the booking is written;
+    // 202 with the ticket while it is still queued.
+    private ResponseEntity<?> ticketResponse(BookingTicket ticket) {
+        return switch (ticket.getStatus()) {
+            case CONFIRMED -> ResponseEntity.status(HttpStatus.CREATED).body(Map.of(
+                    "message", "Booking confirmed successfully",
+                    "booking", ticket.getBooking()
+            ));
+            case REJECTED -> ResponseEntity.badRequest().body(Map.of("error", ticket.getError()));
+            case FAILED -> ResponseEntity.internalServerError().body(Map.of("error", ticket.getError()));
+            case PENDING -> ResponseEntity.accepted()
+                    .location(URI.create("/api/bookings/tickets/" + ticket.getId()))
+                    .body(ticket);
+        };
+    }
+
+    private Booking toBooking(BookingRequest request) {
+        Booking booking = new Booking();
+        booking.setUserName(request.getUserName());
+        booking.setUserEmail(request.getUserEmail());
+        booking.setBookingDate(request.getBookingDate());
+        booking.setHoursBooked(request.getHoursBooked());
+        booking.setStartTime(request.getStartTime());
+
+        // Create a venue object with ID
+        Venue venue = new Venue();
+        venue.setId(request.getVenueId());
+        booking.setVenue(venue);
+        return booking;
+    }
 }
@@ -0,0 +1,24 @@
+package com.bookvenue.backend.controller;
+
+import com.bookvenue.backend.service.impl.ChangeFeed;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+@RestController
+@RequestMapping("/api/changes")
+@CrossOrigin(origins = "*")
+public class ChangeFeedController {
+
+    @Autowired
+    private ChangeFeed changeFeed;
+
+    // EventSource sends Last-Event-ID when it reconnects; `since` is for the first connection.
+    @GetMapping(produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter subscribe(@RequestParam(required = false) Long venueId,
+                                @RequestParam(required = false) Long since,
+                                @RequestHeader(value = "Last-Event-ID", required = false) Long lastEventId) {
+        return changeFeed.subscribe(venueId, lastEventId != null ? lastEventId : since);
+    }
+}
@@ -2,12 +2,21 @@ package com.bookvenue.backend.controller;
 
 import com.bookvenue.backend.dto.AvailabilityUpdateRequest;
 import com.bookvenue.backend.model.Venue;
+import com.bookvenue.backend.service.impl.VenueResponseCache;
 import com.bookvenue.backend.service.impl.VenueService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
+import java.time.LocalDate;
 import java.util.List;
+import java.util.Map;
 
 @RestController
 @RequestMapping("/api/venues")
@@ -17,9 +26,36 @@ public class VenueController {
     @Autowired
     private VenueService venueService;
 
+    @Autowired
+    private VenueResponseCache venueResponseCache;
+
     @GetMapping
-    public List<Venue> getAllVenues() {
-        return venueService.getAllVenues();
+    public ResponseEntity<byte[]> getAllVenues(WebRequest request) {
+        return catalogResponse(venueResponseCache.allVenues(), request);
+    }
+
+    @GetMapping("/search")
+    public List<Venue> searchVenues(@RequestParam(required = false) String location,
+                                    @RequestParam(required = false) String name,
+                                    @RequestParam(required = false) Integer minCapacity,
+                                    @RequestParam(required = false) Integer maxCapacity,
+                                    @RequestParam(required = false) Double minPrice,
+                                    @RequestParam(required = false) Double maxPrice,
+                                    @RequestParam(required = false)
+                                    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date) {
+        return venueService.searchVenues(location, name, minCapacity, maxCapacity, minPrice, maxPrice, date);
+    }
+
+    @GetMapping("/availability")
+    public ResponseEntity<?> getAvailability(@RequestParam List<Long> ids,
+                                             @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+                                             @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+                                             @RequestParam(defaultValue = VenueService.FORMAT_RANGES) String format) {
+        try {
+            return ResponseEntity.ok(venueService.getAvailability(ids, from, to, format));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        }
     }
 
     @PostMapping
@@ -28,12 +64,40 @@ public class VenueController {
     }
 
     @GetMapping("/{id}")
-    public ResponseEntity<Venue> getVenueById(@PathVariable Long id) {
-        return venueService.getVenueById(id)
-                .map(ResponseEntity::ok)
+    public ResponseEntity<byte[]> getVenueById(@PathVariable Long id, WebRequest request) {
+        return venueResponseCache.venue(id)
+                .map(body -> catalogResponse(body, request))
                 .orElse(ResponseEntity.notFound().build());
     }
 
+    @GetMapping("/{id}/slots")
+    public ResponseEntity<?> getFreeSlots(@PathVariable Long id,
+                                          @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+                                          @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+                                          @RequestParam(defaultValue = "1") int hours) {
+        try {
+            return venueService.getFreeSlots(id, from, to, hours)
+                    .<ResponseEntity<?>>map(ResponseEntity::ok)
+                    .orElse(ResponseEntity.notFound().build());
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        }
+    }
+
+    @GetMapping("/{id}/availability")
+    public ResponseEntity<?> getAvailability(@PathVariable Long id,
+                                             @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+                                             @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+                                             @RequestParam(defaultValue = VenueService.FORMAT_RANGES) String format) {
+        try {
+            return venueService.getAvailability(id, from, to, format)
+                    .<ResponseEntity<?>>map(ResponseEntity::ok)
+                    .orElse(ResponseEntity.notFound().build());
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        }
+    }
+
     @DeleteMapping("/{id}")
     public ResponseEntity<Void> deleteVenue(@PathVariable Long id) {
         venueService.deleteVenue(id);
@@ -65,4 +129,52 @@ public class VenueController {
             return ResponseEntity.badRequest().build();
         }
     }
+
+    // Bodies are already serialized; gzip is sent as-is, which also stops the
+    // container from compressing them again. A matching If-None-Match is only
+    // answered once the resource is known to exist. Either encoding's tag
+    // matches, since both stand for the same content.
+    private ResponseEntity<byte[]> catalogResponse(VenueResponseCache.Body body, WebRequest request) {
+        String acceptEncoding = request.getHeader(HttpHeaders.ACCEPT_ENCODING);
+        boolean gzip = acceptEncoding != null && acceptEncoding.contains("gzip");
+        String etag = gzip ? body.getGzipEtag() : body.getEtag();
+        if (isNotModified(request, body)) {
+            return notModified(etag);
+        }
+
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .eTag(etag)
+                .cacheControl(CacheControl.noCache())
+                .varyBy(HttpHeaders.ACCEPT_ENCODING)
+                .contentType(MediaType.APPLICATION_JSON);
+        if (gzip) {
+            return response.header(HttpHeaders.CONTENT_ENCODING, "gzip").body(body.getGzip());
+        }
+        return response.body(body.getJson());
+    }
+
+    private boolean isNotModified(WebRequest request, VenueResponseCache.Body body) {
+        String ifNoneMatch = request.getHeader(HttpHeaders.IF_NONE_MATCH);
+        if (ifNoneMatch == null) {
+            return false;
+        }
+        for (String candidate : ifNoneMatch.split(",")) {
+            String tag = candidate.trim();
+            if (tag.startsWith("W/")) {
+                tag = tag.substring(2);
+            }
+            if (tag.equals("*") || tag.equals(body.getEtag()) || tag.equals(body.getGzipEtag())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private ResponseEntity<byte[]> notModified(String etag) {
+        return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                .eTag(etag)
+                .cacheControl(CacheControl.noCache())
+                .varyBy(HttpHeaders.ACCEPT_ENCODING)
+                .build();
+    }
 }
@@ -0,0 +1,79 @@
+package com.bookvenue.backend.dto;
+
+import com.bookvenue.backend.model.Booking;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class BatchBookingResult {
+
+    private int succeeded;
+
+    private int failed;
+
+    private List<Item> results = new ArrayList<>();
+
+    public BatchBookingResult() {
+    }
+
+    public void addSuccess(int index, Booking booking) {
+        results.add(new Item(index, booking, null));
+        succeeded++;
+    }
+
+    public void addFailure(int index, String error) {
+        results.add(new Item(index, null, error));
+        failed++;
+    }
+
+    public int getSucceeded() {
+        return succeeded;
+    }
+
+    public int getFailed() {
+        return failed;
+    }
+
+    public List<Item> getResults() {
+        return results;
+    }
+
+    @Override
+    public String toString() {
+        return "BatchBookingResult{" +
+                "succeeded=" + succeeded +
+                ", failed=" + failed +
+                '}';
+    }
+
+    public static class Item {
+
+        private final int index;
+
+        private final Booking booking;
+
+        private final String error;
+
+        public Item(int index, Booking booking, String error) {
+            this.index = index;
+            this.booking = booking;
+            this.error = error;
+        }
+
+        public int getIndex() {
+            return index;
+        }
+
+        public boolean isSuccess() {
+            return error == null;
+        }
+
+        public Booking getBooking() {
+            return booking;
+        }
+
+        public String getError() {
+            return error;
+        }
+    }
+}
@@ -0,0 +1,55 @@
+package com.bookvenue.backend.dto;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * Opaque keyset position {@code (bookingDate, id)} in a user's booking history,
+ * handed to clients as a URL-safe string.
+ */
+public class BookingDateCursor {
+
+    private final LocalDate bookingDate;
+
+    private final Long id;
+
+    public BookingDateCursor(LocalDate bookingDate, Long id) {
+        this.bookingDate = bookingDate;
+        this.id = id;
+    }
+
+    public static BookingDateCursor decode(String cursor) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = raw.indexOf('|');
+            return new BookingDateCursor(
+                    LocalDate.parse(raw.substring(0, separator)),
+                    Long.parseLong(raw.substring(separator + 1)));
+        } catch (IllegalArgumentException | IndexOutOfBoundsException | DateTimeParseException e) {
+            throw new IllegalArgumentException("Invalid cursor");
+        }
+    }
+
+    public String encode() {
+        String raw = bookingDate + "|" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public LocalDate getBookingDate() {
+        return bookingDate;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    @Override
+    public String toString() {
+        return "BookingDateCursor{" +
+                "bookingDate=" + bookingDate +
+                ", id=" + id +
+                '}';
+    }
+}
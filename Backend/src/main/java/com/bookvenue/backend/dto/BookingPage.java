@@ -0,0 +1,42 @@
+package com.bookvenue.backend.dto;
+
+import java.util.List;
+
+public class BookingPage<T> {
+
+    private List<T> items;
+
+    private String nextCursor;
+
+    public BookingPage() {
+    }
+
+    public BookingPage(List<T> items, String nextCursor) {
+        this.items = items;
+        this.nextCursor = nextCursor;
+    }
+
+    public List<T> getItems() {
+        return items;
+    }
+
+    public void setItems(List<T> items) {
+        this.items = items;
+    }
+
+    public String getNextCursor() {
+        return nextCursor;
+    }
+
+    public void setNextCursor(String nextCursor) {
+        this.nextCursor = nextCursor;
+    }
+
+    @Override
+    public String toString() {
+        return "BookingPage{" +
+                "items=" + (items != null ? items.size() : 0) +
+                ", nextCursor='" + nextCursor + '\'' +
+                '}';
+    }
+}
@@ -1,6 +1,7 @@
 package com.bookvenue.backend.dto;
 
 import java.time.LocalDate;
+import java.time.LocalTime;
 
 public class BookingRequest {
 
@@ -14,6 +15,8 @@ public class BookingRequest {
 
     private Integer hoursBooked;
 
+    private LocalTime startTime;
+
     public BookingRequest() {
     }
 
@@ -66,6 +69,14 @@ public class BookingRequest {
         this.hoursBooked = hoursBooked;
     }
 
+    public LocalTime getStartTime() {
+        return startTime;
+    }
+
+    public void setStartTime(LocalTime startTime) {
+        this.startTime = startTime;
+    }
+
     public String toString() {
         return "BookingRequest{" +
                 "venueId=" + venueId +
@@ -73,6 +84,7 @@ public class BookingRequest {
                 ", userEmail='" + userEmail + '\'' +
                 ", bookingDate=" + bookingDate +
                 ", hoursBooked=" + hoursBooked +
+                ", startTime=" + startTime +
                 '}';
     }
 }
@@ -0,0 +1,154 @@
+package com.bookvenue.backend.dto;
+
+import java.time.LocalDate;
+import java.util.List;
+
+public class BookingStats {
+
+    private final long confirmedBookings;
+
+    private final long totalHours;
+
+    private final double totalRevenue;
+
+    private final long activeVenues;
+
+    private final LocalDate from;
+
+    private final LocalDate to;
+
+    private final List<VenueTotals> venues;
+
+    private final List<DayTotals> days;
+
+    public BookingStats(long confirmedBookings, long totalHours, double totalRevenue, long activeVenues,
+                        LocalDate from, LocalDate to, List<VenueTotals> venues, List<DayTotals> days) {
+        this.confirmedBookings = confirmedBookings;
+        this.totalHours = totalHours;
+        this.totalRevenue = totalRevenue;
+        this.activeVenues = activeVenues;
+        this.from = from;
+        this.to = to;
+        this.venues = venues;
+        this.days = days;
+    }
+
+    public long getConfirmedBookings() {
+        return confirmedBookings;
+    }
+
+    public long getTotalHours() {
+        return totalHours;
+    }
+
+    public double getTotalRevenue() {
+        return totalRevenue;
+    }
+
+    public long getActiveVenues() {
+        return activeVenues;
+    }
+
+    public LocalDate getFrom() {
+        return from;
+    }
+
+    public LocalDate getTo() {
+        return to;
+    }
+
+    public List<VenueTotals> getVenues() {
+        return venues;
+    }
+
+    public List<DayTotals> getDays() {
+        return days;
+    }
+
+    @Override
+    public String toString() {
+        return "BookingStats{" +
+                "confirmedBookings=" + confirmedBookings +
+                ", totalHours=" + totalHours +
+                ", totalRevenue=" + totalRevenue +
+                ", activeVenues=" + activeVenues +
+                ", from=" + from +
+                ", to=" + to +
+                '}';
+    }
+
+    public static class VenueTotals {
+
+        private final Long venueId;
+
+        private final String venueName;
+
+        private final long bookings;
+
+        private final long hours;
+
+        private final double revenue;
+
+        public VenueTotals(Long venueId, String venueName, long bookings, long hours, double revenue) {
+            this.venueId = venueId;
+            this.venueName = venueName;
+            this.bookings = bookings;
+            this.hours = hours;
+            this.revenue = revenue;
+        }
+
+        public Long getVenueId() {
+            return venueId;
+        }
+
+        public String getVenueName() {
+            return venueName;
+        }
+
+        public long getBookings() {
+            return bookings;
+        }
+
+        public long getHours() {
+            return hours;
+        }
+
+        public double getRevenue() {
+            return revenue;
+        }
+    }
+
+    public static class DayTotals {
+
+        private final LocalDate date;
+
+        private final long bookings;
+
+        private final long hours;
+
+        private final double revenue;
+
+        public DayTotals(LocalDate date, long bookings, long hours, double revenue) {
+            this.date = date;
+            this.bookings = bookings;
+            this.hours = hours;
+            this.revenue = revenue;
+        }
+
+        public LocalDate getDate() {
+            return date;
+        }
+
+        public long getBookings() {
+            return bookings;
+        }
+
+        public long getHours() {
+            return hours;
+        }
+
+        public double getRevenue() {
+            return revenue;
+        }
+    }
+}
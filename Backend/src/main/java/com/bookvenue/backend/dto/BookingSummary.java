@@ -0,0 +1,128 @@
+package com.bookvenue.backend.dto;
+
+import com.bookvenue.backend.model.Booking.BookingStatus;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+
+/**
+ * Read-only booking row for list endpoints. Carries only the venue fields the
+ * admin pages show, nested under {@code venue} like the entity's JSON.
+ */
+public class BookingSummary {
+
+    private final Long id;
+
+    private final String userName;
+
+    private final String userEmail;
+
+    private final LocalDate bookingDate;
+
+    private final LocalTime startTime;
+
+    private final Integer hoursBooked;
+
+    private final Double totalCost;
+
+    private final BookingStatus status;
+
+    private final LocalDateTime createdAt;
+
+    private final VenueSummary venue;
+
+    public BookingSummary(Long id, String userName, String userEmail, LocalDate bookingDate, LocalTime startTime,
+                          Integer hoursBooked, Double totalCost, BookingStatus status, LocalDateTime createdAt,
+                          Long venueId, String venueName, String venueLocation) {
+        this.id = id;
+        this.userName = userName;
+        this.userEmail = userEmail;
+        this.bookingDate = bookingDate;
+        this.startTime = startTime;
+        this.hoursBooked = hoursBooked;
+        this.totalCost = totalCost;
+        this.status = status;
+        this.createdAt = createdAt;
+        this.venue = new VenueSummary(venueId, venueName, venueLocation);
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public String getUserName() {
+        return userName;
+    }
+
+    public String getUserEmail() {
+        return userEmail;
+    }
+
+    public LocalDate getBookingDate() {
+        return bookingDate;
+    }
+
+    public LocalTime getStartTime() {
+        return startTime;
+    }
+
+    public Integer getHoursBooked() {
+        return hoursBooked;
+    }
+
+    public Double getTotalCost() {
+        return totalCost;
+    }
+
+    public BookingStatus getStatus() {
+        return status;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public VenueSummary getVenue() {
+        return venue;
+    }
+
+    @Override
+    public String toString() {
+        return "BookingSummary{" +
+                "id=" + id +
+                ", userName='" + userName + '\'' +
+                ", bookingDate=" + bookingDate +
+                ", hoursBooked=" + hoursBooked +
+                ", status=" + status +
+                ", venueId=" + venue.getId() +
+                '}';
+    }
+
+    public static class VenueSummary {
+
+        private final Long id;
+
+        private final String name;
+
+        private final String location;
+
+        public VenueSummary(Long id, String name, String location) {
+            this.id = id;
+            this.name = name;
+            this.location = location;
+        }
+
+        public Long getId() {
+            return id;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public String getLocation() {
+            return location;
+        }
+    }
+}
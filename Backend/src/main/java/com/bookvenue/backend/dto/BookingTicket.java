@@ -0,0 +1,77 @@
+package com.bookvenue.backend.dto;
+
+import com.bookvenue.backend.model.Booking;
+
+import java.time.LocalDateTime;
+
+/**
+ * Handle for a booking accepted by the async intake. Callers poll it until the
+ * status leaves {@code PENDING}.
+ */
+public class BookingTicket {
+
+    private final String id;
+
+    private final LocalDateTime acceptedAt;
+
+    private volatile Status status = Status.PENDING;
+
+    private volatile Booking booking;
+
+    private volatile String error;
+
+    public BookingTicket(String id) {
+        this.id = id;
+        this.acceptedAt = LocalDateTime.now();
+    }
+
+    public void confirm(Booking booking) {
+        this.booking = booking;
+        this.status = Status.CONFIRMED;
+    }
+
+    public void reject(String error) {
+        this.error = error;
+        this.status = Status.REJECTED;
+    }
+
+    public void fail(String error) {
+        this.error = error;
+        this.status = Status.FAILED;
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public LocalDateTime getAcceptedAt() {
+        return acceptedAt;
+    }
+
+    public Status getStatus() {
+        return status;
+    }
+
+    public Booking getBooking() {
+        return booking;
+    }
+
+    public String getError() {
+        return error;
+    }
+
+    @Override
+    public String toString() {
+        return "BookingTicket{" +
+                "id='" + id + '\'' +
+                ", status=" + status +
+                '}';
+    }
+
+    public enum Status {
+        PENDING,
+        CONFIRMED,
+        REJECTED,
+        FAILED
+    }
+}
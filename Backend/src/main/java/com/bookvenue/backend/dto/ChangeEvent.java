@@ -0,0 +1,119 @@
+package com.bookvenue.backend.dto;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+
+/**
+ * One entry of the change feed. Only the fields relevant to {@code type} are set.
+ */
+public class ChangeEvent {
+
+    public static final String VENUE_CREATED = "venue.created";
+    public static final String VENUE_UPDATED = "venue.updated";
+    public static final String VENUE_DELETED = "venue.deleted";
+    public static final String VENUE_AVAILABILITY = "venue.availability";
+    public static final String BOOKING_CREATED = "booking.created";
+
+    private final long sequence;
+
+    private final String type;
+
+    private final Long venueId;
+
+    private final Instant occurredAt;
+
+    private List<LocalDate> blockedDates;
+
+    private List<LocalDate> unblockedDates;
+
+    private Long bookingId;
+
+    private LocalDate bookingDate;
+
+    private LocalTime startTime;
+
+    private Integer hoursBooked;
+
+    public ChangeEvent(long sequence, String type, Long venueId, Instant occurredAt) {
+        this.sequence = sequence;
+        this.type = type;
+        this.venueId = venueId;
+        this.occurredAt = occurredAt;
+    }
+
+    public long getSequence() {
+        return sequence;
+    }
+
+    public String getType() {
+        return type;
+    }
+
+    public Long getVenueId() {
+        return venueId;
+    }
+
+    public Instant getOccurredAt() {
+        return occurredAt;
+    }
+
+    public List<LocalDate> getBlockedDates() {
+        return blockedDates;
+    }
+
+    public void setBlockedDates(List<LocalDate> blockedDates) {
+        this.blockedDates = blockedDates;
+    }
+
+    public List<LocalDate> getUnblockedDates() {
+        return unblockedDates;
+    }
+
+    public void setUnblockedDates(List<LocalDate> unblockedDates) {
+        this.unblockedDates = unblockedDates;
+    }
+
+    public Long getBookingId() {
+        return bookingId;
+    }
+
+    public void setBookingId(Long bookingId) {
+        this.bookingId = bookingId;
+    }
+
+    public LocalDate getBookingDate() {
+        return bookingDate;
+    }
+
+    public void setBookingDate(LocalDate bookingDate) {
+        this.bookingDate = bookingDate;
+    }
+
+    public LocalTime getStartTime() {
+        return startTime;
+    }
+
+    public void setStartTime(LocalTime startTime) {
+        this.startTime = startTime;
+    }
+
+    public Integer getHoursBooked() {
+        return hoursBooked;
+    }
+
+    public void setHoursBooked(Integer hoursBooked) {
+        this.hoursBooked = hoursBooked;
+    }
+
+    @Override
+    public String toString() {
+        return "ChangeEvent{" +
+                "sequence=" + sequence +
+                ", type='" + type + '\'' +
+                ", venueId=" + venueId +
+                ", bookingId=" + bookingId +
+                '}';
+    }
+}
@@ -0,0 +1,40 @@
+package com.bookvenue.backend.dto;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+
+public class TimeSlot {
+
+    private final LocalDate date;
+
+    private final LocalTime start;
+
+    private final LocalTime end;
+
+    public TimeSlot(LocalDate date, LocalTime start, LocalTime end) {
+        this.date = date;
+        this.start = start;
+        this.end = end;
+    }
+
+    public LocalDate getDate() {
+        return date;
+    }
+
+    public LocalTime getStart() {
+        return start;
+    }
+
+    public LocalTime getEnd() {
+        return end;
+    }
+
+    @Override
+    public String toString() {
+        return "TimeSlot{" +
+                "date=" + date +
+                ", start=" + start +
+                ", end=" + end +
+                '}';
+    }
+}
@@ -0,0 +1,83 @@
+package com.bookvenue.backend.dto;
+
+import com.bookvenue.backend.dto.BookingSummary.VenueSummary;
+import com.bookvenue.backend.model.Booking.BookingStatus;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+
+/**
+ * A row of a user's booking history. Selected from booking columns alone so the
+ * query stays on the user's booking index; the venue name and location are
+ * filled in afterwards from the venue cache.
+ */
+public class UserBookingSummary {
+
+    private final Long id;
+
+    private final LocalDate bookingDate;
+
+    private final LocalTime startTime;
+
+    private final Integer hoursBooked;
+
+    private final Double totalCost;
+
+    private final BookingStatus status;
+
+    private VenueSummary venue;
+
+    public UserBookingSummary(Long id, LocalDate bookingDate, LocalTime startTime, Integer hoursBooked,
+                              Double totalCost, BookingStatus status, Long venueId) {
+        this.id = id;
+        this.bookingDate = bookingDate;
+        this.startTime = startTime;
+        this.hoursBooked = hoursBooked;
+        this.totalCost = totalCost;
+        this.status = status;
+        this.venue = new VenueSummary(venueId, null, null);
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public LocalDate getBookingDate() {
+        return bookingDate;
+    }
+
+    public LocalTime getStartTime() {
+        return startTime;
+    }
+
+    public Integer getHoursBooked() {
+        return hoursBooked;
+    }
+
+    public Double getTotalCost() {
+        return totalCost;
+    }
+
+    public BookingStatus getStatus() {
+        return status;
+    }
+
+    public VenueSummary getVenue() {
+        return venue;
+    }
+
+    public void setVenue(VenueSummary venue) {
+        this.venue = venue;
+    }
+
+    @Override
+    public String toString() {
+        return "UserBookingSummary{" +
+                "id=" + id +
+                ", bookingDate=" + bookingDate +
+                ", hoursBooked=" + hoursBooked +
+                ", status=" + status +
+                ", venueId=" + venue.getId() +
+                '}';
+    }
+}
@@ -0,0 +1,71 @@
+package com.bookvenue.backend.dto;
+
+import java.time.LocalDate;
+
+/**
+ * A venue's calendar over {@code [from, to]}. Days are offsets from {@code from}:
+ * as {@code "ranges"} they are run-length encoded ({@code "0-2,9"}); as
+ * {@code "bitmap"} they are a base64 little-endian bitset (bit {@code n} is
+ * {@code from + n} days). {@code blocked} days cannot be booked at all (admin
+ * blocks and whole-day bookings); {@code partial} days have hourly slot bookings.
+ */
+public class VenueAvailability {
+
+    private final Long venueId;
+
+    private final LocalDate from;
+
+    private final LocalDate to;
+
+    private final String format;
+
+    private final String blocked;
+
+    private final String partial;
+
+    public VenueAvailability(Long venueId, LocalDate from, LocalDate to, String format,
+                             String blocked, String partial) {
+        this.venueId = venueId;
+        this.from = from;
+        this.to = to;
+        this.format = format;
+        this.blocked = blocked;
+        this.partial = partial;
+    }
+
+    public Long getVenueId() {
+        return venueId;
+    }
+
+    public LocalDate getFrom() {
+        return from;
+    }
+
+    public LocalDate getTo() {
+        return to;
+    }
+
+    public String getFormat() {
+        return format;
+    }
+
+    public String getBlocked() {
+        return blocked;
+    }
+
+    public String getPartial() {
+        return partial;
+    }
+
+    @Override
+    public String toString() {
+        return "VenueAvailability{" +
+                "venueId=" + venueId +
+                ", from=" + from +
+                ", to=" + to +
+                ", format='" + format + '\'' +
+                ", blocked='" + blocked + '\'' +
+                ", partial='" + partial + '\'' +
+                '}';
+    }
+}
@@ -0,0 +1,24 @@
+package com.bookvenue.backend.event;
+
+import com.bookvenue.backend.model.Booking;
+
+public class BookingCreatedEvent {
+
+    private final Booking booking;
+
+    public BookingCreatedEvent(Booking booking) {
+        this.booking = booking;
+    }
+
+    public Booking getBooking() {
+        return booking;
+    }
+
+    @Override
+    public String toString() {
+        return "BookingCreatedEvent{" +
+                "bookingId=" + booking.getId() +
+                ", venueId=" + booking.getVenue().getId() +
+                '}';
+    }
+}
@@ -0,0 +1,23 @@
+package com.bookvenue.backend.event;
+
+import com.bookvenue.backend.model.Booking;
+
+public class BookingDeletedEvent {
+
+    private final Booking booking;
+
+    public BookingDeletedEvent(Booking booking) {
+        this.booking = booking;
+    }
+
+    public Booking getBooking() {
+        return booking;
+    }
+
+    @Override
+    public String toString() {
+        return "BookingDeletedEvent{" +
+                "bookingId=" + booking.getId() +
+                '}';
+    }
+}
@@ -0,0 +1,30 @@
+package com.bookvenue.backend.event;
+
+import com.bookvenue.backend.model.Booking;
+
+public class BookingUpdatedEvent {
+
+    private final Booking previous;
+
+    private final Booking booking;
+
+    public BookingUpdatedEvent(Booking previous, Booking booking) {
+        this.previous = previous;
+        this.booking = booking;
+    }
+
+    public Booking getPrevious() {
+        return previous;
+    }
+
+    public Booking getBooking() {
+        return booking;
+    }
+
+    @Override
+    public String toString() {
+        return "BookingUpdatedEvent{" +
+                "bookingId=" + booking.getId() +
+                '}';
+    }
+}
@@ -0,0 +1,60 @@
+package com.bookvenue.backend.event;
+
+import com.bookvenue.backend.model.Venue;
+
+import java.time.LocalDate;
+import java.util.List;
+
+public class VenueChangedEvent {
+
+    private final Venue venue;
+
+    private final ChangeType type;
+
+    private final List<LocalDate> blockedDates;
+
+    private final List<LocalDate> unblockedDates;
+
+    public VenueChangedEvent(Venue venue, ChangeType type) {
+        this(venue, type, List.of(), List.of());
+    }
+
+    public VenueChangedEvent(Venue venue, ChangeType type, List<LocalDate> blockedDates, List<LocalDate> unblockedDates) {
+        this.venue = venue;
+        this.type = type;
+        this.blockedDates = blockedDates == null ? List.of() : List.copyOf(blockedDates);
+        this.unblockedDates = unblockedDates == null ? List.of() : List.copyOf(unblockedDates);
+    }
+
+    public Venue getVenue() {
+        return venue;
+    }
+
+    public ChangeType getType() {
+        return type;
+    }
+
+    public List<LocalDate> getBlockedDates() {
+        return blockedDates;
+    }
+
+    public List<LocalDate> getUnblockedDates() {
+        return unblockedDates;
+    }
+
+    @Override
+    public String toString() {
+        return "VenueChangedEvent{" +
+                "venueId=" + venue.getId() +
+                ", type=" + type +
+                '}';
+    }
+
+    public enum ChangeType {
+        CREATED,
+        UPDATED,
+        DELETED,
+        AVAILABILITY_CHANGED,
+        DATE_BOOKED
+    }
+}
@@ -0,0 +1,224 @@
+package com.bookvenue.backend.model;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Set of blocked dates stored as a bitset over epoch days.
+ * <p>
+ * Lookups are O(1) and range queries walk set bits only. The calendar persists
+ * as run-length encoded ranges ({@code "20294-20300,20310"}), so a venue with
+ * years of blocked dates is still a single short column value.
+ * Instances are not thread-safe; share them through {@link #copy()}.
+ */
+public class AvailabilityCalendar {
+
+    private BitSet days = new BitSet();
+
+    private long origin;
+
+    public AvailabilityCalendar() {
+    }
+
+    public static AvailabilityCalendar of(Collection<LocalDate> dates) {
+        AvailabilityCalendar calendar = new AvailabilityCalendar();
+        if (dates != null) {
+            for (LocalDate date : dates) {
+                calendar.block(date);
+            }
+        }
+        return calendar;
+    }
+
+    public static AvailabilityCalendar decode(String encoded) {
+        AvailabilityCalendar calendar = new AvailabilityCalendar();
+        if (encoded == null || encoded.isBlank()) {
+            return calendar;
+        }
+        for (String range : encoded.split(",")) {
+            int dash = range.indexOf('-', 1);
+            long start = Long.parseLong(dash < 0 ? range : range.substring(0, dash));
+            long end = dash < 0 ? start : Long.parseLong(range.substring(dash + 1));
+            calendar.blockRange(start, end);
+        }
+        return calendar;
+    }
+
+    public String encode() {
+        return encodeRuns(days, origin);
+    }
+
+    /**
+     * Run-length encoding of the set bits, offset by {@code base}:
+     * {@code "3-5,9"} for bits 3, 4, 5 and 9 with a base of 0.
+     */
+    public static String encodeRuns(BitSet bits, long base) {
+        StringBuilder encoded = new StringBuilder();
+        int start = bits.nextSetBit(0);
+        while (start >= 0) {
+            int end = bits.nextClearBit(start) - 1;
+            if (!encoded.isEmpty()) {
+                encoded.append(',');
+            }
+            encoded.append(base + start);
+            if (end > start) {
+                encoded.append('-').append(base + end);
+            }
+            start = bits.nextSetBit(end + 1);
+        }
+        return encoded.toString();
+    }
+
+    public boolean isBlocked(LocalDate date) {
+        long index = date.toEpochDay() - origin;
+        return index >= 0 && index <= Integer.MAX_VALUE && days.get((int) index);
+    }
+
+    public boolean block(LocalDate date) {
+        long epochDay = date.toEpochDay();
+        if (isBlocked(date)) {
+            return false;
+        }
+        blockRange(epochDay, epochDay);
+        return true;
+    }
+
+    public boolean unblock(LocalDate date) {
+        if (!isBlocked(date)) {
+            return false;
+        }
+        days.clear((int) (date.toEpochDay() - origin));
+        return true;
+    }
+
+    public boolean isEmpty() {
+        return days.isEmpty();
+    }
+
+    public int size() {
+        return days.cardinality();
+    }
+
+    /**
+     * Number of blocked dates in the inclusive range {@code [from, to]}.
+     */
+    public int countBlocked(LocalDate from, LocalDate to) {
+        int[] bounds = clip(from, to);
+        if (bounds == null) {
+            return 0;
+        }
+        return days.get(bounds[0], bounds[1]).cardinality();
+    }
+
+    /**
+     * True when no date in the inclusive range {@code [from, to]} is blocked.
+     */
+    public boolean isFreeBetween(LocalDate from, LocalDate to) {
+        int[] bounds = clip(from, to);
+        if (bounds == null) {
+            return true;
+        }
+        int next = days.nextSetBit(bounds[0]);
+        return next < 0 || next >= bounds[1];
+    }
+
+    public List<LocalDate> blockedBetween(LocalDate from, LocalDate to) {
+        List<LocalDate> dates = new ArrayList<>();
+        int[] bounds = clip(from, to);
+        if (bounds == null) {
+            return dates;
+        }
+        for (int i = days.nextSetBit(bounds[0]); i >= 0 && i < bounds[1]; i = days.nextSetBit(i + 1)) {
+            dates.add(LocalDate.ofEpochDay(origin + i));
+        }
+        return dates;
+    }
+
+    /**
+     * Blocked dates in the inclusive range {@code [from, to]} as bits relative to
+     * {@code from}: bit 0 is {@code from}.
+     */
+    public BitSet window(LocalDate from, LocalDate to) {
+        BitSet window = new BitSet();
+        int[] bounds = clip(from, to);
+        if (bounds == null) {
+            return window;
+        }
+        int shift = (int) (origin - from.toEpochDay());
+        for (int i = days.nextSetBit(bounds[0]); i >= 0 && i < bounds[1]; i = days.nextSetBit(i + 1)) {
+            int end = Math.min(days.nextClearBit(i), bounds[1]);
+            window.set(i + shift, end + shift);
+            i = end;
+        }
+        return window;
+    }
+
+    public List<LocalDate> toDates() {
+        List<LocalDate> dates = new ArrayList<>(days.cardinality());
+        for (int i = days.nextSetBit(0); i >= 0; i = days.nextSetBit(i + 1)) {
+            dates.add(LocalDate.ofEpochDay(origin + i));
+        }
+        return dates;
+    }
+
+    public AvailabilityCalendar copy() {
+        AvailabilityCalendar copy = new AvailabilityCalendar();
+        copy.days = (BitSet) days.clone();
+        copy.origin = origin;
+        return copy;
+    }
+
+    private void blockRange(long startEpochDay, long endEpochDay) {
+        if (days.isEmpty()) {
+            origin = startEpochDay;
+        } else if (startEpochDay < origin) {
+            rebase(startEpochDay);
+        }
+        days.set((int) (startEpochDay - origin), (int) (endEpochDay - origin) + 1);
+    }
+
+    private void rebase(long newOrigin) {
+        int shift = (int) (origin - newOrigin);
+        BitSet shifted = new BitSet(days.length() + shift);
+        for (int i = days.nextSetBit(0); i >= 0; i = days.nextSetBit(i + 1)) {
+            int end = days.nextClearBit(i);
+            shifted.set(i + shift, end + shift);
+            i = end;
+        }
+        days = shifted;
+        origin = newOrigin;
+    }
+
+    private int[] clip(LocalDate from, LocalDate to) {
+        long start = Math.max(from.toEpochDay() - origin, 0);
+        long end = Math.min(to.toEpochDay() - origin + 1, days.length());
+        if (start >= end) {
+            return null;
+        }
+        return new int[]{(int) start, (int) end};
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof AvailabilityCalendar other)) {
+            return false;
+        }
+        return encode().equals(other.encode());
+    }
+
+    @Override
+    public int hashCode() {
+        return encode().hashCode();
+    }
+
+    @Override
+    public String toString() {
+        return "AvailabilityCalendar{" + encode() + '}';
+    }
+}
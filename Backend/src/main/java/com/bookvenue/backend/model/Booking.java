@@ -1,17 +1,24 @@
 package com.bookvenue.backend.model;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.*;
 import org.hibernate.annotations.CreationTimestamp;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.time.LocalTime;
 
 @Entity
 @Table(name = "bookings")
 public class Booking {
 
+    // Unique index on confirmed whole-day bookings, created by the db/migration scripts
+    public static final String CONFIRMED_UNIQUE_CONSTRAINT = "uk_bookings_confirmed_venue_date";
+
+    // Pooled sequence instead of IDENTITY so Hibernate can batch inserts.
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "bookings_seq")
+    @SequenceGenerator(name = "bookings_seq", sequenceName = "bookings_seq", allocationSize = 50)
     private Long id;
 
     @ManyToOne(fetch = FetchType.EAGER)
@@ -30,6 +37,10 @@ public class Booking {
     @Column(nullable = false)
     private Integer hoursBooked;
 
+    // Start of an hourly slot; null books the whole day.
+    @Column(name = "start_time")
+    private LocalTime startTime;
+
     @Enumerated(EnumType.STRING)
     private BookingStatus status = BookingStatus.CONFIRMED;
 
@@ -40,6 +51,12 @@ public class Booking {
     @Column(updatable = false)
     private LocalDateTime createdAt;
 
+    // TRUE while a whole-day booking is confirmed and NULL otherwise, so the
+    // unique index allows any number of cancelled or time-slot bookings per
+    // venue/date. Slot overlaps are checked under the venue row lock instead.
+    @Column(name = "confirmed_marker")
+    private Boolean confirmedMarker;
+
     public Booking() {
     }
 
@@ -93,6 +110,19 @@ public class Booking {
         this.bookingDate = bookingDate;
     }
 
+    public LocalTime getStartTime() {
+        return startTime;
+    }
+
+    public void setStartTime(LocalTime startTime) {
+        this.startTime = startTime;
+    }
+
+    @JsonIgnore
+    public boolean isWholeDay() {
+        return startTime == null;
+    }
+
     public Integer getHoursBooked() {
         return hoursBooked;
     }
@@ -121,6 +151,21 @@ public class Booking {
         return createdAt;
     }
 
+    public Booking copy() {
+        Booking copy = new Booking(venue, userName, userEmail, bookingDate, hoursBooked, totalCost);
+        copy.id = id;
+        copy.startTime = startTime;
+        copy.status = status;
+        copy.createdAt = createdAt;
+        return copy;
+    }
+
+    @PrePersist
+    @PreUpdate
+    void updateConfirmedMarker() {
+        confirmedMarker = status == BookingStatus.CONFIRMED && startTime == null ? Boolean.TRUE : null;
+    }
+
     @Override
     public String toString() {
         return "Booking{" +
@@ -128,6 +173,7 @@ public class Booking {
                 ", venue=" + (venue != null ? venue.getName() : "null") +
                 ", userName='" + userName + '\'' +
                 ", bookingDate=" + bookingDate +
+                ", startTime=" + startTime +
                 ", hoursBooked=" + hoursBooked +
                 ", status=" + status +
                 ", totalCost=" + totalCost +
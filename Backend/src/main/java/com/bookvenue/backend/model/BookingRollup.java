@@ -0,0 +1,97 @@
+package com.bookvenue.backend.model;
+
+import jakarta.persistence.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * Persisted running totals of confirmed bookings, one row per scope and bucket:
+ * the overall total, each venue, each booking date, and the active venue count.
+ */
+@Entity
+@Table(name = "booking_rollups",
+        uniqueConstraints = @UniqueConstraint(name = "uk_booking_rollups_scope_bucket",
+                columnNames = {"scope", "bucket"}))
+public class BookingRollup {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 16)
+    private Scope scope;
+
+    @Column(nullable = false, length = 32)
+    private String bucket;
+
+    @Column(name = "item_count", nullable = false)
+    private long itemCount;
+
+    @Column(nullable = false)
+    private long hours;
+
+    @Column(nullable = false)
+    private double revenue;
+
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+
+    public BookingRollup() {
+    }
+
+    public BookingRollup(Scope scope, String bucket, long itemCount, long hours, double revenue) {
+        this.scope = scope;
+        this.bucket = bucket;
+        this.itemCount = itemCount;
+        this.hours = hours;
+        this.revenue = revenue;
+        this.updatedAt = LocalDateTime.now();
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public Scope getScope() {
+        return scope;
+    }
+
+    public String getBucket() {
+        return bucket;
+    }
+
+    public long getItemCount() {
+        return itemCount;
+    }
+
+    public long getHours() {
+        return hours;
+    }
+
+    public double getRevenue() {
+        return revenue;
+    }
+
+    public LocalDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+
+    @Override
+    public String toString() {
+        return "BookingRollup{" +
+                "scope=" + scope +
+                ", bucket='" + bucket + '\'' +
+                ", itemCount=" + itemCount +
+                ", hours=" + hours +
+                ", revenue=" + revenue +
+                '}';
+    }
+
+    public enum Scope {
+        TOTAL,
+        VENUE,
+        DAY,
+        ACTIVE_VENUES
+    }
+}
@@ -1,12 +1,12 @@
 package com.bookvenue.backend.model;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.*;
 import org.hibernate.annotations.CreationTimestamp;
 import org.hibernate.annotations.UpdateTimestamp;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
-import java.util.ArrayList;
 import java.util.List;
 
 @Entity
@@ -35,11 +35,17 @@ public class Venue {
     @Column(nullable = false)
     private Boolean isActive = true;
 
-    @ElementCollection (fetch = FetchType.EAGER)
-    @CollectionTable(name = "venue_unavailable_dates",
-            joinColumns = @JoinColumn(name = "venue_id"))
-    @Column(name = "unavailable_date")
-    private List<LocalDate> unavailableDates = new ArrayList<>();
+    @Column(name = "unavailable_ranges", columnDefinition = "TEXT")
+    private String unavailableRanges = "";
+
+    @Transient
+    private AvailabilityCalendar availability;
+
+    // Bumped with every confirmed time-slot booking, so an in-memory slot index
+    // can tell whether it has missed bookings made elsewhere.
+    @JsonIgnore
+    @Column(name = "slot_version")
+    private Long slotVersion = 0L;
 
     @CreationTimestamp
     @Column(updatable = false)
@@ -117,11 +123,32 @@ public class Venue {
     }
 
     public List<LocalDate> getUnavailableDates() {
-        return unavailableDates;
+        return getAvailability().toDates();
     }
 
     public void setUnavailableDates(List<LocalDate> unavailableDates) {
-        this.unavailableDates = unavailableDates;
+        setAvailability(AvailabilityCalendar.of(unavailableDates));
+    }
+
+    @JsonIgnore
+    public AvailabilityCalendar getAvailability() {
+        if (availability == null) {
+            availability = AvailabilityCalendar.decode(unavailableRanges);
+        }
+        return availability;
+    }
+
+    public void setAvailability(AvailabilityCalendar availability) {
+        this.availability = availability;
+        this.unavailableRanges = availability.encode();
+    }
+
+    public long getSlotVersion() {
+        return slotVersion == null ? 0 : slotVersion;
+    }
+
+    public void setSlotVersion(long slotVersion) {
+        this.slotVersion = slotVersion;
     }
 
     public LocalDateTime getCreatedAt() {
@@ -132,22 +159,36 @@ public class Venue {
         return updatedAt;
     }
 
+    public Venue copy() {
+        Venue copy = new Venue(name, location, capacity, pricePerHour, createdBy);
+        copy.id = id;
+        copy.isActive = isActive;
+        copy.availability = getAvailability().copy();
+        copy.unavailableRanges = unavailableRanges;
+        copy.slotVersion = slotVersion;
+        copy.createdAt = createdAt;
+        copy.updatedAt = updatedAt;
+        return copy;
+    }
+
+    @PostLoad
+    void resetAvailability() {
+        availability = null;
+    }
+
     public boolean isAvailableOn(LocalDate date) {
-        return isActive && (unavailableDates == null || !unavailableDates.contains(date));
+        return isActive && !getAvailability().isBlocked(date);
     }
 
     public void blockDate(LocalDate date) {
-        if (unavailableDates == null) {
-            unavailableDates = new ArrayList<>();
-        }
-        if (!unavailableDates.contains(date)) {
-            unavailableDates.add(date);
+        if (getAvailability().block(date)) {
+            unavailableRanges = availability.encode();
         }
     }
 
     public void unblockDate(LocalDate date) {
-        if (unavailableDates != null) {
-            unavailableDates.remove(date);
+        if (getAvailability().unblock(date)) {
+            unavailableRanges = availability.encode();
         }
     }
 
@@ -160,7 +201,7 @@ public class Venue {
                 ", capacity=" + capacity +
                 ", pricePerHour=" + pricePerHour +
                 ", isActive=" + isActive +
-                ", unavailableDates=" + (unavailableDates != null ? unavailableDates.size() : 0) + " dates" +
+                ", unavailableDates=" + getAvailability().size() + " dates" +
                 '}';
     }
 }
@@ -1,39 +1,170 @@
 package com.bookvenue.backend.repository;
 
+import com.bookvenue.backend.dto.BookingSummary;
+import com.bookvenue.backend.dto.UserBookingSummary;
 import com.bookvenue.backend.model.Booking;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
-import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface BookingRepository extends JpaRepository<Booking, Long> {
 
-    List<Booking> findTop10ByOrderByCreatedAtDesc();
+    // List queries select BookingSummary rows straight from a venue join, so no
+    // Booking or Venue entity (and none of their eager associations) is loaded.
+    String SUMMARY_SELECT = "SELECT new com.bookvenue.backend.dto.BookingSummary(" +
+            "b.id, b.userName, b.userEmail, b.bookingDate, b.startTime, b.hoursBooked, b.totalCost, b.status, b.createdAt, " +
+            "v.id, v.name, v.location) " +
+            "FROM Booking b JOIN b.venue v ";
 
-    @Query("SELECT b FROM Booking b WHERE b.venue.id = :venueId " +
+    // A user's history reads only columns of the (user_email, booking_date, id)
+    // covering index; the venue is referenced by its foreign key, not joined.
+    String USER_BOOKING_SELECT = "SELECT new com.bookvenue.backend.dto.UserBookingSummary(" +
+            "b.id, b.bookingDate, b.startTime, b.hoursBooked, b.totalCost, b.status, b.venue.id) " +
+            "FROM Booking b ";
+
+    @Query(SUMMARY_SELECT +
+            "ORDER BY b.createdAt DESC, b.id DESC")
+    List<BookingSummary> findFirstPage(Pageable pageable);
+
+    // The redundant createdAt bound lets the (created_at, id) index start at the
+    // cursor instead of filtering every newer row
+    @Query(SUMMARY_SELECT +
+            "WHERE b.createdAt <= :createdAt " +
+            "AND (b.createdAt < :createdAt OR b.id < :id) " +
+            "ORDER BY b.createdAt DESC, b.id DESC")
+    List<BookingSummary> findPageAfter(
+            @Param("createdAt") LocalDateTime createdAt,
+            @Param("id") Long id,
+            Pageable pageable
+    );
+
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500")
+    })
+    @Query(SUMMARY_SELECT +
+            "ORDER BY b.createdAt DESC, b.id DESC")
+    Stream<BookingSummary> streamAllBookings();
+
+    // Forward-only cursor for exports: rows are fetched 1000 at a time inside a
+    // read-only transaction instead of being materialized as one list.
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query(SUMMARY_SELECT +
+            "WHERE b.bookingDate BETWEEN :startDate AND :endDate " +
+            "ORDER BY b.bookingDate ASC, b.id ASC")
+    Stream<BookingSummary> streamBookingsByDateRange(
+            @Param("startDate") LocalDate startDate,
+            @Param("endDate") LocalDate endDate
+    );
+
+    @Query("SELECT COUNT(b) > 0 FROM Booking b WHERE b.venue.id = :venueId " +
             "AND b.bookingDate = :bookingDate " +
             "AND b.status = 'CONFIRMED'")
-    Optional<Booking> findConfirmedBookingByVenueAndDate(
+    boolean existsConfirmedBookingByVenueAndDate(
             @Param("venueId") Long venueId,
             @Param("bookingDate") LocalDate bookingDate
     );
 
-    List<Booking> findByVenueIdOrderByCreatedAtDesc(Long venueId);
+    /**
+     * Confirmed time-slot bookings of a venue from a date on, as
+     * {bookingDate, startTime, hoursBooked} rows.
+     */
+    @Query("SELECT b.bookingDate, b.startTime, b.hoursBooked FROM Booking b " +
+            "WHERE b.venue.id = :venueId " +
+            "AND b.startTime IS NOT NULL " +
+            "AND b.bookingDate >= :fromDate " +
+            "AND b.status = 'CONFIRMED'")
+    List<Object[]> findConfirmedSlots(
+            @Param("venueId") Long venueId,
+            @Param("fromDate") LocalDate fromDate
+    );
 
-    List<Booking> findByUserEmailOrderByCreatedAtDesc(String userEmail);
+    @Query("SELECT b.venue.id, b.bookingDate, b.startTime FROM Booking b " +
+            "WHERE b.venue.id IN :venueIds " +
+            "AND b.bookingDate IN :bookingDates " +
+            "AND b.status = 'CONFIRMED'")
+    List<Object[]> findConfirmedVenueDates(
+            @Param("venueIds") Collection<Long> venueIds,
+            @Param("bookingDates") Collection<LocalDate> bookingDates
+    );
 
-    @Query("SELECT b FROM Booking b WHERE b.bookingDate BETWEEN :startDate AND :endDate " +
-            "ORDER BY b.bookingDate ASC")
-    List<Booking> findBookingsByDateRange(
-            @Param("startDate") LocalDate startDate,
-            @Param("endDate") LocalDate endDate
+    @Query(SUMMARY_SELECT +
+            "WHERE b.venue.id = :venueId " +
+            "ORDER BY b.createdAt DESC, b.id DESC")
+    List<BookingSummary> findVenueFirstPage(@Param("venueId") Long venueId, Pageable pageable);
+
+    @Query(SUMMARY_SELECT +
+            "WHERE b.venue.id = :venueId " +
+            "AND b.createdAt <= :createdAt " +
+            "AND (b.createdAt < :createdAt OR b.id < :id) " +
+            "ORDER BY b.createdAt DESC, b.id DESC")
+    List<BookingSummary> findVenuePageAfter(
+            @Param("venueId") Long venueId,
+            @Param("createdAt") LocalDateTime createdAt,
+            @Param("id") Long id,
+            Pageable pageable
+    );
+
+    // Pages forward from a (bookingDate, id) position, soonest first
+    @Query(USER_BOOKING_SELECT +
+            "WHERE b.userEmail = :userEmail " +
+            "AND b.bookingDate >= :bookingDate " +
+            "AND (b.bookingDate > :bookingDate OR b.id > :id) " +
+            "ORDER BY b.bookingDate ASC, b.id ASC")
+    List<UserBookingSummary> findUserBookingsFrom(
+            @Param("userEmail") String userEmail,
+            @Param("bookingDate") LocalDate bookingDate,
+            @Param("id") Long id,
+            Pageable pageable
+    );
+
+    // Pages backward from a (bookingDate, id) position, latest first
+    @Query(USER_BOOKING_SELECT +
+            "WHERE b.userEmail = :userEmail " +
+            "AND b.bookingDate <= :bookingDate " +
+            "AND (b.bookingDate < :bookingDate OR b.id < :id) " +
+            "ORDER BY b.bookingDate DESC, b.id DESC")
+    List<UserBookingSummary> findUserBookingsBefore(
+            @Param("userEmail") String userEmail,
+            @Param("bookingDate") LocalDate bookingDate,
+            @Param("id") Long id,
+            Pageable pageable
     );
 
-    @Query("SELECT COUNT(b) FROM Booking b WHERE b.status = 'CONFIRMED'")
-    Long countConfirmedBookings();
+    // Pages forward from a (bookingDate, id) position up to endDate, earliest first
+    @Query(SUMMARY_SELECT +
+            "WHERE b.bookingDate >= :bookingDate " +
+            "AND b.bookingDate <= :endDate " +
+            "AND (b.bookingDate > :bookingDate OR b.id > :id) " +
+            "ORDER BY b.bookingDate ASC, b.id ASC")
+    List<BookingSummary> findDateRangePageFrom(
+            @Param("bookingDate") LocalDate bookingDate,
+            @Param("id") Long id,
+            @Param("endDate") LocalDate endDate,
+            Pageable pageable
+    );
+
+    // (venueId, bookings, hours, revenue) for rebuilding the rollups
+    @Query("SELECT b.venue.id, COUNT(b), SUM(b.hoursBooked), SUM(b.totalCost) FROM Booking b " +
+            "WHERE b.status = 'CONFIRMED' GROUP BY b.venue.id")
+    List<Object[]> sumConfirmedByVenue();
+
+    // (bookingDate, bookings, hours, revenue) for rebuilding the rollups
+    @Query("SELECT b.bookingDate, COUNT(b), SUM(b.hoursBooked), SUM(b.totalCost) FROM Booking b " +
+            "WHERE b.status = 'CONFIRMED' GROUP BY b.bookingDate")
+    List<Object[]> sumConfirmedByDate();
 }
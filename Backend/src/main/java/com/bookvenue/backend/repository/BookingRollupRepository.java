@@ -0,0 +1,26 @@
+package com.bookvenue.backend.repository;
+
+import com.bookvenue.backend.model.BookingRollup;
+import com.bookvenue.backend.model.BookingRollup.Scope;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+
+@Repository
+public interface BookingRollupRepository extends JpaRepository<BookingRollup, Long> {
+
+    @Modifying
+    @Query("UPDATE BookingRollup r SET r.itemCount = r.itemCount + :itemCount, " +
+            "r.hours = r.hours + :hours, r.revenue = r.revenue + :revenue, r.updatedAt = :now " +
+            "WHERE r.scope = :scope AND r.bucket = :bucket")
+    int increment(@Param("scope") Scope scope,
+                  @Param("bucket") String bucket,
+                  @Param("itemCount") long itemCount,
+                  @Param("hours") long hours,
+                  @Param("revenue") double revenue,
+                  @Param("now") LocalDateTime now);
+}
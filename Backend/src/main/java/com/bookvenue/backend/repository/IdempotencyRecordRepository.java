@@ -0,0 +1,47 @@
+package com.bookvenue.backend.repository;
+
+import com.bookvenue.backend.model.IdempotencyRecord;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+
+@Repository
+public interface IdempotencyRecordRepository extends JpaRepository<IdempotencyRecord, String> {
+
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM IdempotencyRecord r WHERE r.expiresAt < :now")
+    int deleteExpired(@Param("now") LocalDateTime now);
+
+    // Takes over a claim or response that has expired; 0 when the key is still live
+    @Transactional
+    @Modifying
+    @Query("UPDATE IdempotencyRecord r SET r.requestHash = :requestHash, r.statusCode = NULL, " +
+            "r.location = NULL, r.responseBody = NULL, r.createdAt = :now, r.expiresAt = :expiresAt " +
+            "WHERE r.key = :key AND r.expiresAt < :now")
+    int reclaimExpired(@Param("key") String key,
+                       @Param("requestHash") String requestHash,
+                       @Param("now") LocalDateTime now,
+                       @Param("expiresAt") LocalDateTime expiresAt);
+
+    @Transactional
+    @Modifying
+    @Query("UPDATE IdempotencyRecord r SET r.statusCode = :statusCode, r.location = :location, " +
+            "r.responseBody = :responseBody, r.expiresAt = :expiresAt " +
+            "WHERE r.key = :key AND r.statusCode IS NULL")
+    int complete(@Param("key") String key,
+                 @Param("statusCode") int statusCode,
+                 @Param("location") String location,
+                 @Param("responseBody") String responseBody,
+                 @Param("expiresAt") LocalDateTime expiresAt);
+
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM IdempotencyRecord r WHERE r.key = :key AND r.statusCode IS NULL")
+    int release(@Param("key") String key);
+}
@@ -1,19 +1,33 @@
 package com.bookvenue.backend.repository;
 
 import com.bookvenue.backend.model.Venue;
+import jakarta.persistence.LockModeType;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface VenueRepository extends JpaRepository<Venue, Long> {
 
+    // Read-only so cache and index loads can go to a replica; cache hits open no transaction
+    @Transactional(readOnly = true)
     List<Venue> findByIsActiveTrueOrderByCreatedAtDesc();
 
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT v FROM Venue v WHERE v.id = :id")
+    Optional<Venue> findByIdForUpdate(@Param("id") Long id);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT v FROM Venue v WHERE v.id IN :ids ORDER BY v.id")
+    List<Venue> findAllByIdForUpdate(@Param("ids") Collection<Long> ids);
+
     @Query("SELECT v FROM Venue v WHERE v.isActive = true ORDER BY v.createdAt DESC")
     List<Venue> findAllActiveVenues();
 
@@ -43,6 +57,10 @@ public interface VenueRepository extends JpaRepository<Venue, Long> {
     @Query("SELECT v FROM Venue v WHERE LOWER(v.name) = LOWER(:name)")
     Optional<Venue> findByNameIgnoreCase(@Param("name") String name);
 
+    // {id, name, location} rows, including inactive venues that old bookings still point at
+    @Query("SELECT v.id, v.name, v.location FROM Venue v WHERE v.id IN :ids")
+    List<Object[]> findNamesByIdIn(@Param("ids") Collection<Long> ids);
+
     @Query("SELECT COUNT(v) FROM Venue v WHERE v.isActive = true")
     Long countActiveVenues();
 }
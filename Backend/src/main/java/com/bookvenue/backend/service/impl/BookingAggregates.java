@@ -0,0 +1,529 @@
+package com.bookvenue.backend.service.impl;
+
+import com.bookvenue.backend.config.DeferredInitialization;
+import com.bookvenue.backend.dto.BookingStats;
+import com.bookvenue.backend.dto.BookingStats.DayTotals;
+import com.bookvenue.backend.dto.BookingStats.VenueTotals;
+import com.bookvenue.backend.event.BookingCreatedEvent;
+import com.bookvenue.backend.event.BookingDeletedEvent;
+import com.bookvenue.backend.event.BookingUpdatedEvent;
+import com.bookvenue.backend.event.VenueChangedEvent;
+import com.bookvenue.backend.model.Booking;
+import com.bookvenue.backend.model.BookingRollup;
+import com.bookvenue.backend.model.BookingRollup.Scope;
+import com.bookvenue.backend.repository.BookingRepository;
+import com.bookvenue.backend.repository.BookingRollupRepository;
+import com.bookvenue.backend.repository.VenueRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.DoubleAdder;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Booking and revenue totals kept up to date from committed changes.
+ * <p>
+ * Changes go into striped adders in memory and are written behind to the
+ * {@code booking_rollups} table as increments, so bookings never queue on a hot
+ * totals row and several instances can share the table. After each flush the
+ * rollups are read back, which also brings in other instances' increments.
+ * Reads combine the last rollups with what is not flushed yet and never touch
+ * the database. The venue ranking is computed once per reload, and a read only
+ * re-ranks it with the venues booked since, so its cost does not grow with the
+ * number of venues. Changes not yet flushed are lost if the process dies;
+ * {@link #rebuild()} recomputes everything from the bookings table.
+ */
+@Component
+public class BookingAggregates implements SmartLifecycle {
+
+    private static final Logger log = LoggerFactory.getLogger(BookingAggregates.class);
+
+    private static final int MAX_DAYS = 366;
+
+    private static final int MAX_TOP_VENUES = 100;
+
+    private static final Key TOTAL = new Key(Scope.TOTAL, "all");
+
+    private static final Key ACTIVE_VENUES = new Key(Scope.ACTIVE_VENUES, "all");
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private VenueRepository venueRepository;
+
+    @Autowired
+    private BookingRollupRepository rollupRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private DeferredInitialization deferredInitialization;
+
+    private final Duration flushInterval;
+
+    // Writers share the read side while adding; a flush takes the write side to swap the adders out.
+    private final ReadWriteLock pendingLock = new ReentrantReadWriteLock();
+
+    private final Object flushLock = new Object();
+
+    private volatile State state = new State(Map.of(), List.of(), Map.of(), new ConcurrentHashMap<>());
+
+    // Venue names for the ranking, kept from venue and booking events and
+    // looked up for ranked venues on each reload; old bookings keep their
+    // venue's name after it is deleted
+    private final Map<Long, String> venueNames = new ConcurrentHashMap<>();
+
+    private volatile ScheduledExecutorService flusher;
+
+    public BookingAggregates(@Value("${bookvenue.stats.flush-interval:10s}") Duration flushInterval) {
+        this.flushInterval = flushInterval;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onBookingCreated(BookingCreatedEvent event) {
+        add(event.getBooking(), 1);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onBookingUpdated(BookingUpdatedEvent event) {
+        add(event.getPrevious(), -1);
+        add(event.getBooking(), 1);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onBookingDeleted(BookingDeletedEvent event) {
+        add(event.getBooking(), -1);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onVenueChanged(VenueChangedEvent event) {
+        if (event.getVenue().getName() != null) {
+            venueNames.put(event.getVenue().getId(), event.getVenue().getName());
+        }
+        boolean active = Boolean.TRUE.equals(event.getVenue().getIsActive());
+        switch (event.getType()) {
+            case CREATED -> {
+                if (active) {
+                    add(List.of(ACTIVE_VENUES), 1, 0, 0);
+                }
+            }
+            case DELETED -> add(List.of(ACTIVE_VENUES), -1, 0, 0);
+            default -> {
+            }
+        }
+    }
+
+    /**
+     * Overall totals, the {@code top} venues by revenue (at most 100) and totals
+     * per booking date in {@code [from, to]} (the 30 days either side of today
+     * by default). Until the next flush, a venue that only moved up because one
+     * ranked above it lost bookings can be missing from the top venues.
+     */
+    public BookingStats getStats(LocalDate from, LocalDate to, int top) {
+        LocalDate today = LocalDate.now();
+        LocalDate start = from != null ? from : today.minusDays(30);
+        LocalDate end = to != null ? to : today.plusDays(30);
+        if (end.isBefore(start) || start.plusDays(MAX_DAYS - 1).isBefore(end)) {
+            throw new IllegalArgumentException("Date range must be at most " + MAX_DAYS + " days");
+        }
+
+        State current = state;
+        Totals total = current.get(TOTAL);
+
+        // The venues ranked at the last reload, plus those booked since
+        Map<Key, Totals> candidates = new HashMap<>();
+        for (Key key : current.topVenues) {
+            candidates.put(key, current.get(key));
+        }
+        for (Key key : current.changedKeys(Scope.VENUE)) {
+            candidates.put(key, current.get(key));
+        }
+        List<VenueTotals> venues = new ArrayList<>();
+        for (Key key : rank(candidates, Math.max(1, Math.min(top, MAX_TOP_VENUES)))) {
+            Long venueId = Long.valueOf(key.bucket);
+            Totals totals = candidates.get(key);
+            venues.add(new VenueTotals(venueId, venueNames.get(venueId), totals.count, totals.hours, totals.revenue));
+        }
+
+        List<DayTotals> days = new ArrayList<>();
+        for (LocalDate date = start; !date.isAfter(end); date = date.plusDays(1)) {
+            Totals totals = current.get(new Key(Scope.DAY, date.toString()));
+            days.add(new DayTotals(date, totals.count, totals.hours, totals.revenue));
+        }
+
+        return new BookingStats(total.count, total.hours, total.revenue, current.get(ACTIVE_VENUES).count,
+                start, end, venues, days);
+    }
+
+    /**
+     * Writes pending changes to the rollup table and reloads it. A failed write
+     * puts the changes back for the next run.
+     */
+    public void flush() {
+        synchronized (flushLock) {
+            Map<Key, Totals> drained;
+            pendingLock.writeLock().lock();
+            try {
+                State current = state;
+                drained = current.drainPending();
+                state = new State(current.base, current.topVenues, drained, new ConcurrentHashMap<>());
+            } finally {
+                pendingLock.writeLock().unlock();
+            }
+
+            try {
+                if (!drained.isEmpty()) {
+                    LocalDateTime now = LocalDateTime.now();
+                    transactionTemplate.executeWithoutResult(status -> drained.forEach((key, totals) -> {
+                        if (rollupRepository.increment(key.scope, key.bucket, totals.count, totals.hours,
+                                totals.revenue, now) == 0) {
+                            rollupRepository.save(new BookingRollup(key.scope, key.bucket,
+                                    totals.count, totals.hours, totals.revenue));
+                        }
+                    }));
+                }
+            } catch (RuntimeException e) {
+                log.warn("Could not flush {} booking rollups, retrying on the next run", drained.size(), e);
+                pendingLock.writeLock().lock();
+                try {
+                    State current = state;
+                    drained.forEach((key, totals) -> current.adders(key).add(totals.count, totals.hours, totals.revenue));
+                    state = new State(current.base, current.topVenues, Map.of(), current.pending);
+                } finally {
+                    pendingLock.writeLock().unlock();
+                }
+                return;
+            }
+
+            Map<Key, Totals> reloaded = load();
+            state = new State(reloaded, rankVenues(reloaded), Map.of(), state.pending);
+        }
+    }
+
+    /**
+     * Recomputes the rollups from the bookings and venues tables. Best run while
+     * bookings are quiet: one committed while the rebuild runs can be counted twice.
+     */
+    public void rebuild() {
+        synchronized (flushLock) {
+            // Everything pending is already committed, so the rebuild counts it.
+            pendingLock.writeLock().lock();
+            try {
+                state = new State(state.base, state.topVenues, Map.of(), new ConcurrentHashMap<>());
+            } finally {
+                pendingLock.writeLock().unlock();
+            }
+
+            Map<Key, Totals> rebuilt = transactionTemplate.execute(status -> {
+                Map<Key, Totals> totals = new HashMap<>();
+                long count = 0;
+                long hours = 0;
+                double revenue = 0;
+                for (Object[] row : bookingRepository.sumConfirmedByVenue()) {
+                    Totals venue = Totals.of(row);
+                    totals.put(new Key(Scope.VENUE, row[0].toString()), venue);
+                    count += venue.count;
+                    hours += venue.hours;
+                    revenue += venue.revenue;
+                }
+                for (Object[] row : bookingRepository.sumConfirmedByDate()) {
+                    totals.put(new Key(Scope.DAY, row[0].toString()), Totals.of(row));
+                }
+                totals.put(TOTAL, new Totals(count, hours, revenue));
+                totals.put(ACTIVE_VENUES, new Totals(venueRepository.countActiveVenues(), 0, 0));
+
+                rollupRepository.deleteAllInBatch();
+                List<BookingRollup> rollups = new ArrayList<>(totals.size());
+                totals.forEach((key, value) ->
+                        rollups.add(new BookingRollup(key.scope, key.bucket, value.count, value.hours, value.revenue)));
+                rollupRepository.saveAll(rollups);
+                return totals;
+            });
+            state = new State(rebuilt, rankVenues(rebuilt), Map.of(), state.pending);
+            log.info("Rebuilt {} booking rollups", rebuilt.size());
+        }
+    }
+
+    // The highest-revenue venues of freshly loaded rollups, with their names
+    // looked up in one query when no event has supplied them
+    private List<Key> rankVenues(Map<Key, Totals> base) {
+        Map<Key, Totals> venues = new HashMap<>();
+        base.forEach((key, totals) -> {
+            if (key.scope == Scope.VENUE) {
+                venues.put(key, totals);
+            }
+        });
+        List<Key> ranked = rank(venues, MAX_TOP_VENUES);
+
+        List<Long> unnamed = new ArrayList<>();
+        for (Key key : ranked) {
+            Long venueId = Long.valueOf(key.bucket);
+            if (!venueNames.containsKey(venueId)) {
+                unnamed.add(venueId);
+            }
+        }
+        if (!unnamed.isEmpty()) {
+            try {
+                for (Object[] row : venueRepository.findNamesByIdIn(unnamed)) {
+                    venueNames.put((Long) row[0], (String) row[1]);
+                }
+            } catch (RuntimeException e) {
+                log.warn("Could not read names of {} ranked venues", unnamed.size(), e);
+            }
+        }
+        return ranked;
+    }
+
+    // Up to limit venues with bookings, highest revenue first
+    private static List<Key> rank(Map<Key, Totals> venues, int limit) {
+        Comparator<Map.Entry<Key, Totals>> byRevenue = Comparator.comparingDouble(entry -> entry.getValue().revenue);
+        PriorityQueue<Map.Entry<Key, Totals>> highest = new PriorityQueue<>(limit + 1, byRevenue);
+        for (Map.Entry<Key, Totals> entry : venues.entrySet()) {
+            if (entry.getValue().count != 0) {
+                highest.add(entry);
+                if (highest.size() > limit) {
+                    highest.poll();
+                }
+            }
+        }
+        List<Map.Entry<Key, Totals>> ranked = new ArrayList<>(highest);
+        ranked.sort(byRevenue.reversed());
+        return ranked.stream().map(Map.Entry::getKey).toList();
+    }
+
+    private void add(Booking booking, int sign) {
+        if (booking == null || booking.getStatus() != Booking.BookingStatus.CONFIRMED) {
+            return;
+        }
+        if (booking.getVenue().getName() != null) {
+            venueNames.putIfAbsent(booking.getVenue().getId(), booking.getVenue().getName());
+        }
+        List<Key> keys = List.of(TOTAL,
+                new Key(Scope.VENUE, booking.getVenue().getId().toString()),
+                new Key(Scope.DAY, booking.getBookingDate().toString()));
+        double revenue = booking.getTotalCost() == null ? 0 : booking.getTotalCost();
+        add(keys, sign, (long) sign * booking.getHoursBooked(), sign * revenue);
+    }
+
+    private void add(List<Key> keys, long count, long hours, double revenue) {
+        pendingLock.readLock().lock();
+        try {
+            State current = state;
+            for (Key key : keys) {
+                current.adders(key).add(count, hours, revenue);
+            }
+        } finally {
+            pendingLock.readLock().unlock();
+        }
+    }
+
+    // Read-write transaction: must see the flush just committed, never a replica.
+    private Map<Key, Totals> load() {
+        return transactionTemplate.execute(status -> {
+            Map<Key, Totals> totals = new HashMap<>();
+            for (BookingRollup rollup : rollupRepository.findAll()) {
+                totals.put(new Key(rollup.getScope(), rollup.getBucket()),
+                        new Totals(rollup.getItemCount(), rollup.getHours(), rollup.getRevenue()));
+            }
+            return totals;
+        });
+    }
+
+    // Until a deferred load finishes, reads only show changes made since the start.
+    @Override
+    public void start() {
+        deferredInitialization.run("booking rollup load", this::loadRollups);
+
+        ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "booking-rollups");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long period = flushInterval.toMillis();
+        scheduler.scheduleWithFixedDelay(() -> {
+            try {
+                flush();
+            } catch (RuntimeException e) {
+                log.warn("Booking rollup flush failed", e);
+            }
+        }, period, period, TimeUnit.MILLISECONDS);
+        flusher = scheduler;
+    }
+
+    // A fresh database gets its rollups computed once from the existing bookings.
+    private void loadRollups() {
+        synchronized (flushLock) {
+            Map<Key, Totals> loaded = load();
+            if (loaded.isEmpty()) {
+                rebuild();
+            } else {
+                state = new State(loaded, rankVenues(loaded), Map.of(), state.pending);
+            }
+        }
+    }
+
+    @Override
+    public void stop() {
+        ScheduledExecutorService scheduler = flusher;
+        flusher = null;
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+            flush();
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return flusher != null;
+    }
+
+    // Starts before and stops after the booking intake, so its last batch is flushed.
+    @Override
+    public int getPhase() {
+        return SmartLifecycle.DEFAULT_PHASE - 8192;
+    }
+
+    private static final class Key {
+
+        private final Scope scope;
+
+        private final String bucket;
+
+        private Key(Scope scope, String bucket) {
+            this.scope = scope;
+            this.bucket = bucket;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof Key other && scope == other.scope && bucket.equals(other.bucket);
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * scope.hashCode() + bucket.hashCode();
+        }
+    }
+
+    private static final class Totals {
+
+        private static final Totals ZERO = new Totals(0, 0, 0);
+
+        private final long count;
+
+        private final long hours;
+
+        private final double revenue;
+
+        private Totals(long count, long hours, double revenue) {
+            this.count = count;
+            this.hours = hours;
+            this.revenue = revenue;
+        }
+
+        // (key, count, hours, revenue) rows from the rebuild queries
+        private static Totals of(Object[] row) {
+            return new Totals(((Number) row[1]).longValue(),
+                    row[2] == null ? 0 : ((Number) row[2]).longValue(),
+                    row[3] == null ? 0 : ((Number) row[3]).doubleValue());
+        }
+
+        private Totals plus(Totals other) {
+            return other == null ? this : new Totals(count + other.count, hours + other.hours, revenue + other.revenue);
+        }
+    }
+
+    private static final class Adders {
+
+        private final LongAdder count = new LongAdder();
+
+        private final LongAdder hours = new LongAdder();
+
+        private final DoubleAdder revenue = new DoubleAdder();
+
+        private void add(long countDelta, long hoursDelta, double revenueDelta) {
+            count.add(countDelta);
+            hours.add(hoursDelta);
+            revenue.add(revenueDelta);
+        }
+
+        private Totals sum() {
+            return new Totals(count.sum(), hours.sum(), revenue.sum());
+        }
+    }
+
+    // Last loaded rollups with their top venues, changes being flushed, and
+    // changes not yet flushed.
+    private static final class State {
+
+        private final Map<Key, Totals> base;
+
+        private final List<Key> topVenues;
+
+        private final Map<Key, Totals> inflight;
+
+        private final Map<Key, Adders> pending;
+
+        private State(Map<Key, Totals> base, List<Key> topVenues, Map<Key, Totals> inflight,
+                      Map<Key, Adders> pending) {
+            this.base = base;
+            this.topVenues = topVenues;
+            this.inflight = inflight;
+            this.pending = pending;
+        }
+
+        private Adders adders(Key key) {
+            return pending.computeIfAbsent(key, k -> new Adders());
+        }
+
+        private Totals get(Key key) {
+            Adders unflushed = pending.get(key);
+            return Totals.ZERO.plus(base.get(key)).plus(inflight.get(key))
+                    .plus(unflushed == null ? null : unflushed.sum());
+        }
+
+        // Keys changed since the last reload
+        private Set<Key> changedKeys(Scope scope) {
+            Set<Key> keys = new HashSet<>();
+            for (Map<Key, ?> map : List.of(inflight, pending)) {
+                for (Key key : map.keySet()) {
+                    if (key.scope == scope) {
+                        keys.add(key);
+                    }
+                }
+            }
+            return keys;
+        }
+
+        private Map<Key, Totals> drainPending() {
+            Map<Key, Totals> drained = new HashMap<>();
+            pending.forEach((key, adders) -> drained.put(key, adders.sum()));
+            return drained;
+        }
+    }
+}
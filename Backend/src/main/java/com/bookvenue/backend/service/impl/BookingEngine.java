@@ -0,0 +1,119 @@
+package com.bookvenue.backend.service.impl;
+
+import com.bookvenue.backend.model.Booking;
+import com.bookvenue.backend.service.impl.BookingMetrics.Rejection;
+import com.bookvenue.backend.service.impl.BookingMetrics.Stage;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+/**
+ * Serializes booking work per venue/date.
+ * <p>
+ * Work for the same venue and date runs under one of a fixed set of striped
+ * locks, inside its own transaction, so the lock is held until commit. Unrelated
+ * venue/date pairs almost always land on different stripes and never wait on
+ * each other. The unique constraint on confirmed bookings covers the cases the
+ * in-process lock cannot, such as a second application instance.
+ */
+@Component
+public class BookingEngine {
+
+    private static final int STRIPES = 1024;
+
+    private final ReentrantLock[] locks = new ReentrantLock[STRIPES];
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private BookingMetrics metrics;
+
+    public BookingEngine() {
+        for (int i = 0; i < STRIPES; i++) {
+            locks[i] = new ReentrantLock();
+        }
+    }
+
+    public <T> T execute(Long venueId, LocalDate bookingDate, Supplier<T> work) {
+        ReentrantLock lock = lockFor(venueId, bookingDate);
+        long lockStart = metrics.start();
+        lock.lock();
+        metrics.record(Stage.STRIPE_LOCK, lockStart);
+        try {
+            return executeInTransaction(work);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Runs one unit of work while holding the stripes of every venue/date in the
+     * batch. Stripes are acquired in index order so overlapping batches cannot deadlock.
+     */
+    public <T> T executeAll(Collection<Booking> bookings, Supplier<T> work) {
+        int[] stripes = bookings.stream()
+                .filter(booking -> booking.getVenue() != null && booking.getBookingDate() != null)
+                .mapToInt(booking -> stripeFor(booking.getVenue().getId(), booking.getBookingDate()))
+                .distinct()
+                .sorted()
+                .toArray();
+
+        int locked = 0;
+        try {
+            long lockStart = metrics.start();
+            for (int stripe : stripes) {
+                locks[stripe].lock();
+                locked++;
+            }
+            metrics.record(Stage.STRIPE_LOCK, lockStart);
+            return executeInTransaction(work);
+        } finally {
+            for (int i = locked - 1; i >= 0; i--) {
+                locks[stripes[i]].unlock();
+            }
+        }
+    }
+
+    private <T> T executeInTransaction(Supplier<T> work) {
+        long[] commitStart = new long[1];
+        try {
+            T result = transactionTemplate.execute(status -> {
+                T value = work.get();
+                commitStart[0] = metrics.start();
+                return value;
+            });
+            metrics.record(Stage.COMMIT, commitStart[0]);
+            return result;
+        } catch (DataIntegrityViolationException e) {
+            if (isConfirmedBookingConflict(e)) {
+                metrics.reject(Rejection.ALREADY_BOOKED);
+                throw new IllegalArgumentException("Venue is already booked on this date");
+            }
+            throw e;
+        }
+    }
+
+    private boolean isConfirmedBookingConflict(DataIntegrityViolationException e) {
+        String message = e.getMostSpecificCause().getMessage();
+        return message != null && message.toLowerCase().contains(Booking.CONFIRMED_UNIQUE_CONSTRAINT);
+    }
+
+    ReentrantLock lockFor(Long venueId, LocalDate bookingDate) {
+        return locks[stripeFor(venueId, bookingDate)];
+    }
+
+    private int stripeFor(Long venueId, LocalDate bookingDate) {
+        long hash = (venueId == null ? 0 : venueId) * 0x9E3779B97F4A7C15L + bookingDate.toEpochDay();
+        hash ^= hash >>> 29;
+        hash *= 0xBF58476D1CE4E5B9L;
+        hash ^= hash >>> 32;
+        return (int) (hash & (STRIPES - 1));
+    }
+}
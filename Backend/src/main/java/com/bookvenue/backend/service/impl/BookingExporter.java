@@ -0,0 +1,158 @@
+package com.bookvenue.backend.service.impl;
+
+import com.bookvenue.backend.dto.BookingSummary;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.Locale;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Writes the bookings of a date range as CSV or NDJSON straight off a database
+ * cursor. Rows are {@link BookingSummary} projections, so no entities pile up
+ * in the persistence context and memory stays flat however long the range.
+ * Output is flushed after the first row and then every {@value #FLUSH_EVERY}
+ * rows, so the client gets data as soon as the first fetch returns.
+ */
+@Component
+public class BookingExporter {
+
+    private static final Logger log = LoggerFactory.getLogger(BookingExporter.class);
+
+    private static final int FLUSH_EVERY = 1000;
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private static final String CSV_HEADER = "id,bookingDate,startTime,hoursBooked,totalCost,status,createdAt,"
+            + "venueId,venueName,venueLocation,userName,userEmail";
+
+    @Autowired
+    private BookingService bookingService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    public void export(Format format, LocalDate from, LocalDate to, boolean gzip, OutputStream out) throws IOException {
+        OutputStream target = gzip ? new GZIPOutputStream(out, BUFFER_SIZE, true) : out;
+        Writer writer = new BufferedWriter(new OutputStreamWriter(target, StandardCharsets.UTF_8), BUFFER_SIZE);
+        ObjectWriter json = objectMapper.writerFor(BookingSummary.class);
+        long[] rows = {0};
+
+        if (format == Format.CSV) {
+            writer.write(CSV_HEADER);
+            writer.write('\n');
+        }
+        try {
+            bookingService.streamBookingsBetween(from, to, booking -> {
+                try {
+                    if (format == Format.CSV) {
+                        writeCsv(writer, booking);
+                    } else {
+                        writer.write(json.writeValueAsString(booking));
+                        writer.write('\n');
+                    }
+                    if (++rows[0] % FLUSH_EVERY == 1) {
+                        writer.flush();
+                    }
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        writer.flush();
+        if (target instanceof GZIPOutputStream compressed) {
+            compressed.finish();
+        }
+        log.debug("Exported {} bookings from {} to {} as {}", rows[0], from, to, format);
+    }
+
+    private static void writeCsv(Writer writer, BookingSummary booking) throws IOException {
+        BookingSummary.VenueSummary venue = booking.getVenue();
+        writer.write(String.valueOf(booking.getId()));
+        writer.write(',');
+        writer.write(String.valueOf(booking.getBookingDate()));
+        writer.write(',');
+        writer.write(booking.getStartTime() == null ? "" : booking.getStartTime().toString());
+        writer.write(',');
+        writer.write(String.valueOf(booking.getHoursBooked()));
+        writer.write(',');
+        writer.write(String.valueOf(booking.getTotalCost()));
+        writer.write(',');
+        writer.write(String.valueOf(booking.getStatus()));
+        writer.write(',');
+        writer.write(String.valueOf(booking.getCreatedAt()));
+        writer.write(',');
+        writer.write(String.valueOf(venue.getId()));
+        writer.write(',');
+        writeCsvText(writer, venue.getName());
+        writer.write(',');
+        writeCsvText(writer, venue.getLocation());
+        writer.write(',');
+        writeCsvText(writer, booking.getUserName());
+        writer.write(',');
+        writeCsvText(writer, booking.getUserEmail());
+        writer.write('\n');
+    }
+
+    // RFC 4180 quoting; text starting with a formula character is prefixed with
+    // a quote so spreadsheets do not evaluate user-supplied values.
+    private static void writeCsvText(Writer writer, String value) throws IOException {
+        if (value == null || value.isEmpty()) {
+            return;
+        }
+        String text = "=+-@".indexOf(value.charAt(0)) >= 0 ? "'" + value : value;
+        boolean quote = text.indexOf(',') >= 0 || text.indexOf('"') >= 0
+                || text.indexOf('\n') >= 0 || text.indexOf('\r') >= 0;
+        if (!quote) {
+            writer.write(text);
+            return;
+        }
+        writer.write('"');
+        writer.write(text.replace("\"", "\"\""));
+        writer.write('"');
+    }
+
+    public enum Format {
+        CSV("text/csv", "csv"),
+        NDJSON("application/x-ndjson", "ndjson");
+
+        private final String mediaType;
+
+        private final String extension;
+
+        Format(String mediaType, String extension) {
+            this.mediaType = mediaType;
+            this.extension = extension;
+        }
+
+        public String getMediaType() {
+            return mediaType;
+        }
+
+        public String getExtension() {
+            return extension;
+        }
+
+        public static Format of(String name) {
+            try {
+                return valueOf(name.toUpperCase(Locale.ROOT));
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException("Format must be 'csv' or 'ndjson'");
+            }
+        }
+    }
+}
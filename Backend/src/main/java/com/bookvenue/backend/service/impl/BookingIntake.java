@@ -0,0 +1,230 @@
+package com.bookvenue.backend.service.impl;
+
+import com.bookvenue.backend.dto.BatchBookingResult;
+import com.bookvenue.backend.dto.BookingTicket;
+import com.bookvenue.backend.model.Booking;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Async booking intake with group commit.
+ * <p>
+ * Requests are parked in a bounded queue and a single writer drains whatever
+ * has accumulated into one {@link BookingService#createBookings} call: one
+ * locking venue load, one existing-booking check, batched inserts and batched
+ * calendar updates in a single transaction. Under load batches grow on their
+ * own; when idle each booking is written as soon as it arrives. A group the
+ * database rejects is split and retried there, so one bad request only fails
+ * its own ticket.
+ */
+@Component
+public class BookingIntake implements SmartLifecycle {
+
+    private static final Logger log = LoggerFactory.getLogger(BookingIntake.class);
+
+    @Autowired
+    private BookingService bookingService;
+
+    private final boolean enabled;
+
+    private final int maxBatchSize;
+
+    private final Duration maxWait;
+
+    private final BlockingQueue<Pending> queue;
+
+    private final Cache<String, BookingTicket> tickets;
+
+    private final DistributionSummary batchSizes;
+
+    private volatile Thread writer;
+
+    private volatile boolean running;
+
+    public BookingIntake(MeterRegistry meterRegistry,
+                         @Value("${bookvenue.booking.intake.enabled:false}") boolean enabled,
+                         @Value("${bookvenue.booking.intake.queue-capacity:10000}") int queueCapacity,
+                         @Value("${bookvenue.booking.intake.max-batch-size:500}") int maxBatchSize,
+                         @Value("${bookvenue.booking.intake.max-wait:2s}") Duration maxWait,
+                         @Value("${bookvenue.booking.intake.ticket-retention:15m}") Duration ticketRetention) {
+        this.enabled = enabled;
+        this.maxBatchSize = maxBatchSize;
+        this.maxWait = maxWait;
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.tickets = Caffeine.newBuilder()
+                .expireAfterWrite(ticketRetention)
+                .maximumSize(Math.max(queueCapacity * 10L, 10_000))
+                .build();
+
+        Gauge.builder("bookvenue.booking.intake.queue", queue, BlockingQueue::size)
+                .description("Bookings waiting for the intake writer")
+                .register(meterRegistry);
+        batchSizes = DistributionSummary.builder("bookvenue.booking.intake.batch")
+                .description("Bookings written per group commit")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Whether {@code POST /api/bookings} should go through the intake.
+     */
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Queues a booking and returns its ticket immediately.
+     *
+     * @throws IllegalStateException if the queue is full
+     */
+    public BookingTicket submit(Booking booking) {
+        return enqueue(booking).ticket;
+    }
+
+    /**
+     * Queues a booking and waits up to {@code max-wait} for it to be written.
+     * The returned ticket is still {@code PENDING} if the writer did not get to
+     * it in time.
+     */
+    public BookingTicket submitAndWait(Booking booking) {
+        Pending pending = enqueue(booking);
+        try {
+            pending.done.get(maxWait.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            // Still queued; the caller gets the ticket to poll.
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException e) {
+            throw new IllegalStateException(e.getCause());
+        }
+        return pending.ticket;
+    }
+
+    public Optional<BookingTicket> getTicket(String id) {
+        return Optional.ofNullable(tickets.getIfPresent(id));
+    }
+
+    private Pending enqueue(Booking booking) {
+        if (!running) {
+            throw new IllegalStateException("Booking intake is not running");
+        }
+        Pending pending = new Pending(booking, new BookingTicket(UUID.randomUUID().toString()));
+        tickets.put(pending.ticket.getId(), pending.ticket);
+        if (!queue.offer(pending)) {
+            tickets.invalidate(pending.ticket.getId());
+            throw new IllegalStateException("Booking queue is full, please retry shortly");
+        }
+        return pending;
+    }
+
+    private void drainLoop() {
+        List<Pending> batch = new ArrayList<>(maxBatchSize);
+        while (running || !queue.isEmpty()) {
+            try {
+                Pending first = queue.poll(100, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                queue.drainTo(batch, maxBatchSize - 1);
+                write(batch);
+            } catch (InterruptedException e) {
+                if (!running) {
+                    Thread.currentThread().interrupt();
+                    break;
+                }
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    private void write(List<Pending> batch) {
+        batchSizes.record(batch.size());
+        List<Booking> bookings = new ArrayList<>(batch.size());
+        batch.forEach(pending -> bookings.add(pending.booking));
+
+        try {
+            BatchBookingResult result = bookingService.createBookings(bookings);
+            for (BatchBookingResult.Item item : result.getResults()) {
+                BookingTicket ticket = batch.get(item.getIndex()).ticket;
+                if (item.isSuccess()) {
+                    ticket.confirm(item.getBooking());
+                } else {
+                    ticket.reject(item.getError());
+                }
+            }
+        } catch (RuntimeException e) {
+            log.error("Group commit of {} bookings failed", batch.size(), e);
+            batch.forEach(pending -> pending.ticket.fail("Booking could not be processed, please retry"));
+        }
+        batch.forEach(pending -> pending.done.complete(pending.ticket));
+    }
+
+    @Override
+    public void start() {
+        running = true;
+        writer = new Thread(this::drainLoop, "booking-intake");
+        writer.setDaemon(true);
+        writer.start();
+    }
+
+    // Stops accepting work, then lets the writer finish what is already queued.
+    @Override
+    public void stop() {
+        running = false;
+        Thread current = writer;
+        if (current != null) {
+            try {
+                current.join(TimeUnit.SECONDS.toMillis(30));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    // Start before and stop after the web server, so no request finds it stopped.
+    @Override
+    public int getPhase() {
+        return SmartLifecycle.DEFAULT_PHASE - 4096;
+    }
+
+    private static final class Pending {
+
+        private final Booking booking;
+
+        private final BookingTicket ticket;
+
+        private final CompletableFuture<BookingTicket> done = new CompletableFuture<>();
+
+        private Pending(Booking booking, BookingTicket ticket) {
+            this.booking = booking;
+            this.ticket = ticket;
+        }
+    }
+}
@@ -0,0 +1,96 @@
+package com.bookvenue.backend.service.impl;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Meters for the booking pipeline. Every meter is registered up front, so the
+ * request path only reads the clock and updates existing meters.
+ * <p>
+ * Percentile histograms and SLO buckets are configured through the
+ * {@code management.metrics.distribution.*} properties.
+ */
+@Component
+public class BookingMetrics {
+
+    public enum Stage {
+        STRIPE_LOCK,
+        VALIDATE_VENUE,
+        VALIDATE_AVAILABILITY,
+        VALIDATE_EXISTING,
+        LOCK_CALENDAR,
+        SAVE,
+        BLOCK_DATE,
+        COMMIT
+    }
+
+    public enum Outcome {
+        CONFIRMED,
+        REJECTED,
+        FAILED
+    }
+
+    public enum Rejection {
+        VENUE_NOT_FOUND,
+        DATE_BLOCKED,
+        ALREADY_BOOKED,
+        INVALID_REQUEST
+    }
+
+    private final MeterRegistry registry;
+
+    private final Map<Stage, Timer> stages = new EnumMap<>(Stage.class);
+
+    private final Map<Outcome, Timer> outcomes = new EnumMap<>(Outcome.class);
+
+    private final Map<Rejection, Counter> rejections = new EnumMap<>(Rejection.class);
+
+    public BookingMetrics(MeterRegistry registry) {
+        this.registry = registry;
+        for (Stage stage : Stage.values()) {
+            stages.put(stage, Timer.builder("bookvenue.booking.stage")
+                    .description("Time spent in one stage of creating a booking")
+                    .tag("stage", tagValue(stage))
+                    .register(registry));
+        }
+        for (Outcome outcome : Outcome.values()) {
+            outcomes.put(outcome, Timer.builder("bookvenue.booking.create")
+                    .description("End-to-end time to create a booking, including lock waits")
+                    .tag("outcome", tagValue(outcome))
+                    .register(registry));
+        }
+        for (Rejection rejection : Rejection.values()) {
+            rejections.put(rejection, Counter.builder("bookvenue.booking.rejected")
+                    .description("Bookings rejected, by reason")
+                    .tag("reason", tagValue(rejection))
+                    .register(registry));
+        }
+    }
+
+    public long start() {
+        return registry.config().clock().monotonicTime();
+    }
+
+    public void record(Stage stage, long startNanos) {
+        stages.get(stage).record(start() - startNanos, TimeUnit.NANOSECONDS);
+    }
+
+    public void record(Outcome outcome, long startNanos) {
+        outcomes.get(outcome).record(start() - startNanos, TimeUnit.NANOSECONDS);
+    }
+
+    public void reject(Rejection rejection) {
+        rejections.get(rejection).increment();
+    }
+
+    private static String tagValue(Enum<?> value) {
+        return value.name().toLowerCase(Locale.ROOT);
+    }
+}
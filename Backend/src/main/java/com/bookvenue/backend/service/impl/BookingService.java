@@ -1,103 +1,569 @@
 package com.bookvenue.backend.service.impl;
 
+import com.bookvenue.backend.dto.BatchBookingResult;
+import com.bookvenue.backend.dto.BookingCursor;
+import com.bookvenue.backend.dto.BookingDateCursor;
+import com.bookvenue.backend.dto.BookingPage;
+import com.bookvenue.backend.dto.BookingSummary;
+import com.bookvenue.backend.dto.BookingSummary.VenueSummary;
+import com.bookvenue.backend.dto.UserBookingSummary;
+import com.bookvenue.backend.event.BookingCreatedEvent;
+import com.bookvenue.backend.event.BookingDeletedEvent;
+import com.bookvenue.backend.event.BookingUpdatedEvent;
+import com.bookvenue.backend.event.VenueChangedEvent;
+import com.bookvenue.backend.event.VenueChangedEvent.ChangeType;
 import com.bookvenue.backend.repository.BookingRepository;
 import com.bookvenue.backend.repository.VenueRepository;
 import com.bookvenue.backend.model.Booking;
 import com.bookvenue.backend.model.Venue;
+import com.bookvenue.backend.service.impl.BookingMetrics.Outcome;
+import com.bookvenue.backend.service.impl.BookingMetrics.Rejection;
+import com.bookvenue.backend.service.impl.BookingMetrics.Stage;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.PersistenceContext;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 @Service
 public class BookingService {
 
+    private static final Logger log = LoggerFactory.getLogger(BookingService.class);
+
     @Autowired
     private BookingRepository bookingRepository;
 
     @Autowired
     private VenueRepository venueRepository;
 
-    public List<Booking> getAllBookings() {
-        return bookingRepository.findAll();
+    @Autowired
+    private VenueCache venueCache;
+
+    @Autowired
+    private BookingEngine bookingEngine;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private BookingMetrics metrics;
+
+    @Autowired
+    private SlotIndex slotIndex;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    private static final int MAX_PAGE_SIZE = 500;
+
+    private static final int RECENT_BOOKINGS = 10;
+
+    private static final int MAX_RANGE_DAYS = 366;
+
+    // user_name and user_email are varchar(255)
+    private static final int MAX_TEXT_LENGTH = 255;
+
+    @Transactional(readOnly = true)
+    public BookingPage<BookingSummary> getBookingsPage(String cursor, int limit) {
+        Pageable pageable = PageRequest.of(0, Math.max(1, Math.min(limit, MAX_PAGE_SIZE)));
+
+        List<BookingSummary> bookings;
+        if (cursor == null || cursor.isBlank()) {
+            bookings = bookingRepository.findFirstPage(pageable);
+        } else {
+            BookingCursor position = BookingCursor.decode(cursor);
+            bookings = bookingRepository.findPageAfter(position.getCreatedAt(), position.getId(), pageable);
+        }
+
+        String nextCursor = null;
+        if (bookings.size() == pageable.getPageSize()) {
+            BookingSummary last = bookings.get(bookings.size() - 1);
+            nextCursor = new BookingCursor(last.getCreatedAt(), last.getId()).encode();
+        }
+        return new BookingPage<>(bookings, nextCursor);
+    }
+
+    /**
+     * One keyset page of a user's bookings: upcoming ones (today on) soonest
+     * first, or past ones latest first. Each page is one range scan of the
+     * user's booking index, however long the history.
+     */
+    @Transactional(readOnly = true)
+    public BookingPage<UserBookingSummary> getUserBookingsPage(String userEmail, Period period, String cursor,
+                                                               int limit) {
+        if (userEmail == null || userEmail.isBlank()) {
+            throw new IllegalArgumentException("User email is required");
+        }
+        Pageable pageable = PageRequest.of(0, Math.max(1, Math.min(limit, MAX_PAGE_SIZE)));
+
+        // The first page starts from today in both directions; ids are positive,
+        // so id 0 puts all of today's bookings on the upcoming side
+        BookingDateCursor position = cursor == null || cursor.isBlank()
+                ? new BookingDateCursor(LocalDate.now(), 0L)
+                : BookingDateCursor.decode(cursor);
+        List<UserBookingSummary> bookings = period == Period.UPCOMING
+                ? bookingRepository.findUserBookingsFrom(userEmail, position.getBookingDate(), position.getId(), pageable)
+                : bookingRepository.findUserBookingsBefore(userEmail, position.getBookingDate(), position.getId(), pageable);
+        attachVenues(bookings);
+
+        String nextCursor = null;
+        if (bookings.size() == pageable.getPageSize()) {
+            UserBookingSummary last = bookings.get(bookings.size() - 1);
+            nextCursor = new BookingDateCursor(last.getBookingDate(), last.getId()).encode();
+        }
+        return new BookingPage<>(bookings, nextCursor);
+    }
+
+    // Names come from what the venue cache already holds, without loading it;
+    // the other venues (inactive ones, or a cold cache) are read together in
+    // one query
+    private void attachVenues(List<UserBookingSummary> bookings) {
+        Map<Long, VenueSummary> venues = new HashMap<>();
+        Set<Long> missing = new HashSet<>();
+        for (UserBookingSummary booking : bookings) {
+            Long venueId = booking.getVenue().getId();
+            if (!venues.containsKey(venueId) && !missing.contains(venueId)) {
+                venueCache.getCachedVenue(venueId).ifPresentOrElse(
+                        venue -> venues.put(venueId, new VenueSummary(venueId, venue.getName(), venue.getLocation())),
+                        () -> missing.add(venueId));
+            }
+        }
+        if (!missing.isEmpty()) {
+            for (Object[] row : venueRepository.findNamesByIdIn(missing)) {
+                Long venueId = (Long) row[0];
+                venues.put(venueId, new VenueSummary(venueId, (String) row[1], (String) row[2]));
+            }
+        }
+        for (UserBookingSummary booking : bookings) {
+            VenueSummary venue = venues.get(booking.getVenue().getId());
+            if (venue != null) {
+                booking.setVenue(venue);
+            }
+        }
+    }
+
+    @Transactional(readOnly = true)
+    public void streamAllBookings(Consumer<BookingSummary> consumer) {
+        try (Stream<BookingSummary> bookings = bookingRepository.streamAllBookings()) {
+            bookings.forEach(consumer);
+        }
     }
 
-    @Transactional
     public Booking createBooking(Booking booking) {
+        long start = metrics.start();
+        try {
+            Booking created = bookingEngine.execute(booking.getVenue().getId(), booking.getBookingDate(),
+                    () -> doCreateBooking(booking));
+            metrics.record(Outcome.CONFIRMED, start);
+            return created;
+        } catch (IllegalArgumentException e) {
+            metrics.record(Outcome.REJECTED, start);
+            throw e;
+        } catch (RuntimeException e) {
+            metrics.record(Outcome.FAILED, start);
+            throw e;
+        }
+    }
+
+    // Each stage is timed separately. Inserts and updates are flushed inside
+    // their own stage so their statements are not all billed to the commit.
+    private Booking doCreateBooking(Booking booking) {
+        booking.setId(null);
+        long stageStart = metrics.start();
         Venue venue = validateVenueExists(booking.getVenue().getId());
+        metrics.record(Stage.VALIDATE_VENUE, stageStart);
 
         LocalDate bookingDate = booking.getBookingDate();
+        stageStart = metrics.start();
+        validateVenueAvailability(venue, bookingDate);
+        if (!booking.isWholeDay()) {
+            validateSlotRequest(booking);
+        }
+        metrics.record(Stage.VALIDATE_AVAILABILITY, stageStart);
+
+        if (booking.isWholeDay()) {
+            stageStart = metrics.start();
+            validateNoExistingBooking(venue.getId(), bookingDate);
+            metrics.record(Stage.VALIDATE_EXISTING, stageStart);
+        }
+
+        // Row lock is taken as late as possible so bookings for other dates of the
+        // same venue only wait for the insert and calendar update, not the checks.
+        stageStart = metrics.start();
+        lockVenueCalendar(venue);
+        metrics.record(Stage.LOCK_CALENDAR, stageStart);
         validateVenueAvailability(venue, bookingDate);
 
-        validateNoExistingBooking(venue.getId(), bookingDate);
+        // Slot bookings don't block the calendar and the stripe locks are per
+        // process, so a slot booked by another instance since the first check
+        // is only visible now that the venue row is locked.
+        stageStart = metrics.start();
+        if (booking.isWholeDay()) {
+            validateNoExistingBooking(venue.getId(), bookingDate);
+        } else {
+            validateSlotIsFree(venue, booking);
+        }
+        metrics.record(Stage.VALIDATE_EXISTING, stageStart);
 
         Double totalCost = calculateBookingCost(venue, booking.getHoursBooked());
         booking.setTotalCost(totalCost);
         booking.setVenue(venue);
 
-        Booking savedBooking = bookingRepository.save(booking);
+        stageStart = metrics.start();
+        Booking savedBooking = bookingRepository.saveAndFlush(booking);
+        metrics.record(Stage.SAVE, stageStart);
 
-        blockVenueDate(venue, bookingDate);
+        stageStart = metrics.start();
+        if (booking.isWholeDay()) {
+            blockVenueDate(venue, bookingDate);
+        } else {
+            reserveSlot(venue, booking);
+        }
+        metrics.record(Stage.BLOCK_DATE, stageStart);
 
+        eventPublisher.publishEvent(new BookingCreatedEvent(savedBooking));
         return savedBooking;
     }
 
-    public List<Booking> getRecentBookings() {
-        List<Booking> bookings = bookingRepository.findTop10ByOrderByCreatedAtDesc();
-        System.out.println("📊 Found " + bookings.size() + " recent bookings");
+    public BatchBookingResult createBookings(List<Booking> bookings) {
+        BatchBookingResult result = new BatchBookingResult();
+        createBookings(bookings, 0, result);
+        return result;
+    }
+
+    // A batch the database rejects as a whole (a constraint another instance got
+    // to first, a value that does not fit a column) is split in halves and each
+    // half retried, so only the offending booking fails. Other errors are not
+    // caused by one booking and still fail the whole call.
+    private void createBookings(List<Booking> bookings, int offset, BatchBookingResult result) {
+        try {
+            BatchBookingResult part = bookingEngine.executeAll(bookings, () -> doCreateBookings(bookings));
+            for (BatchBookingResult.Item item : part.getResults()) {
+                if (item.isSuccess()) {
+                    result.addSuccess(offset + item.getIndex(), item.getBooking());
+                } else {
+                    result.addFailure(offset + item.getIndex(), item.getError());
+                }
+            }
+        } catch (IllegalArgumentException | DataIntegrityViolationException e) {
+            if (bookings.size() == 1) {
+                log.warn("Booking {} of a batch could not be saved", offset, e);
+                result.addFailure(offset, e instanceof IllegalArgumentException
+                        ? e.getMessage() : "Booking could not be saved");
+                return;
+            }
+            int half = bookings.size() / 2;
+            createBookings(bookings.subList(0, half), offset, result);
+            createBookings(bookings.subList(half, bookings.size()), offset + half, result);
+        }
+    }
+
+    // One transaction for the whole batch: venues are locked and loaded in one
+    // query, existing bookings are checked in one query, inserts go out as JDBC
+    // batches and dirty venue calendars are flushed as batched updates on commit.
+    private BatchBookingResult doCreateBookings(List<Booking> bookings) {
+        Set<Long> venueIds = new HashSet<>();
+        Set<LocalDate> bookingDates = new HashSet<>();
+        for (Booking booking : bookings) {
+            if (booking.getVenue() != null && booking.getVenue().getId() != null) {
+                venueIds.add(booking.getVenue().getId());
+            }
+            if (booking.getBookingDate() != null) {
+                bookingDates.add(booking.getBookingDate());
+            }
+        }
+
+        Map<Long, Venue> venues = new HashMap<>();
+        Set<String> bookedKeys = new HashSet<>();
+        if (!venueIds.isEmpty()) {
+            venueRepository.findAllByIdForUpdate(venueIds).forEach(venue -> venues.put(venue.getId(), venue));
+        }
+        if (!venueIds.isEmpty() && !bookingDates.isEmpty()) {
+            // Any confirmed booking, whole-day or slot, rules out a whole-day booking.
+            for (Object[] row : bookingRepository.findConfirmedVenueDates(venueIds, bookingDates)) {
+                bookedKeys.add(row[0] + "@" + row[1]);
+            }
+        }
+
+        String[] errors = new String[bookings.size()];
+        List<Booking> accepted = new ArrayList<>();
+        Map<Long, Venue> bookedVenues = new HashMap<>();
+        for (int i = 0; i < bookings.size(); i++) {
+            Booking booking = bookings.get(i);
+            try {
+                Venue venue = validateBatchItem(booking, venues, bookedKeys);
+
+                booking.setId(null);
+                booking.setTotalCost(calculateBookingCost(venue, booking.getHoursBooked()));
+                booking.setVenue(venue);
+                if (booking.isWholeDay()) {
+                    venue.blockDate(booking.getBookingDate());
+                } else {
+                    slotIndex.reserve(venue, booking.getBookingDate(), booking.getStartTime(), booking.getHoursBooked());
+                }
+
+                accepted.add(booking);
+                bookedVenues.put(venue.getId(), venue);
+            } catch (IllegalArgumentException e) {
+                errors[i] = e.getMessage();
+            }
+        }
+
+        bookingRepository.saveAll(accepted);
+        accepted.forEach(booking -> eventPublisher.publishEvent(new BookingCreatedEvent(booking)));
+        bookedVenues.values().forEach(venue ->
+                eventPublisher.publishEvent(new VenueChangedEvent(venue, ChangeType.DATE_BOOKED)));
+
+        BatchBookingResult result = new BatchBookingResult();
+        for (int i = 0; i < bookings.size(); i++) {
+            if (errors[i] == null) {
+                result.addSuccess(i, bookings.get(i));
+            } else {
+                result.addFailure(i, errors[i]);
+            }
+        }
+        log.debug("Batch booking: {} confirmed, {} rejected", result.getSucceeded(), result.getFailed());
+        return result;
+    }
+
+    private Venue validateBatchItem(Booking booking, Map<Long, Venue> venues, Set<String> bookedKeys) {
+        Venue venue = booking.getVenue() == null ? null : venues.get(booking.getVenue().getId());
+        if (venue == null || !Boolean.TRUE.equals(venue.getIsActive())) {
+            metrics.reject(Rejection.VENUE_NOT_FOUND);
+            throw new IllegalArgumentException("Venue not found");
+        }
+        if (booking.getUserName() == null || booking.getUserEmail() == null) {
+            metrics.reject(Rejection.INVALID_REQUEST);
+            throw new IllegalArgumentException("User name and email are required");
+        }
+        if (booking.getUserName().length() > MAX_TEXT_LENGTH || booking.getUserEmail().length() > MAX_TEXT_LENGTH) {
+            metrics.reject(Rejection.INVALID_REQUEST);
+            throw new IllegalArgumentException("User name and email must be at most " + MAX_TEXT_LENGTH + " characters");
+        }
+        if (booking.getBookingDate() == null) {
+            metrics.reject(Rejection.INVALID_REQUEST);
+            throw new IllegalArgumentException("Booking date is required");
+        }
+        if (booking.getHoursBooked() == null || booking.getHoursBooked() <= 0) {
+            metrics.reject(Rejection.INVALID_REQUEST);
+            throw new IllegalArgumentException("Hours booked must be positive");
+        }
+        String key = venue.getId() + "@" + booking.getBookingDate();
+        if (booking.isWholeDay()) {
+            if (!bookedKeys.add(key)) {
+                metrics.reject(Rejection.ALREADY_BOOKED);
+                throw new IllegalArgumentException("Venue is already booked on this date");
+            }
+            validateVenueAvailability(venue, booking.getBookingDate());
+        } else {
+            // Whole-day bookings, including earlier ones in this batch, block the calendar.
+            validateVenueAvailability(venue, booking.getBookingDate());
+            validateSlotRequest(booking);
+            validateSlotIsFree(venue, booking);
+            bookedKeys.add(key);
+        }
+        return venue;
+    }
+
+    @Transactional(readOnly = true)
+    public List<BookingSummary> getRecentBookings() {
+        List<BookingSummary> bookings = bookingRepository.findFirstPage(PageRequest.of(0, RECENT_BOOKINGS));
+        log.debug("Found {} recent bookings", bookings.size());
         return bookings;
     }
 
+    /**
+     * One keyset page of a venue's bookings, newest first.
+     */
+    @Transactional(readOnly = true)
+    public BookingPage<BookingSummary> getVenueBookingsPage(Long venueId, String cursor, int limit) {
+        Pageable pageable = PageRequest.of(0, Math.max(1, Math.min(limit, MAX_PAGE_SIZE)));
+
+        List<BookingSummary> bookings;
+        if (cursor == null || cursor.isBlank()) {
+            bookings = bookingRepository.findVenueFirstPage(venueId, pageable);
+        } else {
+            BookingCursor position = BookingCursor.decode(cursor);
+            bookings = bookingRepository.findVenuePageAfter(venueId, position.getCreatedAt(), position.getId(),
+                    pageable);
+        }
+
+        String nextCursor = null;
+        if (bookings.size() == pageable.getPageSize()) {
+            BookingSummary last = bookings.get(bookings.size() - 1);
+            nextCursor = new BookingCursor(last.getCreatedAt(), last.getId()).encode();
+        }
+        return new BookingPage<>(bookings, nextCursor);
+    }
+
+    /**
+     * One keyset page of the bookings dated {@code startDate} to {@code endDate},
+     * earliest first. The range spans at most 366 days; use the export for more.
+     */
+    @Transactional(readOnly = true)
+    public BookingPage<BookingSummary> getBookingsBetweenPage(LocalDate startDate, LocalDate endDate, String cursor,
+                                                              int limit) {
+        checkDateRange(startDate, endDate);
+        if (startDate.plusDays(MAX_RANGE_DAYS - 1).isBefore(endDate)) {
+            throw new IllegalArgumentException("Date range must be at most " + MAX_RANGE_DAYS + " days");
+        }
+        Pageable pageable = PageRequest.of(0, Math.max(1, Math.min(limit, MAX_PAGE_SIZE)));
+
+        // Ids are positive, so id 0 starts at the first booking of startDate
+        BookingDateCursor position = cursor == null || cursor.isBlank()
+                ? new BookingDateCursor(startDate, 0L)
+                : BookingDateCursor.decode(cursor);
+        List<BookingSummary> bookings = bookingRepository.findDateRangePageFrom(position.getBookingDate(),
+                position.getId(), endDate, pageable);
+
+        String nextCursor = null;
+        if (bookings.size() == pageable.getPageSize()) {
+            BookingSummary last = bookings.get(bookings.size() - 1);
+            nextCursor = new BookingDateCursor(last.getBookingDate(), last.getId()).encode();
+        }
+        return new BookingPage<>(bookings, nextCursor);
+    }
+
+    @Transactional(readOnly = true)
+    public void streamBookingsBetween(LocalDate startDate, LocalDate endDate, Consumer<BookingSummary> consumer) {
+        checkDateRange(startDate, endDate);
+        try (Stream<BookingSummary> bookings = bookingRepository.streamBookingsByDateRange(startDate, endDate)) {
+            bookings.forEach(consumer);
+        }
+    }
+
+    public void checkDateRange(LocalDate startDate, LocalDate endDate) {
+        if (startDate == null || endDate == null || endDate.isBefore(startDate)) {
+            throw new IllegalArgumentException("A valid date range is required");
+        }
+    }
+
+    @Transactional(readOnly = true)
     public Optional<Booking> getBookingById(Long id) {
         return bookingRepository.findById(id);
     }
 
     public void deleteBooking(Long id) {
-        bookingRepository.deleteById(id);
+        bookingRepository.findById(id).ifPresent(booking -> {
+            bookingRepository.delete(booking);
+            slotIndex.evict(booking.getVenue().getId());
+            eventPublisher.publishEvent(new BookingDeletedEvent(booking));
+        });
     }
 
     public Booking updateBooking(Long id, Booking updatedBooking) {
         return bookingRepository.findById(id)
                 .map(existingBooking -> {
+                    Booking previous = existingBooking.copy();
                     existingBooking.setUserName(updatedBooking.getUserName());
                     existingBooking.setUserEmail(updatedBooking.getUserEmail());
                     existingBooking.setBookingDate(updatedBooking.getBookingDate());
                     existingBooking.setHoursBooked(updatedBooking.getHoursBooked());
 
-                    return bookingRepository.save(existingBooking);
+                    Booking saved = bookingRepository.save(existingBooking);
+                    slotIndex.evict(saved.getVenue().getId());
+                    eventPublisher.publishEvent(new BookingUpdatedEvent(previous, saved));
+                    return saved;
                 })
                 .orElseThrow(() -> new RuntimeException("Booking not found with ID: " + id));
     }
 
     private Venue validateVenueExists(Long venueId) {
         return venueRepository.findById(venueId)
-                .orElseThrow(() -> new IllegalArgumentException("Venue not found"));
+                .orElseThrow(() -> {
+                    metrics.reject(Rejection.VENUE_NOT_FOUND);
+                    return new IllegalArgumentException("Venue not found");
+                });
     }
 
     private void validateVenueAvailability(Venue venue, LocalDate bookingDate) {
-        if (venue.getUnavailableDates().contains(bookingDate)) {
+        if (venue.getAvailability().isBlocked(bookingDate)) {
+            metrics.reject(Rejection.DATE_BLOCKED);
             throw new IllegalArgumentException("Venue is not available on the selected date");
         }
     }
 
+    // Whole-day bookings conflict with any confirmed booking on the date, slots included.
     private void validateNoExistingBooking(Long venueId, LocalDate bookingDate) {
-        Optional<Booking> existingBooking = bookingRepository
-                .findConfirmedBookingByVenueAndDate(venueId, bookingDate);
-
-        if (existingBooking.isPresent()) {
+        if (bookingRepository.existsConfirmedBookingByVenueAndDate(venueId, bookingDate)) {
+            metrics.reject(Rejection.ALREADY_BOOKED);
             throw new IllegalArgumentException("Venue is already booked on this date");
         }
     }
 
-    private Double calculateBookingCost(Venue venue, Integer hoursBooked) {
+    private void validateSlotRequest(Booking booking) {
+        if (booking.getHoursBooked() == null || booking.getHoursBooked() <= 0) {
+            metrics.reject(Rejection.INVALID_REQUEST);
+            throw new IllegalArgumentException("Hours booked must be positive");
+        }
+        if (booking.getBookingDate().isBefore(LocalDate.now())) {
+            metrics.reject(Rejection.INVALID_REQUEST);
+            throw new IllegalArgumentException("Booking date cannot be in the past");
+        }
+        try {
+            slotIndex.validateSlot(booking.getStartTime(), booking.getHoursBooked());
+        } catch (IllegalArgumentException e) {
+            metrics.reject(Rejection.INVALID_REQUEST);
+            throw e;
+        }
+    }
+
+    // Must run under the venue row lock.
+    private void validateSlotIsFree(Venue venue, Booking booking) {
+        if (!slotIndex.isFree(venue, booking.getBookingDate(), booking.getStartTime(), booking.getHoursBooked())) {
+            metrics.reject(Rejection.ALREADY_BOOKED);
+            throw new IllegalArgumentException("Venue is already booked for the selected time");
+        }
+    }
+
+    private void lockVenueCalendar(Venue venue) {
+        entityManager.refresh(venue, LockModeType.PESSIMISTIC_WRITE);
+    }
+
+    Double calculateBookingCost(Venue venue, Integer hoursBooked) {
         return venue.getPricePerHour() * hoursBooked;
     }
 
+    private void reserveSlot(Venue venue, Booking booking) {
+        slotIndex.reserve(venue, booking.getBookingDate(), booking.getStartTime(), booking.getHoursBooked());
+        venueRepository.saveAndFlush(venue);
+    }
+
     private void blockVenueDate(Venue venue, LocalDate bookingDate) {
-        venue.getUnavailableDates().add(bookingDate);
-        venueRepository.save(venue);
+        venue.blockDate(bookingDate);
+        Venue saved = venueRepository.saveAndFlush(venue);
+        eventPublisher.publishEvent(new VenueChangedEvent(saved, ChangeType.DATE_BOOKED));
+    }
+
+    public enum Period {
+        UPCOMING,
+        PAST;
+
+        public static Period of(String name) {
+            try {
+                return valueOf(name.toUpperCase(Locale.ROOT));
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException("Period must be 'upcoming' or 'past'");
+            }
+        }
     }
 }
@@ -0,0 +1,330 @@
+package com.bookvenue.backend.service.impl;
+
+import com.bookvenue.backend.dto.ChangeEvent;
+import com.bookvenue.backend.event.BookingCreatedEvent;
+import com.bookvenue.backend.event.VenueChangedEvent;
+import com.bookvenue.backend.model.Booking;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.LongFunction;
+
+/**
+ * Server-sent change feed for venues and bookings.
+ * <p>
+ * Committed changes get a sequence number and are kept in a ring buffer, so a
+ * client reconnecting with {@code Last-Event-ID} gets what it missed; one that
+ * is too far behind gets a {@code reset} event and should reload. Sequence
+ * numbers start from the boot time in microseconds, so ids from an earlier
+ * process are always behind the buffer and also lead to a reset.
+ * <p>
+ * Each subscriber has a small bounded queue drained on a virtual thread only
+ * while it has events, so idle connections hold no thread. A subscriber whose
+ * queue overflows is disconnected; its client resumes from its last id.
+ */
+@Component
+public class ChangeFeed implements SmartLifecycle {
+
+    private static final Logger log = LoggerFactory.getLogger(ChangeFeed.class);
+
+    private static final String RESET = "reset";
+
+    private final ObjectMapper objectMapper;
+
+    private final Entry[] ring;
+
+    private final int subscriberBuffer;
+
+    private final Duration timeout;
+
+    private final Duration heartbeat;
+
+    private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+
+    private final ExecutorService sender = Executors.newThreadPerTaskExecutor(
+            Thread.ofVirtual().name("change-feed-", 0).factory());
+
+    private final Counter dropped;
+
+    private final long firstSequence;
+
+    private long lastSequence;
+
+    private volatile ScheduledExecutorService heartbeats;
+
+    public ChangeFeed(ObjectMapper objectMapper, MeterRegistry meterRegistry,
+                      @Value("${bookvenue.feed.buffer-size:1024}") int bufferSize,
+                      @Value("${bookvenue.feed.subscriber-buffer:256}") int subscriberBuffer,
+                      @Value("${bookvenue.feed.timeout:30m}") Duration timeout,
+                      @Value("${bookvenue.feed.heartbeat:25s}") Duration heartbeat) {
+        this.objectMapper = objectMapper;
+        this.ring = new Entry[bufferSize];
+        this.subscriberBuffer = subscriberBuffer;
+        this.timeout = timeout;
+        this.heartbeat = heartbeat;
+        this.lastSequence = System.currentTimeMillis() * 1000;
+        this.firstSequence = lastSequence + 1;
+
+        Gauge.builder("bookvenue.feed.subscribers", subscribers, Set::size)
+                .description("Open change feed connections")
+                .register(meterRegistry);
+        dropped = Counter.builder("bookvenue.feed.dropped")
+                .description("Change feed subscribers disconnected for falling behind")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Opens a stream of changes, optionally for one venue, replaying everything
+     * after {@code lastEventId} when it is still buffered.
+     */
+    public SseEmitter subscribe(Long venueId, Long lastEventId) {
+        SseEmitter emitter = new SseEmitter(timeout.toMillis());
+        Subscriber subscriber = new Subscriber(emitter, venueId);
+        emitter.onCompletion(() -> subscribers.remove(subscriber));
+        emitter.onTimeout(emitter::complete);
+        emitter.onError(error -> subscribers.remove(subscriber));
+
+        synchronized (this) {
+            if (lastEventId != null) {
+                replay(subscriber, lastEventId);
+            }
+            subscribers.add(subscriber);
+        }
+        subscriber.schedule();
+        return emitter;
+    }
+
+    public synchronized long getLastSequence() {
+        return lastSequence;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onVenueChanged(VenueChangedEvent event) {
+        String type = switch (event.getType()) {
+            case CREATED -> ChangeEvent.VENUE_CREATED;
+            case UPDATED -> ChangeEvent.VENUE_UPDATED;
+            case DELETED -> ChangeEvent.VENUE_DELETED;
+            case AVAILABILITY_CHANGED -> ChangeEvent.VENUE_AVAILABILITY;
+            // Published as booking.created with the booking itself
+            case DATE_BOOKED -> null;
+        };
+        if (type == null) {
+            return;
+        }
+        Long venueId = event.getVenue().getId();
+        append(venueId, sequence -> {
+            ChangeEvent change = new ChangeEvent(sequence, type, venueId, Instant.now());
+            change.setBlockedDates(nullIfEmpty(event.getBlockedDates()));
+            change.setUnblockedDates(nullIfEmpty(event.getUnblockedDates()));
+            return change;
+        });
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onBookingCreated(BookingCreatedEvent event) {
+        Booking booking = event.getBooking();
+        Long venueId = booking.getVenue().getId();
+        append(venueId, sequence -> {
+            ChangeEvent change = new ChangeEvent(sequence, ChangeEvent.BOOKING_CREATED, venueId, Instant.now());
+            change.setBookingId(booking.getId());
+            change.setBookingDate(booking.getBookingDate());
+            change.setStartTime(booking.getStartTime());
+            change.setHoursBooked(booking.getHoursBooked());
+            return change;
+        });
+    }
+
+    // Fan-out only queues; sockets are written by the subscribers' drain tasks.
+    private synchronized void append(Long venueId, LongFunction<ChangeEvent> factory) {
+        ChangeEvent change = factory.apply(lastSequence + 1);
+        Entry entry = new Entry(change.getSequence(), change.getType(), venueId, toJson(change));
+        ring[(int) (entry.sequence % ring.length)] = entry;
+        lastSequence = entry.sequence;
+        for (Subscriber subscriber : subscribers) {
+            subscriber.offer(entry);
+        }
+    }
+
+    private void replay(Subscriber subscriber, long lastEventId) {
+        long oldest = Math.max(firstSequence, lastSequence - ring.length + 1);
+        if (lastEventId < oldest - 1 || lastEventId > lastSequence || lastSequence - lastEventId > subscriberBuffer) {
+            subscriber.queue.offer(new Entry(lastSequence, RESET, null,
+                    "{\"sequence\":" + lastSequence + ",\"type\":\"" + RESET + "\"}"));
+            return;
+        }
+        for (long sequence = lastEventId + 1; sequence <= lastSequence; sequence++) {
+            Entry entry = ring[(int) (sequence % ring.length)];
+            if (subscriber.accepts(entry)) {
+                subscriber.queue.offer(entry);
+            }
+        }
+    }
+
+    private String toJson(ChangeEvent change) {
+        try {
+            return objectMapper.writeValueAsString(change);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialize " + change, e);
+        }
+    }
+
+    private void sendHeartbeats() {
+        for (Subscriber subscriber : subscribers) {
+            if (subscriber.queue.isEmpty()) {
+                subscriber.offer(Entry.HEARTBEAT);
+            }
+        }
+    }
+
+    private static <T> List<T> nullIfEmpty(List<T> values) {
+        return values.isEmpty() ? null : values;
+    }
+
+    @Override
+    public void start() {
+        ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "change-feed-heartbeat");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long period = heartbeat.toMillis();
+        scheduler.scheduleAtFixedRate(this::sendHeartbeats, period, period, TimeUnit.MILLISECONDS);
+        heartbeats = scheduler;
+    }
+
+    // Default phase: closes the streams before graceful shutdown waits for open requests.
+    @Override
+    public void stop() {
+        ScheduledExecutorService scheduler = heartbeats;
+        heartbeats = null;
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+        }
+        for (Subscriber subscriber : subscribers) {
+            subscriber.emitter.complete();
+        }
+        subscribers.clear();
+    }
+
+    @Override
+    public boolean isRunning() {
+        return heartbeats != null;
+    }
+
+    private static final class Entry {
+
+        private static final Entry HEARTBEAT = new Entry(0, null, null, null);
+
+        private final long sequence;
+
+        private final String type;
+
+        private final Long venueId;
+
+        private final String json;
+
+        private Entry(long sequence, String type, Long venueId, String json) {
+            this.sequence = sequence;
+            this.type = type;
+            this.venueId = venueId;
+            this.json = json;
+        }
+
+        private SseEmitter.SseEventBuilder toSse() {
+            if (type == null) {
+                return SseEmitter.event().comment("keep-alive");
+            }
+            return SseEmitter.event()
+                    .id(Long.toString(sequence))
+                    .name(type)
+                    .data(json, MediaType.APPLICATION_JSON);
+        }
+    }
+
+    private final class Subscriber {
+
+        private final SseEmitter emitter;
+
+        private final Long venueId;
+
+        private final BlockingQueue<Entry> queue = new ArrayBlockingQueue<>(subscriberBuffer + 1);
+
+        private final AtomicBoolean draining = new AtomicBoolean();
+
+        private Subscriber(SseEmitter emitter, Long venueId) {
+            this.emitter = emitter;
+            this.venueId = venueId;
+        }
+
+        private boolean accepts(Entry entry) {
+            return venueId == null || entry.venueId == null || venueId.equals(entry.venueId);
+        }
+
+        private void offer(Entry entry) {
+            if (!accepts(entry)) {
+                return;
+            }
+            if (!queue.offer(entry)) {
+                drop();
+                return;
+            }
+            schedule();
+        }
+
+        private void schedule() {
+            if (!queue.isEmpty() && draining.compareAndSet(false, true)) {
+                sender.execute(this::drain);
+            }
+        }
+
+        private void drain() {
+            try {
+                Entry entry;
+                while ((entry = queue.poll()) != null) {
+                    emitter.send(entry.toSse());
+                }
+            } catch (IOException | IllegalStateException e) {
+                subscribers.remove(this);
+                queue.clear();
+                return;
+            } finally {
+                draining.set(false);
+            }
+            schedule();
+        }
+
+        // Completing waits for an in-flight send, so it is left to the sender.
+        private void drop() {
+            if (subscribers.remove(this)) {
+                dropped.increment();
+                log.debug("Dropping change feed subscriber {} entries behind", queue.size());
+                queue.clear();
+                sender.execute(emitter::complete);
+            }
+        }
+    }
+}
@@ -0,0 +1,204 @@
+package com.bookvenue.backend.service.impl;
+
+import com.bookvenue.backend.model.IdempotencyRecord;
+import com.bookvenue.backend.repository.IdempotencyRecordRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+
+import java.net.URI;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Supplier;
+
+/**
+ * Replays the stored response of a request made again with the same
+ * {@code Idempotency-Key}.
+ * <p>
+ * Before a request runs its key is claimed by inserting a pending row into the
+ * {@code idempotency_keys} table, so a retry arriving at any instance while the
+ * first request is still running gets 409; a claim left behind by a crash
+ * lapses after {@code claim-timeout}. The response is then written to that row
+ * and kept in a bounded in-memory cache, both for {@code ttl}; a retry served
+ * from memory touches no table at all. Server errors are not stored and release
+ * the claim, so those requests can be retried for real. A key reused with a
+ * different request body is rejected.
+ */
+@Component
+public class IdempotencyStore {
+
+    private static final Logger log = LoggerFactory.getLogger(IdempotencyStore.class);
+
+    public static final String HEADER = "Idempotency-Key";
+
+    public static final String REPLAYED_HEADER = "Idempotent-Replayed";
+
+    private static final int MAX_KEY_LENGTH = 100;
+
+    private static final Duration PURGE_INTERVAL = Duration.ofHours(1);
+
+    @Autowired
+    private IdempotencyRecordRepository repository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private final Duration ttl;
+
+    private final Duration claimTimeout;
+
+    private final Cache<String, IdempotencyRecord> responses;
+
+    private volatile LocalDateTime nextPurge = LocalDateTime.now();
+
+    public IdempotencyStore(@Value("${bookvenue.idempotency.ttl:24h}") Duration ttl,
+                            @Value("${bookvenue.idempotency.claim-timeout:1m}") Duration claimTimeout,
+                            @Value("${bookvenue.idempotency.maximum-size:100000}") long maximumSize) {
+        this.ttl = ttl;
+        this.claimTimeout = claimTimeout;
+        this.responses = Caffeine.newBuilder()
+                .expireAfterWrite(ttl)
+                .maximumSize(maximumSize)
+                .build();
+    }
+
+    /**
+     * Runs {@code action} once per key and request; later calls with the same
+     * key get the first response back.
+     */
+    public ResponseEntity<?> execute(String key, Object request, Supplier<ResponseEntity<?>> action) {
+        if (key.isBlank() || key.length() > MAX_KEY_LENGTH) {
+            return ResponseEntity.badRequest().body(Map.of("error",
+                    HEADER + " must be 1 to " + MAX_KEY_LENGTH + " characters"));
+        }
+        String requestHash = hash(request);
+
+        IdempotencyRecord cached = responses.getIfPresent(key);
+        if (cached != null) {
+            return replay(cached, requestHash);
+        }
+        if (!claim(key, requestHash)) {
+            Optional<IdempotencyRecord> stored = findStored(key);
+            if (stored.isEmpty() || stored.get().isPending()) {
+                return ResponseEntity.status(HttpStatus.CONFLICT).body(Map.of("error",
+                        "A request with this " + HEADER + " is still being processed"));
+            }
+            responses.put(key, stored.get());
+            return replay(stored.get(), requestHash);
+        }
+
+        ResponseEntity<?> response;
+        try {
+            response = action.get();
+        } catch (RuntimeException e) {
+            release(key);
+            throw e;
+        }
+        if (response.getStatusCode().is5xxServerError()) {
+            release(key);
+        } else {
+            store(key, requestHash, response);
+        }
+        return response;
+    }
+
+    // Inserts a pending row for the key, or takes over an expired one; false
+    // when another request holds the key or already answered it
+    private boolean claim(String key, String requestHash) {
+        LocalDateTime now = LocalDateTime.now();
+        try {
+            repository.saveAndFlush(new IdempotencyRecord(key, requestHash, null, null, null,
+                    now, now.plus(claimTimeout)));
+            return true;
+        } catch (DataIntegrityViolationException e) {
+            return repository.reclaimExpired(key, requestHash, now, now.plus(claimTimeout)) == 1;
+        }
+    }
+
+    private void release(String key) {
+        try {
+            repository.release(key);
+        } catch (DataAccessException e) {
+            log.warn("Could not release {} {}; it lapses after {}", HEADER, key, claimTimeout, e);
+        }
+    }
+
+    private Optional<IdempotencyRecord> findStored(String key) {
+        return repository.findById(key)
+                .filter(record -> record.getExpiresAt().isAfter(LocalDateTime.now()));
+    }
+
+    private ResponseEntity<?> replay(IdempotencyRecord record, String requestHash) {
+        if (!record.getRequestHash().equals(requestHash)) {
+            return ResponseEntity.unprocessableEntity().body(Map.of("error",
+                    HEADER + " was already used for a different request"));
+        }
+        ResponseEntity.BodyBuilder response = ResponseEntity.status(record.getStatusCode())
+                .contentType(MediaType.APPLICATION_JSON)
+                .header(REPLAYED_HEADER, "true");
+        if (record.getLocation() != null) {
+            response.location(URI.create(record.getLocation()));
+        }
+        return response.body(record.getResponseBody());
+    }
+
+    // The booking is already committed here; a failure to persist the response
+    // leaves the claim to lapse and only loses replay on other instances and
+    // across restarts, so it is logged rather than surfaced.
+    private void store(String key, String requestHash, ResponseEntity<?> response) {
+        LocalDateTime now = LocalDateTime.now();
+        URI location = response.getHeaders().getLocation();
+        IdempotencyRecord record = new IdempotencyRecord(key, requestHash, response.getStatusCode().value(),
+                location == null ? null : location.toString(), toJson(response.getBody()), now, now.plus(ttl));
+        responses.put(key, record);
+        try {
+            repository.complete(key, record.getStatusCode(), record.getLocation(), record.getResponseBody(),
+                    record.getExpiresAt());
+            purgeExpired(now);
+        } catch (DataAccessException e) {
+            log.warn("Could not persist {} {}", HEADER, key, e);
+        }
+    }
+
+    private void purgeExpired(LocalDateTime now) {
+        if (now.isBefore(nextPurge)) {
+            return;
+        }
+        nextPurge = now.plus(PURGE_INTERVAL);
+        int purged = repository.deleteExpired(now);
+        log.debug("Purged {} expired idempotency keys", purged);
+    }
+
+    private String hash(Object request) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(objectMapper.writeValueAsBytes(request)));
+        } catch (JsonProcessingException | NoSuchAlgorithmException e) {
+            throw new IllegalStateException("Could not fingerprint request", e);
+        }
+    }
+
+    private String toJson(Object body) {
+        try {
+            return objectMapper.writeValueAsString(body);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialize response", e);
+        }
+    }
+}
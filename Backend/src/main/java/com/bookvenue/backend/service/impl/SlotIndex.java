@@ -0,0 +1,232 @@
+package com.bookvenue.backend.service.impl;
+
+import com.bookvenue.backend.dto.TimeSlot;
+import com.bookvenue.backend.model.AvailabilityCalendar;
+import com.bookvenue.backend.model.Venue;
+import com.bookvenue.backend.repository.BookingRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In-memory interval index of confirmed time-slot bookings, per venue and date.
+ * <p>
+ * Each day is a {@link TreeMap} from start minute to end minute, so an overlap
+ * check looks at the two neighbouring bookings only. A venue's index is loaded
+ * from the database on first use and trusted while its version matches the
+ * venue's {@code slotVersion}; a booking made by another instance bumps that
+ * column and forces a reload. Checks and reservations must run under the venue
+ * row lock; a reservation is discarded if its transaction rolls back.
+ */
+@Component
+public class SlotIndex {
+
+    private static final int MINUTES_PER_DAY = 24 * 60;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    private final int openingMinute;
+
+    private final int closingMinute;
+
+    private final Map<Long, VenueSlots> venues = new ConcurrentHashMap<>();
+
+    public SlotIndex(@Value("${bookvenue.slots.opening-time:06:00}") LocalTime openingTime,
+                     @Value("${bookvenue.slots.closing-time:23:00}") LocalTime closingTime) {
+        this.openingMinute = minuteOf(openingTime);
+        this.closingMinute = minuteOf(closingTime);
+    }
+
+    /**
+     * Rejects slots outside opening hours; returns the slot's end minute.
+     */
+    public int validateSlot(LocalTime startTime, Integer hours) {
+        int start = minuteOf(startTime);
+        int end = start + hours * 60;
+        if (start < openingMinute || end > closingMinute) {
+            throw new IllegalArgumentException("Booking must be between "
+                    + timeOf(openingMinute) + " and " + timeOf(closingMinute));
+        }
+        return end;
+    }
+
+    public boolean isFree(Venue lockedVenue, LocalDate date, LocalTime startTime, int hours) {
+        int start = minuteOf(startTime);
+        return slotsFor(lockedVenue).isFree(date, start, start + hours * 60);
+    }
+
+    /**
+     * Records a slot booked in the current transaction and bumps the venue's
+     * slot version, which is flushed with the booking.
+     */
+    public void reserve(Venue lockedVenue, LocalDate date, LocalTime startTime, int hours) {
+        VenueSlots slots = slotsFor(lockedVenue);
+        int start = minuteOf(startTime);
+        long version = lockedVenue.getSlotVersion() + 1;
+
+        slots.add(date, start, start + hours * 60, version);
+        lockedVenue.setSlotVersion(version);
+
+        Long venueId = lockedVenue.getId();
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    if (status != STATUS_COMMITTED) {
+                        venues.remove(venueId, slots);
+                    }
+                }
+            });
+        }
+    }
+
+    /**
+     * Maximal free intervals within opening hours for each date in the range
+     * that is not blocked in the calendar, keeping those of at least
+     * {@code minHours}.
+     */
+    public List<TimeSlot> freeSlots(Venue venue, LocalDate from, LocalDate to, int minHours) {
+        VenueSlots slots = cached(venue);
+        AvailabilityCalendar calendar = venue.getAvailability();
+        int minMinutes = Math.max(1, minHours * 60);
+        List<TimeSlot> free = new ArrayList<>();
+        for (LocalDate date = from; !date.isAfter(to); date = date.plusDays(1)) {
+            if (calendar.isBlocked(date)) {
+                continue;
+            }
+            for (int[] gap : slots.gaps(date, openingMinute, closingMinute)) {
+                if (gap[1] - gap[0] >= minMinutes) {
+                    free.add(new TimeSlot(date, timeOf(gap[0]), timeOf(gap[1])));
+                }
+            }
+        }
+        return free;
+    }
+
+    /**
+     * Dates in the inclusive range {@code [from, to]} with at least one slot
+     * booking, as bits relative to {@code from}.
+     */
+    public BitSet bookedDays(Venue venue, LocalDate from, LocalDate to) {
+        return cached(venue).bookedDays(from, to);
+    }
+
+    /**
+     * Drops a venue's index after bookings were cancelled, moved or deleted.
+     */
+    public void evict(Long venueId) {
+        venues.remove(venueId);
+    }
+
+    // Read paths take whatever is indexed; only writers under the lock reload on a version change.
+    private VenueSlots cached(Venue venue) {
+        VenueSlots slots = venues.get(venue.getId());
+        if (slots == null) {
+            slots = load(venue.getId(), venue.getSlotVersion());
+            venues.putIfAbsent(venue.getId(), slots);
+        }
+        return slots;
+    }
+
+    private VenueSlots slotsFor(Venue lockedVenue) {
+        VenueSlots slots = venues.get(lockedVenue.getId());
+        if (slots == null || slots.version() != lockedVenue.getSlotVersion()) {
+            slots = load(lockedVenue.getId(), lockedVenue.getSlotVersion());
+            venues.put(lockedVenue.getId(), slots);
+        }
+        return slots;
+    }
+
+    // Past days are never booked again, so only today onwards is indexed.
+    private VenueSlots load(Long venueId, long version) {
+        VenueSlots slots = new VenueSlots(version);
+        for (Object[] row : bookingRepository.findConfirmedSlots(venueId, LocalDate.now())) {
+            int start = minuteOf((LocalTime) row[1]);
+            slots.add((LocalDate) row[0], start, start + (Integer) row[2] * 60, version);
+        }
+        return slots;
+    }
+
+    private static int minuteOf(LocalTime time) {
+        return time.getHour() * 60 + time.getMinute();
+    }
+
+    private static LocalTime timeOf(int minute) {
+        return minute >= MINUTES_PER_DAY ? LocalTime.MAX : LocalTime.of(minute / 60, minute % 60);
+    }
+
+    private static final class VenueSlots {
+
+        private final Map<LocalDate, TreeMap<Integer, Integer>> days = new HashMap<>();
+
+        private long version;
+
+        private VenueSlots(long version) {
+            this.version = version;
+        }
+
+        private synchronized long version() {
+            return version;
+        }
+
+        private synchronized boolean isFree(LocalDate date, int start, int end) {
+            TreeMap<Integer, Integer> day = days.get(date);
+            if (day == null) {
+                return true;
+            }
+            Map.Entry<Integer, Integer> before = day.floorEntry(start);
+            if (before != null && before.getValue() > start) {
+                return false;
+            }
+            Integer after = day.ceilingKey(start);
+            return after == null || after >= end;
+        }
+
+        private synchronized void add(LocalDate date, int start, int end, long newVersion) {
+            days.computeIfAbsent(date, key -> new TreeMap<>()).put(start, end);
+            version = newVersion;
+        }
+
+        private synchronized BitSet bookedDays(LocalDate from, LocalDate to) {
+            BitSet booked = new BitSet();
+            for (Map.Entry<LocalDate, TreeMap<Integer, Integer>> day : days.entrySet()) {
+                LocalDate date = day.getKey();
+                if (!day.getValue().isEmpty() && !date.isBefore(from) && !date.isAfter(to)) {
+                    booked.set((int) (date.toEpochDay() - from.toEpochDay()));
+                }
+            }
+            return booked;
+        }
+
+        private synchronized List<int[]> gaps(LocalDate date, int opening, int closing) {
+            List<int[]> gaps = new ArrayList<>();
+            int cursor = opening;
+            TreeMap<Integer, Integer> day = days.get(date);
+            if (day != null) {
+                for (Map.Entry<Integer, Integer> slot : day.entrySet()) {
+                    if (slot.getKey() > cursor) {
+                        gaps.add(new int[]{cursor, Math.min(slot.getKey(), closing)});
+                    }
+                    cursor = Math.max(cursor, slot.getValue());
+                }
+            }
+            if (cursor < closing) {
+                gaps.add(new int[]{cursor, closing});
+            }
+            return gaps;
+        }
+    }
+}
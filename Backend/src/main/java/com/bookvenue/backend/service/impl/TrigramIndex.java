@@ -0,0 +1,163 @@
+package com.bookvenue.backend.service.impl;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Immutable trigram index for case-insensitive substring search over a fixed
+ * array of texts. Document ids are positions in that array.
+ * <p>
+ * A query of three or more characters intersects the posting lists of its
+ * trigrams (rarest first) and verifies the survivors with {@code contains}.
+ * Shorter queries have no trigram and fall back to a scan.
+ */
+class TrigramIndex {
+
+    private static final int[] NO_DOCS = new int[0];
+
+    private final String[] texts;
+
+    private final Map<Long, int[]> postings;
+
+    TrigramIndex(String[] rawTexts) {
+        texts = new String[rawTexts.length];
+        Map<Long, Posting> building = new HashMap<>();
+
+        for (int doc = 0; doc < rawTexts.length; doc++) {
+            String text = normalize(rawTexts[doc]);
+            texts[doc] = text;
+            for (int i = 0; i + 3 <= text.length(); i++) {
+                building.computeIfAbsent(trigram(text, i), key -> new Posting()).add(doc);
+            }
+        }
+
+        postings = new HashMap<>(building.size() * 2);
+        building.forEach((key, posting) -> postings.put(key, Arrays.copyOf(posting.docs, posting.size)));
+    }
+
+    /**
+     * Ids of documents containing {@code query}, in ascending id order.
+     */
+    int[] search(String query) {
+        String needle = normalize(query);
+        if (needle.isEmpty()) {
+            return NO_DOCS;
+        }
+        if (needle.length() < 3) {
+            return scan(needle);
+        }
+
+        List<int[]> lists = new ArrayList<>();
+        for (int i = 0; i + 3 <= needle.length(); i++) {
+            int[] docs = postings.get(trigram(needle, i));
+            if (docs == null) {
+                return NO_DOCS;
+            }
+            lists.add(docs);
+        }
+        lists.sort((a, b) -> Integer.compare(a.length, b.length));
+
+        int[] candidates = lists.get(0);
+        for (int i = 1; i < lists.size() && candidates.length > 0; i++) {
+            candidates = intersect(candidates, lists.get(i));
+        }
+
+        int[] matches = new int[candidates.length];
+        int count = 0;
+        for (int doc : candidates) {
+            if (texts[doc].contains(needle)) {
+                matches[count++] = doc;
+            }
+        }
+        return Arrays.copyOf(matches, count);
+    }
+
+    /**
+     * Match quality of a normalized query against a document it is known to
+     * contain: 0 exact, 1 prefix, 2 start of a word, 3 anywhere else.
+     */
+    int rank(int doc, String needle) {
+        String text = texts[doc];
+        if (text.equals(needle)) {
+            return 0;
+        }
+        if (text.startsWith(needle)) {
+            return 1;
+        }
+        int at = text.indexOf(needle);
+        while (at > 0) {
+            if (!Character.isLetterOrDigit(text.charAt(at - 1))) {
+                return 2;
+            }
+            at = text.indexOf(needle, at + 1);
+        }
+        return 3;
+    }
+
+    boolean contains(int doc, String normalizedQuery) {
+        return texts[doc].contains(normalizedQuery);
+    }
+
+    int length(int doc) {
+        return texts[doc].length();
+    }
+
+    static String normalize(String text) {
+        return text == null ? "" : text.trim().toLowerCase(Locale.ROOT);
+    }
+
+    private int[] scan(String needle) {
+        int[] matches = new int[texts.length];
+        int count = 0;
+        for (int doc = 0; doc < texts.length; doc++) {
+            if (texts[doc].contains(needle)) {
+                matches[count++] = doc;
+            }
+        }
+        return Arrays.copyOf(matches, count);
+    }
+
+    private static int[] intersect(int[] a, int[] b) {
+        int[] out = new int[Math.min(a.length, b.length)];
+        int i = 0;
+        int j = 0;
+        int count = 0;
+        while (i < a.length && j < b.length) {
+            if (a[i] < b[j]) {
+                i++;
+            } else if (a[i] > b[j]) {
+                j++;
+            } else {
+                out[count++] = a[i];
+                i++;
+                j++;
+            }
+        }
+        return Arrays.copyOf(out, count);
+    }
+
+    private static long trigram(String text, int at) {
+        return ((long) text.charAt(at) << 32) | ((long) text.charAt(at + 1) << 16) | text.charAt(at + 2);
+    }
+
+    private static final class Posting {
+
+        private int[] docs = new int[4];
+
+        private int size;
+
+        private void add(int doc) {
+            if (size > 0 && docs[size - 1] == doc) {
+                return;
+            }
+            if (size == docs.length) {
+                docs = Arrays.copyOf(docs, size * 2);
+            }
+            docs[size++] = doc;
+        }
+    }
+}
@@ -0,0 +1,100 @@
+package com.bookvenue.backend.service.impl;
+
+import com.bookvenue.backend.event.VenueChangedEvent;
+import com.bookvenue.backend.model.Venue;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Read-through cache for the active venue list and venues by id.
+ * <p>
+ * Every committed venue change bumps {@link #getVersion()} and evicts the
+ * affected entries. A load only populates the cache if the version did not move
+ * while it ran, checked under the entry's lock, so a read that overlapped a
+ * write can never park a stale calendar in the cache.
+ */
+@Component
+public class VenueCache {
+
+    private static final String ACTIVE_VENUES = "active";
+
+    private final Cache<Long, Optional<Venue>> venuesById;
+
+    private final Cache<String, List<Venue>> activeVenues;
+
+    private final AtomicLong version = new AtomicLong();
+
+    public VenueCache(MeterRegistry meterRegistry,
+                      @Value("${bookvenue.cache.venues.maximum-size:10000}") long maximumSize,
+                      @Value("${bookvenue.cache.venues.time-to-live:10m}") Duration timeToLive) {
+        venuesById = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(timeToLive)
+                .recordStats()
+                .build();
+        activeVenues = Caffeine.newBuilder()
+                .maximumSize(1)
+                .expireAfterWrite(timeToLive)
+                .recordStats()
+                .build();
+
+        CaffeineCacheMetrics.monitor(meterRegistry, venuesById, "venues.byId");
+        CaffeineCacheMetrics.monitor(meterRegistry, activeVenues, "venues.active");
+    }
+
+    public List<Venue> getActiveVenues(Supplier<List<Venue>> loader) {
+        return get(activeVenues, ACTIVE_VENUES, key -> List.copyOf(loader.get()));
+    }
+
+    public Optional<Venue> getVenue(Long id, Function<Long, Optional<Venue>> loader) {
+        return get(venuesById, id, loader);
+    }
+
+    /**
+     * The cached venue, without loading it; empty on a miss and for inactive venues.
+     */
+    public Optional<Venue> getCachedVenue(Long id) {
+        Optional<Venue> cached = venuesById.getIfPresent(id);
+        return cached == null ? Optional.empty() : cached;
+    }
+
+    /**
+     * Monotonic catalog version; changes after every committed venue or availability change.
+     */
+    public long getVersion() {
+        return version.get();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onVenueChanged(VenueChangedEvent event) {
+        version.incrementAndGet();
+        venuesById.invalidate(event.getVenue().getId());
+        activeVenues.invalidate(ACTIVE_VENUES);
+    }
+
+    private <K, V> V get(Cache<K, V> cache, K key, Function<K, V> loader) {
+        V cached = cache.getIfPresent(key);
+        if (cached != null) {
+            return cached;
+        }
+
+        // A change bumps the version before evicting the same key, and the eviction
+        // waits for this compute, so either the check fails or the entry is evicted
+        long versionBeforeLoad = version.get();
+        V loaded = loader.apply(key);
+        cache.asMap().compute(key, (k, existing) -> version.get() == versionBeforeLoad ? loaded : existing);
+        return loaded;
+    }
+}
@@ -0,0 +1,149 @@
+package com.bookvenue.backend.service.impl;
+
+import com.bookvenue.backend.model.Venue;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.Optional;
+import java.util.function.Supplier;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Serialized (and gzipped) venue catalog responses with a strong ETag hashed
+ * from the JSON; the gzipped bytes are a different representation and carry
+ * the same tag with a {@code -gzip} suffix.
+ * <p>
+ * Bodies are reused until {@link VenueCache#getVersion()} moves on, which only
+ * local writes do, and expire with the same time-to-live as the venue cache so
+ * writes made by other instances show up too. Because the tag comes from the
+ * content, every instance tags the same body the same way.
+ */
+@Component
+public class VenueResponseCache {
+
+    private static final String ALL_VENUES = "all";
+
+    private final Cache<Object, Body> bodies;
+
+    @Autowired
+    private VenueService venueService;
+
+    @Autowired
+    private VenueCache venueCache;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    public VenueResponseCache(@Value("${bookvenue.cache.venues.maximum-size:10000}") long maximumSize,
+                              @Value("${bookvenue.cache.venues.time-to-live:10m}") Duration timeToLive) {
+        bodies = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(timeToLive)
+                .build();
+    }
+
+    public Body allVenues() {
+        return body(ALL_VENUES, () -> Optional.of(venueService.getAllVenues())).orElseThrow();
+    }
+
+    public Optional<Body> venue(Long id) {
+        return body(id, () -> venueService.getVenueById(id));
+    }
+
+    private Optional<Body> body(Object key, Supplier<Optional<?>> loader) {
+        // Read the version before loading, so the tag is never newer than the body.
+        long version = venueCache.getVersion();
+        Body cached = bodies.getIfPresent(key);
+        if (cached != null && cached.version == version) {
+            return Optional.of(cached);
+        }
+
+        Optional<?> value = loader.get();
+        if (value.isEmpty()) {
+            bodies.invalidate(key);
+            return Optional.empty();
+        }
+
+        byte[] json = serialize(value.get());
+        Body body = new Body(version, etag(json), json, gzip(json));
+        bodies.put(key, body);
+        return Optional.of(body);
+    }
+
+    private static String etag(byte[] json) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(json);
+            return "\"" + Base64.getUrlEncoder().withoutPadding().encodeToString(Arrays.copyOf(digest, 16)) + "\"";
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private byte[] serialize(Object value) {
+        try {
+            return objectMapper.writeValueAsBytes(value);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Failed to serialize venue response", e);
+        }
+    }
+
+    private static byte[] gzip(byte[] json) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(Math.max(64, json.length / 4));
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write(json);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return out.toByteArray();
+    }
+
+    public static final class Body {
+
+        private final long version;
+
+        private final String etag;
+
+        private final String gzipEtag;
+
+        private final byte[] json;
+
+        private final byte[] gzip;
+
+        private Body(long version, String etag, byte[] json, byte[] gzip) {
+            this.version = version;
+            this.etag = etag;
+            this.gzipEtag = etag.substring(0, etag.length() - 1) + "-gzip\"";
+            this.json = json;
+            this.gzip = gzip;
+        }
+
+        public String getEtag() {
+            return etag;
+        }
+
+        public String getGzipEtag() {
+            return gzipEtag;
+        }
+
+        public byte[] getJson() {
+            return json;
+        }
+
+        public byte[] getGzip() {
+            return gzip;
+        }
+    }
+}
@@ -0,0 +1,483 @@
+package com.bookvenue.backend.service.impl;
+
+import com.bookvenue.backend.config.DeferredInitialization;
+import com.bookvenue.backend.event.VenueChangedEvent;
+import com.bookvenue.backend.model.Venue;
+import com.bookvenue.backend.repository.VenueRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * In-memory index over active venues for the combined catalog search.
+ * <p>
+ * The index is an immutable snapshot (capacity- and price-sorted arrays plus a
+ * location map) that is rebuilt on structural venue changes. Availability changes
+ * only swap the venue copy held by one entry, so bookings never trigger a rebuild.
+ * Updates are applied after the originating transaction commits.
+ * <p>
+ * Structural changes (create, delete, a new name, location, capacity or price)
+ * are queued and applied by one background rebuild, so writers never wait for
+ * it and a burst of edits costs one rebuild rather than one each. Searches see
+ * them once that rebuild finishes.
+ * <p>
+ * Changes made through other instances raise no local event, so the same
+ * background rebuild also reloads every venue from the database once per
+ * {@code bookvenue.cache.venues.time-to-live}, the age limit of the venue cache.
+ */
+@Component
+public class VenueSearchIndex implements DisposableBean {
+
+    private static final Logger log = LoggerFactory.getLogger(VenueSearchIndex.class);
+
+    @Autowired
+    private VenueRepository venueRepository;
+
+    @Autowired
+    private DeferredInitialization deferredInitialization;
+
+    private volatile Snapshot snapshot;
+
+    // Structural changes waiting for the background rebuild: the latest copy of
+    // each venue, applied as a removal when it is no longer active
+    private final Map<Long, Venue> pending = new HashMap<>();
+
+    // Same-key updates made to the old snapshot while a rebuild was running
+    private final Map<Long, Venue> updatedDuringRebuild = new HashMap<>();
+
+    private boolean reloadRequested;
+
+    private boolean rebuilding;
+
+    private final ScheduledExecutorService rebuilder = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "venue-search-index");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public VenueSearchIndex(@Value("${bookvenue.cache.venues.time-to-live:10m}") Duration reloadInterval) {
+        long period = reloadInterval.toMillis();
+        rebuilder.scheduleWithFixedDelay(this::reload, period, period, TimeUnit.MILLISECONDS);
+    }
+
+    // Searches arriving before the warm-up finishes build the index themselves.
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        deferredInitialization.run("venue search index warm-up", () -> {
+            if (snapshot == null) {
+                rebuild();
+            }
+        });
+    }
+
+    public synchronized void rebuild() {
+        List<Venue> venues = new ArrayList<>();
+        for (Venue venue : venueRepository.findByIsActiveTrueOrderByCreatedAtDesc()) {
+            venues.add(venue.copy());
+        }
+        snapshot = new Snapshot(venues);
+    }
+
+    // Runs on the rebuilder thread unless a rebuild is already queued or running,
+    // which then reloads instead of starting from its current snapshot
+    void reload() {
+        synchronized (this) {
+            if (snapshot == null) {
+                return;
+            }
+            reloadRequested = true;
+            if (rebuilding) {
+                return;
+            }
+            rebuilding = true;
+        }
+        applyPending();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public synchronized void onVenueChanged(VenueChangedEvent event) {
+        Snapshot current = snapshot;
+        if (current == null) {
+            return;
+        }
+
+        Venue venue = event.getVenue();
+        Entry existing = current.byId.get(venue.getId());
+        boolean active = Boolean.TRUE.equals(venue.getIsActive());
+
+        // A venue with a queued change must stay queued, or the rebuild would undo this update
+        if (!pending.containsKey(venue.getId())) {
+            if (existing != null && active && existing.hasSameSearchKeys(venue)) {
+                existing.venue = venue.copy();
+                if (rebuilding) {
+                    updatedDuringRebuild.put(venue.getId(), existing.venue);
+                }
+                return;
+            }
+            if (existing == null && !active) {
+                return;
+            }
+        }
+
+        pending.put(venue.getId(), venue.copy());
+        if (!rebuilding) {
+            rebuilding = true;
+            rebuilder.execute(this::applyPending);
+        }
+    }
+
+    // Runs on the rebuilder thread until no changes are left; the snapshot is
+    // built outside the lock so writers and searches are not held up by it
+    private void applyPending() {
+        try {
+            while (true) {
+                Snapshot current;
+                Map<Long, Venue> changes;
+                boolean reload;
+                synchronized (this) {
+                    if (pending.isEmpty() && !reloadRequested) {
+                        rebuilding = false;
+                        return;
+                    }
+                    current = snapshot;
+                    changes = new HashMap<>(pending);
+                    pending.clear();
+                    reload = reloadRequested;
+                    reloadRequested = false;
+                }
+
+                List<Venue> base = new ArrayList<>();
+                if (reload) {
+                    for (Venue venue : venueRepository.findByIsActiveTrueOrderByCreatedAtDesc()) {
+                        base.add(venue.copy());
+                    }
+                } else {
+                    for (Entry entry : current.entries) {
+                        base.add(entry.venue);
+                    }
+                }
+                List<Venue> venues = new ArrayList<>(base.size() + changes.size());
+                for (Venue venue : base) {
+                    if (!changes.containsKey(venue.getId())) {
+                        venues.add(venue);
+                    }
+                }
+                for (Venue venue : changes.values()) {
+                    if (Boolean.TRUE.equals(venue.getIsActive())) {
+                        venues.add(venue);
+                    }
+                }
+                Snapshot rebuilt = new Snapshot(venues);
+
+                synchronized (this) {
+                    for (Venue venue : updatedDuringRebuild.values()) {
+                        Entry entry = rebuilt.byId.get(venue.getId());
+                        if (entry != null && entry.hasSameSearchKeys(venue)) {
+                            entry.venue = venue;
+                        } else {
+                            pending.put(venue.getId(), venue);
+                        }
+                    }
+                    updatedDuringRebuild.clear();
+                    snapshot = rebuilt;
+                }
+            }
+        } catch (RuntimeException e) {
+            log.error("Venue search index rebuild failed; reloading it on the next search", e);
+            synchronized (this) {
+                pending.clear();
+                updatedDuringRebuild.clear();
+                reloadRequested = false;
+                rebuilding = false;
+                snapshot = null;
+            }
+        }
+    }
+
+    @Override
+    public void destroy() {
+        rebuilder.shutdownNow();
+    }
+
+    /**
+     * Active venues matching every non-null filter. Location and name match as
+     * case-insensitive substrings; when either is given, results are ranked by
+     * match quality (exact, prefix, word start, anywhere), otherwise cheapest first.
+     */
+    public List<Venue> search(String location, String name, Integer minCapacity, Integer maxCapacity,
+                              Double minPrice, Double maxPrice, LocalDate freeOn) {
+        Snapshot current = snapshot();
+        Query query = new Query(location, name, minCapacity, maxCapacity, minPrice, maxPrice, freeOn);
+
+        Entry[] candidates = current.entries;
+        int[] candidateDocs = null;
+        int from = 0;
+        int to = candidates.length;
+        boolean sortedByPrice = false;
+
+        int[] locationDocs = query.location == null ? null : current.locationIndex.search(query.location);
+        int[] nameDocs = query.name == null ? null : current.nameIndex.search(query.name);
+        for (int[] docs : new int[][]{locationDocs, nameDocs}) {
+            if (docs != null && docs.length < to - from) {
+                candidates = current.entries;
+                candidateDocs = docs;
+                from = 0;
+                to = docs.length;
+            }
+        }
+        if (minCapacity != null || maxCapacity != null) {
+            int lo = current.lowerBoundCapacity(minCapacity == null ? Integer.MIN_VALUE : minCapacity);
+            int hi = current.upperBoundCapacity(maxCapacity == null ? Integer.MAX_VALUE : maxCapacity);
+            if (hi - lo < to - from) {
+                candidates = current.byCapacity;
+                candidateDocs = null;
+                from = lo;
+                to = hi;
+            }
+        }
+        if (minPrice != null || maxPrice != null) {
+            int lo = current.lowerBoundPrice(minPrice == null ? Double.NEGATIVE_INFINITY : minPrice);
+            int hi = current.upperBoundPrice(maxPrice == null ? Double.POSITIVE_INFINITY : maxPrice);
+            if (hi - lo <= to - from) {
+                candidates = current.byPrice;
+                candidateDocs = null;
+                from = lo;
+                to = hi;
+                sortedByPrice = true;
+            }
+        }
+
+        // Each match becomes one sortable long: match rank in the high bits and the
+        // venue's position in price order in the low bits.
+        boolean ranked = query.name != null || query.location != null;
+        long[] keys = new long[to - from];
+        int count = 0;
+        for (int i = from; i < to; i++) {
+            Entry entry = candidateDocs == null ? candidates[i] : candidates[candidateDocs[i]];
+            if (query.matches(entry, current)) {
+                long rank = ranked ? query.rank(entry, current) : 0;
+                keys[count++] = (rank << 32) | entry.pricePosition;
+            }
+        }
+        if (ranked || !sortedByPrice) {
+            Arrays.sort(keys, 0, count);
+        }
+
+        List<Venue> results = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            results.add(current.byPrice[(int) keys[i]].venue);
+        }
+        return Collections.unmodifiableList(results);
+    }
+
+    private Snapshot snapshot() {
+        Snapshot current = snapshot;
+        if (current == null) {
+            rebuild();
+            current = snapshot;
+        }
+        return current;
+    }
+
+    private static final class Entry {
+
+        private final int doc;
+
+        private int pricePosition;
+
+        private volatile Venue venue;
+
+        private Entry(int doc, Venue venue) {
+            this.doc = doc;
+            this.venue = venue;
+        }
+
+        private boolean hasSameSearchKeys(Venue other) {
+            return venue.getCapacity().equals(other.getCapacity())
+                    && venue.getPricePerHour().equals(other.getPricePerHour())
+                    && venue.getLocation().equals(other.getLocation())
+                    && venue.getName().equals(other.getName());
+        }
+    }
+
+    private static final class Snapshot {
+
+        private static final Comparator<Venue> BY_PRICE = Comparator
+                .comparing(Venue::getPricePerHour)
+                .thenComparing(Venue::getName);
+
+        private final Entry[] entries;
+
+        private final Entry[] byCapacity;
+
+        private final Entry[] byPrice;
+
+        private final int[] capacities;
+
+        private final double[] prices;
+
+        private final TrigramIndex locationIndex;
+
+        private final TrigramIndex nameIndex;
+
+        private final Map<Long, Entry> byId;
+
+        private Snapshot(List<Venue> venues) {
+            entries = new Entry[venues.size()];
+            String[] locations = new String[entries.length];
+            String[] names = new String[entries.length];
+            byId = new HashMap<>(entries.length * 2);
+            for (int i = 0; i < entries.length; i++) {
+                Venue venue = venues.get(i);
+                entries[i] = new Entry(i, venue);
+                locations[i] = venue.getLocation();
+                names[i] = venue.getName();
+                byId.put(venue.getId(), entries[i]);
+            }
+            locationIndex = new TrigramIndex(locations);
+            nameIndex = new TrigramIndex(names);
+
+            byCapacity = entries.clone();
+            Arrays.sort(byCapacity, Comparator.comparingInt(entry -> entry.venue.getCapacity()));
+            capacities = new int[byCapacity.length];
+            for (int i = 0; i < byCapacity.length; i++) {
+                capacities[i] = byCapacity[i].venue.getCapacity();
+            }
+
+            byPrice = entries.clone();
+            Arrays.sort(byPrice, (a, b) -> BY_PRICE.compare(a.venue, b.venue));
+            prices = new double[byPrice.length];
+            for (int i = 0; i < byPrice.length; i++) {
+                prices[i] = byPrice[i].venue.getPricePerHour();
+                byPrice[i].pricePosition = i;
+            }
+        }
+
+        private int lowerBoundCapacity(int min) {
+            int lo = 0;
+            int hi = capacities.length;
+            while (lo < hi) {
+                int mid = (lo + hi) >>> 1;
+                if (capacities[mid] < min) {
+                    lo = mid + 1;
+                } else {
+                    hi = mid;
+                }
+            }
+            return lo;
+        }
+
+        private int upperBoundCapacity(int max) {
+            int lo = 0;
+            int hi = capacities.length;
+            while (lo < hi) {
+                int mid = (lo + hi) >>> 1;
+                if (capacities[mid] <= max) {
+                    lo = mid + 1;
+                } else {
+                    hi = mid;
+                }
+            }
+            return lo;
+        }
+
+        private int lowerBoundPrice(double min) {
+            int lo = 0;
+            int hi = prices.length;
+            while (lo < hi) {
+                int mid = (lo + hi) >>> 1;
+                if (prices[mid] < min) {
+                    lo = mid + 1;
+                } else {
+                    hi = mid;
+                }
+            }
+            return lo;
+        }
+
+        private int upperBoundPrice(double max) {
+            int lo = 0;
+            int hi = prices.length;
+            while (lo < hi) {
+                int mid = (lo + hi) >>> 1;
+                if (prices[mid] <= max) {
+                    lo = mid + 1;
+                } else {
+                    hi = mid;
+                }
+            }
+            return lo;
+        }
+    }
+
+    private static final class Query {
+
+        private final String location;
+
+        private final String name;
+
+        private final int minCapacity;
+
+        private final int maxCapacity;
+
+        private final double minPrice;
+
+        private final double maxPrice;
+
+        private final LocalDate freeOn;
+
+        private Query(String location, String name, Integer minCapacity, Integer maxCapacity,
+                      Double minPrice, Double maxPrice, LocalDate freeOn) {
+            this.location = location == null || location.isBlank() ? null : TrigramIndex.normalize(location);
+            this.name = name == null || name.isBlank() ? null : TrigramIndex.normalize(name);
+            this.minCapacity = minCapacity == null ? Integer.MIN_VALUE : minCapacity;
+            this.maxCapacity = maxCapacity == null ? Integer.MAX_VALUE : maxCapacity;
+            this.minPrice = minPrice == null ? Double.NEGATIVE_INFINITY : minPrice;
+            this.maxPrice = maxPrice == null ? Double.POSITIVE_INFINITY : maxPrice;
+            this.freeOn = freeOn;
+        }
+
+        private boolean matches(Entry entry, Snapshot snapshot) {
+            Venue venue = entry.venue;
+            return venue.getCapacity() >= minCapacity
+                    && venue.getCapacity() <= maxCapacity
+                    && venue.getPricePerHour() >= minPrice
+                    && venue.getPricePerHour() <= maxPrice
+                    && (location == null || snapshot.locationIndex.contains(entry.doc, location))
+                    && (name == null || snapshot.nameIndex.contains(entry.doc, name))
+                    && (freeOn == null || !venue.getAvailability().isBlocked(freeOn));
+        }
+
+        // Name quality first, then location quality, then shorter (closer) texts.
+        private int rank(Entry entry, Snapshot snapshot) {
+            int rank = 0;
+            if (name != null) {
+                rank += snapshot.nameIndex.rank(entry.doc, name) * 4096
+                        + Math.min(snapshot.nameIndex.length(entry.doc), 4095);
+            }
+            if (location != null) {
+                rank = rank * 4 + snapshot.locationIndex.rank(entry.doc, location);
+            }
+            return rank;
+        }
+    }
+}
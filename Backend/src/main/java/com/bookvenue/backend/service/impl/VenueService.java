@@ -1,24 +1,59 @@
 package com.bookvenue.backend.service.impl;
 
+import com.bookvenue.backend.dto.TimeSlot;
+import com.bookvenue.backend.dto.VenueAvailability;
+import com.bookvenue.backend.event.VenueChangedEvent;
+import com.bookvenue.backend.event.VenueChangedEvent.ChangeType;
 import com.bookvenue.backend.repository.VenueRepository;
+import com.bookvenue.backend.model.AvailabilityCalendar;
 import com.bookvenue.backend.model.Venue;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
-import java.util.HashSet;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.BitSet;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Optional;
-import java.util.Set;
 
 @Service
 public class VenueService {
 
+    private static final Logger log = LoggerFactory.getLogger(VenueService.class);
+
+    public static final String FORMAT_RANGES = "ranges";
+
+    public static final String FORMAT_BITMAP = "bitmap";
+
+    private static final int MAX_SLOT_RANGE_DAYS = 92;
+
+    private static final int MAX_CALENDAR_RANGE_DAYS = 366;
+
+    private static final int MAX_CALENDAR_VENUES = 100;
+
     @Autowired
     private VenueRepository venueRepository;
 
+    @Autowired
+    private VenueSearchIndex venueSearchIndex;
+
+    @Autowired
+    private VenueCache venueCache;
+
+    @Autowired
+    private SlotIndex slotIndex;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
     public List<Venue> getAllVenues() {
-        return venueRepository.findByIsActiveTrueOrderByCreatedAtDesc();
+        return venueCache.getActiveVenues(venueRepository::findByIsActiveTrueOrderByCreatedAtDesc);
     }
 
     public Venue createVenue(Venue venue) {
@@ -26,19 +61,22 @@ public class VenueService {
             venue.setIsActive(true);
         }
 
-        return venueRepository.save(venue);
+        Venue saved = venueRepository.save(venue);
+        eventPublisher.publishEvent(new VenueChangedEvent(saved, ChangeType.CREATED));
+        return saved;
     }
 
     public Optional<Venue> getVenueById(Long id) {
-        return venueRepository.findById(id)
-                .filter(Venue::getIsActive);
+        return venueCache.getVenue(id, venueId -> venueRepository.findById(venueId)
+                .filter(Venue::getIsActive));
     }
 
     public void deleteVenue(Long id) {
         Optional<Venue> venue = venueRepository.findById(id);
-        if (venue.isPresent()) {
+        if (venue.isPresent() && Boolean.TRUE.equals(venue.get().getIsActive())) {
             venue.get().setIsActive(false);
-            venueRepository.save(venue.get());
+            Venue saved = venueRepository.save(venue.get());
+            eventPublisher.publishEvent(new VenueChangedEvent(saved, ChangeType.DELETED));
         }
     }
 
@@ -50,28 +88,34 @@ public class VenueService {
                     existingVenue.setCapacity(updatedVenue.getCapacity());
                     existingVenue.setPricePerHour(updatedVenue.getPricePerHour());
 
-                    return venueRepository.save(existingVenue);
+                    Venue saved = venueRepository.save(existingVenue);
+                    eventPublisher.publishEvent(new VenueChangedEvent(saved, ChangeType.UPDATED));
+                    return saved;
                 })
                 .orElseThrow(() -> new RuntimeException("Venue not found with ID: " + id));
     }
 
+    @Transactional
     public Venue updateAvailability(Long id, List<LocalDate> blockDates, List<LocalDate> unblockDates) {
-        return venueRepository.findById(id)
+        return venueRepository.findByIdForUpdate(id)
                 .map(venue -> {
-                    Set<LocalDate> unavailableSet = new HashSet<>(venue.getUnavailableDates());
+                    AvailabilityCalendar calendar = venue.getAvailability().copy();
 
                     if (blockDates != null && !blockDates.isEmpty()) {
-                        unavailableSet.addAll(blockDates);
-                        System.out.println("🚫 Blocked " + blockDates.size() + " dates for venue: " + venue.getName());
+                        blockDates.forEach(calendar::block);
+                        log.info("Blocked {} dates for venue {}", blockDates.size(), venue.getId());
                     }
 
                     if (unblockDates != null && !unblockDates.isEmpty()) {
-                        unavailableSet.removeAll(unblockDates);
-                        System.out.println("✅ Unblocked " + unblockDates.size() + " dates for venue: " + venue.getName());
+                        unblockDates.forEach(calendar::unblock);
+                        log.info("Unblocked {} dates for venue {}", unblockDates.size(), venue.getId());
                     }
 
-                    venue.setUnavailableDates(List.copyOf(unavailableSet));
-                    return venueRepository.save(venue);
+                    venue.setAvailability(calendar);
+                    Venue saved = venueRepository.save(venue);
+                    eventPublisher.publishEvent(new VenueChangedEvent(saved, ChangeType.AVAILABILITY_CHANGED,
+                            blockDates, unblockDates));
+                    return saved;
                 })
                 .orElseThrow(() -> new RuntimeException("Venue not found with ID: " + id));
     }
@@ -82,15 +126,73 @@ public class VenueService {
         return venue.isPresent() && venue.get().isAvailableOn(date);
     }
 
+    public Optional<List<TimeSlot>> getFreeSlots(Long venueId, LocalDate from, LocalDate to, int minHours) {
+        if (from == null || to == null || to.isBefore(from) || from.plusDays(MAX_SLOT_RANGE_DAYS - 1).isBefore(to)) {
+            throw new IllegalArgumentException("Date range must be at most " + MAX_SLOT_RANGE_DAYS + " days");
+        }
+        return getVenueById(venueId).map(venue -> slotIndex.freeSlots(venue, from, to, minHours));
+    }
+
+    public Optional<VenueAvailability> getAvailability(Long venueId, LocalDate from, LocalDate to, String format) {
+        validateCalendarRange(from, to, format);
+        return getVenueById(venueId).map(venue -> availabilityOf(venue, from, to, format));
+    }
+
+    /**
+     * Calendars for several venues in one call; unknown or inactive venues are left out.
+     */
+    public List<VenueAvailability> getAvailability(List<Long> venueIds, LocalDate from, LocalDate to, String format) {
+        validateCalendarRange(from, to, format);
+        if (venueIds == null || venueIds.isEmpty() || venueIds.size() > MAX_CALENDAR_VENUES) {
+            throw new IllegalArgumentException("Between 1 and " + MAX_CALENDAR_VENUES + " venue ids are required");
+        }
+        List<VenueAvailability> calendars = new ArrayList<>(venueIds.size());
+        for (Long venueId : new LinkedHashSet<>(venueIds)) {
+            getVenueById(venueId).ifPresent(venue -> calendars.add(availabilityOf(venue, from, to, format)));
+        }
+        return calendars;
+    }
+
+    private VenueAvailability availabilityOf(Venue venue, LocalDate from, LocalDate to, String format) {
+        BitSet blocked = venue.getAvailability().window(from, to);
+        BitSet partial = slotIndex.bookedDays(venue, from, to);
+        partial.andNot(blocked);
+        return new VenueAvailability(venue.getId(), from, to, format,
+                encodeDays(blocked, format), encodeDays(partial, format));
+    }
+
+    private static String encodeDays(BitSet days, String format) {
+        if (FORMAT_BITMAP.equals(format)) {
+            return Base64.getEncoder().encodeToString(days.toByteArray());
+        }
+        return AvailabilityCalendar.encodeRuns(days, 0);
+    }
+
+    private static void validateCalendarRange(LocalDate from, LocalDate to, String format) {
+        if (from == null || to == null || to.isBefore(from) || from.plusDays(MAX_CALENDAR_RANGE_DAYS - 1).isBefore(to)) {
+            throw new IllegalArgumentException("Date range must be at most " + MAX_CALENDAR_RANGE_DAYS + " days");
+        }
+        if (!FORMAT_RANGES.equals(format) && !FORMAT_BITMAP.equals(format)) {
+            throw new IllegalArgumentException("Format must be '" + FORMAT_RANGES + "' or '" + FORMAT_BITMAP + "'");
+        }
+    }
+
     public List<Venue> getVenuesByLocation(String location) {
-        return venueRepository.findActiveVenuesByLocation(location);
+        return venueSearchIndex.search(location, null, null, null, null, null, null);
     }
 
+    @Transactional(readOnly = true)
     public List<Venue> getVenuesByCapacityRange(Integer minCapacity, Integer maxCapacity) {
         return venueRepository.findActiveVenuesByCapacityRange(minCapacity, maxCapacity);
     }
 
+    @Transactional(readOnly = true)
     public List<Venue> getVenuesByPriceRange(Double minPrice, Double maxPrice) {
         return venueRepository.findActiveVenuesByPriceRange(minPrice, maxPrice);
     }
+
+    public List<Venue> searchVenues(String location, String name, Integer minCapacity, Integer maxCapacity,
+                                    Double minPrice, Double maxPrice, LocalDate freeOn) {
+        return venueSearchIndex.search(location, name, minCapacity, maxCapacity, minPrice, maxPrice, freeOn);
+    }
 }
@@ -0,0 +1,73 @@
+-- Schema as previously created by spring.jpa.hibernate.ddl-auto=update, plus
+-- the columns and tables added since. Every statement tolerates objects that
+-- already exist, so this also brings a database created by ddl-auto up to date.
+
+CREATE SEQUENCE IF NOT EXISTS bookings_seq START WITH 1 INCREMENT BY 50;
+
+CREATE TABLE IF NOT EXISTS venues (
+    id                 BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    name               VARCHAR(100) NOT NULL,
+    location           VARCHAR(255) NOT NULL,
+    capacity           INTEGER NOT NULL,
+    price_per_hour     FLOAT(53) NOT NULL,
+    created_by         VARCHAR(255) NOT NULL,
+    is_active          BOOLEAN NOT NULL,
+    unavailable_ranges TEXT,
+    slot_version       BIGINT,
+    created_at         TIMESTAMP(6),
+    updated_at         TIMESTAMP(6)
+);
+ALTER TABLE venues ADD COLUMN IF NOT EXISTS unavailable_ranges TEXT;
+ALTER TABLE venues ADD COLUMN IF NOT EXISTS slot_version BIGINT;
+
+CREATE TABLE IF NOT EXISTS bookings (
+    id               BIGINT NOT NULL PRIMARY KEY,
+    venue_id         BIGINT NOT NULL,
+    user_name        VARCHAR(255) NOT NULL,
+    user_email       VARCHAR(255) NOT NULL,
+    booking_date     DATE NOT NULL,
+    hours_booked     INTEGER NOT NULL,
+    start_time       TIME(6),
+    status           VARCHAR(255) CHECK (status IN ('CONFIRMED', 'CANCELLED')),
+    total_cost       FLOAT(53) NOT NULL,
+    created_at       TIMESTAMP(6),
+    confirmed_marker BOOLEAN,
+    CONSTRAINT fk_bookings_venue FOREIGN KEY (venue_id) REFERENCES venues (id)
+);
+ALTER TABLE bookings ADD COLUMN IF NOT EXISTS start_time TIME(6);
+ALTER TABLE bookings ADD COLUMN IF NOT EXISTS confirmed_marker BOOLEAN;
+
+-- Bookings made before time slots were whole-day bookings. The oldest confirmed
+-- one per venue and date takes the day; a later one left by a double booking
+-- the old code let through keeps its status but not the unique marker, so V2's
+-- unique index can still be built.
+UPDATE bookings SET confirmed_marker = TRUE
+WHERE confirmed_marker IS NULL
+  AND status = 'CONFIRMED'
+  AND start_time IS NULL
+  AND id = (SELECT MIN(first.id) FROM bookings first
+            WHERE first.venue_id = bookings.venue_id
+              AND first.booking_date = bookings.booking_date
+              AND first.status = 'CONFIRMED'
+              AND first.start_time IS NULL);
+
+CREATE TABLE IF NOT EXISTS booking_rollups (
+    id         BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    scope      VARCHAR(16) NOT NULL CHECK (scope IN ('TOTAL', 'VENUE', 'DAY', 'ACTIVE_VENUES')),
+    bucket     VARCHAR(32) NOT NULL,
+    item_count BIGINT NOT NULL,
+    hours      BIGINT NOT NULL,
+    revenue    FLOAT(53) NOT NULL,
+    updated_at TIMESTAMP(6) NOT NULL,
+    CONSTRAINT uk_booking_rollups_scope_bucket UNIQUE (scope, bucket)
+);
+
+CREATE TABLE IF NOT EXISTS idempotency_keys (
+    idempotency_key VARCHAR(100) NOT NULL PRIMARY KEY,
+    request_hash    VARCHAR(64) NOT NULL,
+    status_code     INTEGER NOT NULL,
+    location        VARCHAR(255),
+    response_body   TEXT NOT NULL,
+    created_at      TIMESTAMP(6) NOT NULL,
+    expires_at      TIMESTAMP(6) NOT NULL
+);
@@ -0,0 +1,27 @@
+-- Migrations run in a transaction, where Postgres cannot CREATE INDEX
+-- CONCURRENTLY, so each index below holds a lock that blocks writes to its
+-- table while it builds. That is brief on the tables this ships with; on a large
+-- existing bookings table, build the same-named indexes CONCURRENTLY by hand
+-- before upgrading and IF NOT EXISTS skips them here.
+
+-- Confirmed booking checks and slot lookups by venue and date
+-- (existsConfirmedBookingByVenueAndDate, findConfirmedSlots, findConfirmedVenueDates)
+CREATE INDEX IF NOT EXISTS idx_bookings_venue_date_status ON bookings (venue_id, booking_date, status);
+
+-- Newest-first booking pages and the full export (findFirstPage, findPageAfter, streamAllBookings)
+CREATE INDEX IF NOT EXISTS idx_bookings_created_at ON bookings (created_at, id);
+
+-- Date-range listing and export (findBookingsByDateRange, streamBookingsByDateRange)
+CREATE INDEX IF NOT EXISTS idx_bookings_booking_date ON bookings (booking_date, id);
+
+-- A user's bookings, newest first (findByUserEmailOrderByCreatedAtDesc)
+CREATE INDEX IF NOT EXISTS idx_bookings_user_email_created_at ON bookings (user_email, created_at);
+
+-- Active catalog, newest first (findByIsActiveTrueOrderByCreatedAtDesc, findAllActiveVenues)
+CREATE INDEX IF NOT EXISTS idx_venues_active_created_at ON venues (is_active, created_at);
+
+-- Venues by creator (findByCreatedByOrderByCreatedAtDesc)
+CREATE INDEX IF NOT EXISTS idx_venues_created_by_created_at ON venues (created_by, created_at);
+
+-- Expired idempotency key purge (deleteExpired)
+CREATE INDEX IF NOT EXISTS idx_idempotency_keys_expires_at ON idempotency_keys (expires_at);
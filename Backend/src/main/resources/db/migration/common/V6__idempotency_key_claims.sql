@@ -0,0 +1,4 @@
+-- A key is claimed with a pending row (no status or body yet) before the
+-- request runs, and the response is written to that row afterwards
+ALTER TABLE idempotency_keys ALTER COLUMN status_code DROP NOT NULL;
+ALTER TABLE idempotency_keys ALTER COLUMN response_body DROP NOT NULL;
@@ -0,0 +1,5 @@
+-- Active venues by capacity or price range (findActiveVenuesByCapacityRange,
+-- findActiveVenuesByPriceRange); is_active alone selects nearly every venue
+CREATE INDEX IF NOT EXISTS idx_venues_active_capacity ON venues (is_active, capacity);
+
+CREATE INDEX IF NOT EXISTS idx_venues_active_price_per_hour ON venues (is_active, price_per_hour);
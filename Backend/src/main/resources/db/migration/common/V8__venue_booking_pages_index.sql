@@ -0,0 +1,2 @@
+-- A venue's bookings, newest first, in keyset pages (findVenueFirstPage, findVenuePageAfter)
+CREATE INDEX IF NOT EXISTS idx_bookings_venue_created_at ON bookings (venue_id, created_at, id);
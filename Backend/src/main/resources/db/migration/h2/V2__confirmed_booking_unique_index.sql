@@ -0,0 +1,6 @@
+-- At most one confirmed whole-day booking per venue and date. H2 has no
+-- partial indexes; confirmed_marker is NULL for every other booking, and
+-- NULLs never collide. Replaces the unique constraint ddl-auto created.
+ALTER TABLE bookings DROP CONSTRAINT IF EXISTS uk_bookings_confirmed_venue_date;
+CREATE UNIQUE INDEX uk_bookings_confirmed_venue_date
+    ON bookings (venue_id, booking_date, confirmed_marker);
@@ -0,0 +1,5 @@
+-- A user's bookings by date (findUserBookingsFrom, findUserBookingsBefore). H2 has
+-- no INCLUDE, so the covered columns are trailing key columns.
+DROP INDEX IF EXISTS idx_bookings_user_email_created_at;
+CREATE INDEX IF NOT EXISTS idx_bookings_user_email_booking_date ON bookings (user_email, booking_date, id,
+    venue_id, start_time, hours_booked, total_cost, status);
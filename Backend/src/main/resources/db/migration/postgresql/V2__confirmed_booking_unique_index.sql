@@ -0,0 +1,13 @@
+-- At most one confirmed whole-day booking per venue and date. confirmed_marker
+-- is TRUE only for those rows, so the partial index holds just them. Replaces
+-- the (venue_id, booking_date, confirmed_marker) unique constraint that
+-- ddl-auto created; the index keeps its name, which booking conflicts are
+-- recognised by.
+ALTER TABLE bookings DROP CONSTRAINT IF EXISTS uk_bookings_confirmed_venue_date;
+CREATE UNIQUE INDEX uk_bookings_confirmed_venue_date
+    ON bookings (venue_id, booking_date) WHERE confirmed_marker;
+
+-- Move bookings_seq past ids handed out by the old IDENTITY column
+SELECT setval('bookings_seq', GREATEST(
+    (SELECT COALESCE(MAX(id), 1) FROM bookings),
+    (SELECT last_value FROM bookings_seq)));
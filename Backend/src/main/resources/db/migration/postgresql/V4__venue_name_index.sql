@@ -0,0 +1,2 @@
+-- Case-insensitive name lookup (findByNameIgnoreCase); H2 has no expression indexes
+CREATE INDEX IF NOT EXISTS idx_venues_lower_name ON venues (LOWER(name));
@@ -0,0 +1,7 @@
+-- A user's bookings by date (findUserBookingsFrom, findUserBookingsBefore). The
+-- included columns are everything those queries read, so a page is an
+-- index-only range scan; it replaces the created_at index only the old
+-- unpaged lookup used.
+DROP INDEX IF EXISTS idx_bookings_user_email_created_at;
+CREATE INDEX IF NOT EXISTS idx_bookings_user_email_booking_date ON bookings (user_email, booking_date, id)
+    INCLUDE (venue_id, start_time, hours_booked, total_cost, status);
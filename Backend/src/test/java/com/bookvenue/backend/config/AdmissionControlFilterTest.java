@@ -0,0 +1,116 @@
+package com.bookvenue.backend.config;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.env.MockEnvironment;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AdmissionControlFilterTest {
+
+    @Test
+    void rateLimitsEachClientPerBulkhead() throws Exception {
+        AdmissionControlFilter filter = filter(new MockEnvironment()
+                .withProperty("bookvenue.admission.booking.rate", "0.1")
+                .withProperty("bookvenue.admission.booking.burst", "2"), () -> Duration.ZERO);
+
+        assertThat(perform(filter, "POST", "/api/bookings", "10.0.0.1").getStatus()).isEqualTo(200);
+        assertThat(perform(filter, "POST", "/api/bookings", "10.0.0.1").getStatus()).isEqualTo(200);
+
+        MockHttpServletResponse limited = perform(filter, "POST", "/api/bookings", "10.0.0.1");
+        assertThat(limited.getStatus()).isEqualTo(429);
+        assertThat(limited.getHeader("Retry-After")).isEqualTo("10");
+        assertThat(limited.getContentAsString()).contains("\"error\"");
+
+        // Another client, and reads from the same client, are unaffected
+        assertThat(perform(filter, "POST", "/api/bookings", "10.0.0.2").getStatus()).isEqualTo(200);
+        assertThat(perform(filter, "GET", "/api/venues", "10.0.0.1").getStatus()).isEqualTo(200);
+    }
+
+    @Test
+    void shedsBookingsWithoutStarvingReads() throws Exception {
+        AdmissionControlFilter filter = filter(new MockEnvironment()
+                .withProperty("bookvenue.admission.booking.max-concurrent", "1"), () -> Duration.ZERO);
+
+        CountDownLatch entered = new CountDownLatch(1);
+        CountDownLatch finish = new CountDownLatch(1);
+        AtomicReference<Integer> firstStatus = new AtomicReference<>();
+        Thread first = Thread.ofVirtual().start(() -> {
+            MockHttpServletResponse response = new MockHttpServletResponse();
+            FilterChain slow = (request, ignored) -> {
+                entered.countDown();
+                try {
+                    finish.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            };
+            try {
+                filter.doFilter(request("POST", "/api/bookings", "10.0.0.1"), response, slow);
+            } catch (Exception e) {
+                throw new IllegalStateException(e);
+            }
+            firstStatus.set(response.getStatus());
+        });
+        assertThat(entered.await(5, TimeUnit.SECONDS)).isTrue();
+
+        MockHttpServletResponse shed = perform(filter, "POST", "/api/bookings", "10.0.0.2");
+        assertThat(shed.getStatus()).isEqualTo(503);
+        assertThat(shed.getHeader("Retry-After")).isEqualTo("1");
+        assertThat(perform(filter, "GET", "/api/venues/1", "10.0.0.2").getStatus()).isEqualTo(200);
+
+        finish.countDown();
+        first.join(5000);
+        assertThat(firstStatus.get()).isEqualTo(200);
+        assertThat(perform(filter, "POST", "/api/bookings", "10.0.0.2").getStatus()).isEqualTo(200);
+    }
+
+    @Test
+    void concurrencyLimitFollowsPoolWait() {
+        AtomicReference<Duration> poolWait = new AtomicReference<>(Duration.ofMillis(200));
+        AdmissionControlFilter filter = filter(new MockEnvironment()
+                .withProperty("bookvenue.admission.booking.max-concurrent", "40")
+                .withProperty("bookvenue.admission.booking.min-concurrent", "4"), poolWait::get);
+
+        filter.adjustLimits();
+        assertThat(filter.getLimit(AdmissionControlFilter.Bulkhead.BOOKING)).isEqualTo(32);
+        for (int i = 0; i < 20; i++) {
+            filter.adjustLimits();
+        }
+        assertThat(filter.getLimit(AdmissionControlFilter.Bulkhead.BOOKING)).isEqualTo(4);
+        assertThat(filter.getLimit(AdmissionControlFilter.Bulkhead.READ)).isEqualTo(200);
+
+        poolWait.set(Duration.ofMillis(1));
+        filter.adjustLimits();
+        filter.adjustLimits();
+        assertThat(filter.getLimit(AdmissionControlFilter.Bulkhead.BOOKING)).isEqualTo(6);
+    }
+
+    private static AdmissionControlFilter filter(MockEnvironment environment,
+                                                 Supplier<Duration> poolWait) {
+        return new AdmissionControlFilter(environment, poolWait, new SimpleMeterRegistry());
+    }
+
+    private static MockHttpServletResponse perform(AdmissionControlFilter filter, String method, String path,
+                                                   String client) throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request(method, path, client), response, new MockFilterChain());
+        return response;
+    }
+
+    private static MockHttpServletRequest request(String method, String path, String client) {
+        MockHttpServletRequest request = new MockHttpServletRequest(method, path);
+        request.setRemoteAddr(client);
+        return request;
+    }
+}
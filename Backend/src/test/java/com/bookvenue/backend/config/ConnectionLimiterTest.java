@@ -0,0 +1,61 @@
+package com.bookvenue.backend.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLTransientConnectionException;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ConnectionLimiterTest {
+
+    @Test
+    void waitersGetPermitWhenConnectionIsClosed() throws Exception {
+        DataSource dataSource = limited(1, Duration.ofSeconds(10));
+
+        Connection first = dataSource.getConnection();
+        CompletableFuture<Boolean> waiter = CompletableFuture.supplyAsync(() -> {
+            try (Connection second = dataSource.getConnection()) {
+                return second.isValid(1);
+            } catch (Exception e) {
+                throw new IllegalStateException(e);
+            }
+        });
+
+        Thread.sleep(200);
+        assertThat(waiter).isNotDone();
+
+        first.close();
+        first.close();
+        assertThat(waiter.get(5, TimeUnit.SECONDS)).isTrue();
+    }
+
+    @Test
+    void timesOutInsteadOfWaitingForever() throws Exception {
+        DataSource dataSource = limited(1, Duration.ofMillis(100));
+
+        try (Connection ignored = dataSource.getConnection()) {
+            assertThatThrownBy(dataSource::getConnection)
+                    .isInstanceOf(SQLTransientConnectionException.class);
+        }
+        try (Connection connection = dataSource.getConnection()) {
+            assertThat(connection.isValid(1)).isTrue();
+        }
+    }
+
+    private DataSource limited(int permits, Duration timeout) {
+        JdbcDataSource h2 = new JdbcDataSource();
+        h2.setURL("jdbc:h2:mem:limiter;DB_CLOSE_DELAY=-1");
+        ConnectionLimiter limiter = new ConnectionLimiter(true, permits, timeout,
+                new StaticListableBeanFactory().getBeanProvider(MeterRegistry.class));
+        return (DataSource) limiter.postProcessAfterInitialization(h2, "dataSource");
+    }
+}
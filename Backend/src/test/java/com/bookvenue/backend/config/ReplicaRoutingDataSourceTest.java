@@ -0,0 +1,117 @@
+package com.bookvenue.backend.config;
+
+import com.bookvenue.backend.model.Venue;
+import com.bookvenue.backend.repository.VenueRepository;
+import com.bookvenue.backend.service.impl.VenueService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.RequestPostProcessor;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+import static org.hamcrest.Matchers.containsString;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// Its own primary, so bookings made here stay out of the other tests' database
+@SpringBootTest(properties = {
+        "spring.datasource.url=" + ReplicaRoutingDataSourceTest.PRIMARY_URL,
+        "bookvenue.datasource.replica.url=" + ReplicaRoutingDataSourceTest.REPLICA_URL,
+        "bookvenue.datasource.replica.stickiness=1s"
+})
+@AutoConfigureMockMvc
+class ReplicaRoutingDataSourceTest {
+
+    static final String PRIMARY_URL = "jdbc:h2:mem:bookvenue-primary;DB_CLOSE_DELAY=-1;MODE=PostgreSQL";
+
+    static final String REPLICA_URL = "jdbc:h2:mem:bookvenue-replica;DB_CLOSE_DELAY=-1;MODE=PostgreSQL";
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private VenueRepository venueRepository;
+
+    @Autowired
+    private VenueService venueService;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    void readOnlyTransactionsUseTheReplicaUntilTheClientWrites() throws Exception {
+        assertThat(dataSource).isInstanceOf(ReplicaRoutingDataSource.class);
+        copySchemaToReplica();
+
+        Venue venue = venueRepository.save(new Venue("Replica Hall", "Nagpur", 7777, 40.0, "replica-test"));
+        await().atMost(Duration.ofSeconds(10)).untilAsserted(() ->
+                assertThat(venueService.getVenuesByCapacityRange(7777, 7777)).isEmpty());
+
+        try (Connection replica = DriverManager.getConnection(REPLICA_URL, "sa", "");
+             PreparedStatement insert = replica.prepareStatement("INSERT INTO venues (id, name, location, capacity, "
+                     + "price_per_hour, created_by, is_active, unavailable_ranges, slot_version, created_at) "
+                     + "VALUES (?, 'Replica Hall', 'Nagpur', 7777, 40.0, 'replica-test', TRUE, '', 0, NOW())")) {
+            insert.setLong(1, venue.getId());
+            insert.executeUpdate();
+        }
+        assertThat(venueService.getVenuesByCapacityRange(7777, 7777))
+                .extracting(Venue::getId).containsExactly(venue.getId());
+
+        String booking = "{\"venueId\":" + venue.getId() + ",\"userName\":\"Replica User\","
+                + "\"userEmail\":\"replica@example.com\",\"bookingDate\":\"" + LocalDate.now().plusDays(800)
+                + "\",\"hoursBooked\":2}";
+        mockMvc.perform(post("/api/bookings").with(client("10.1.0.1"))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(booking))
+                .andExpect(status().isCreated());
+
+        // The writer reads its booking from the primary; others see the lagging replica
+        mockMvc.perform(get("/api/bookings/venue/" + venue.getId()).with(client("10.1.0.1")))
+                .andExpect(status().isOk())
+                .andExpect(content().string(containsString("Replica User")));
+        mockMvc.perform(get("/api/bookings/venue/" + venue.getId()).with(client("10.1.0.2")))
+                .andExpect(status().isOk())
+                .andExpect(content().json("{\"items\":[]}"));
+    }
+
+    private static RequestPostProcessor client(String address) {
+        return request -> {
+            request.setRemoteAddr(address);
+            return request;
+        };
+    }
+
+    private static void copySchemaToReplica() throws Exception {
+        List<String> ddl = new ArrayList<>();
+        try (Connection primary = DriverManager.getConnection(PRIMARY_URL, "sa", "");
+             Statement statement = primary.createStatement();
+             ResultSet script = statement.executeQuery("SCRIPT NODATA")) {
+            while (script.next()) {
+                ddl.add(script.getString(1));
+            }
+        }
+        try (Connection replica = DriverManager.getConnection(REPLICA_URL, "sa", "");
+             Statement statement = replica.createStatement()) {
+            for (String sql : ddl) {
+                statement.execute(sql);
+            }
+        }
+    }
+}
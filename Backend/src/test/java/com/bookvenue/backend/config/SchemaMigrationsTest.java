@@ -0,0 +1,70 @@
+package com.bookvenue.backend.config;
+
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import javax.sql.DataSource;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class SchemaMigrationsTest {
+
+    @Test
+    void databaseCreatedByDdlAutoMigratesToTheSameSchemaAsAnEmptyOne() throws Exception {
+        DataSource legacy = dataSource("ddl-auto");
+        new ResourceDatabasePopulator(new ClassPathResource("db/ddl-auto-7e8d5b9.sql")).execute(legacy);
+        DataSource fresh = dataSource("empty");
+
+        migrate(legacy);
+        migrate(fresh);
+        migrate(legacy);
+
+        JdbcTemplate legacyJdbc = new JdbcTemplate(legacy);
+        JdbcTemplate freshJdbc = new JdbcTemplate(fresh);
+        assertThat(columns(legacyJdbc)).isNotEmpty().containsAll(columns(freshJdbc));
+        assertThat(namedIndexes(legacyJdbc)).isNotEmpty().containsExactlyInAnyOrderElementsOf(namedIndexes(freshJdbc));
+        assertThat(legacyJdbc.queryForList("SELECT version FROM schema_migrations ORDER BY version", Integer.class))
+                .isEqualTo(freshJdbc.queryForList("SELECT version FROM schema_migrations ORDER BY version",
+                        Integer.class));
+
+        assertThat(legacyJdbc.queryForList("SELECT confirmed_marker FROM bookings ORDER BY id", Boolean.class))
+                .containsExactly(true, null, null);
+        assertThatThrownBy(() -> legacyJdbc.update("INSERT INTO bookings (id, venue_id, user_name, user_email, " +
+                "booking_date, hours_booked, status, total_cost, confirmed_marker) " +
+                "VALUES (NEXT VALUE FOR bookings_seq, 1, 'Late', 'late@example.com', DATE '2025-02-01', 1, " +
+                "'CONFIRMED', 500.0, TRUE)"))
+                .isInstanceOf(DataIntegrityViolationException.class);
+    }
+
+    private static DataSource dataSource(String name) {
+        JdbcDataSource dataSource = new JdbcDataSource();
+        dataSource.setURL("jdbc:h2:mem:migrations-" + name + ";DB_CLOSE_DELAY=-1;MODE=PostgreSQL");
+        dataSource.setUser("sa");
+        return dataSource;
+    }
+
+    private static void migrate(DataSource dataSource) throws Exception {
+        SchemaMigrations migrations = new SchemaMigrations(true);
+        ReflectionTestUtils.setField(migrations, "dataSource", dataSource);
+        migrations.afterPropertiesSet();
+    }
+
+    private static List<Map<String, Object>> columns(JdbcTemplate jdbc) {
+        return jdbc.queryForList("SELECT table_name, column_name, data_type, character_maximum_length, is_nullable " +
+                "FROM information_schema.columns WHERE table_schema = 'PUBLIC'");
+    }
+
+    // Indexes the migrations name; keys and constraints get generated names
+    private static List<String> namedIndexes(JdbcTemplate jdbc) {
+        return jdbc.queryForList("SELECT index_name FROM information_schema.indexes " +
+                "WHERE table_schema = 'PUBLIC' AND (index_name LIKE 'IDX\\_%' OR index_name LIKE 'UK\\_%')", String.class);
+    }
+}
@@ -0,0 +1,127 @@
+package com.bookvenue.backend.controller;
+
+import com.bookvenue.backend.model.Booking;
+import com.bookvenue.backend.model.Venue;
+import com.bookvenue.backend.service.impl.BookingService;
+import com.bookvenue.backend.service.impl.IdempotencyStore;
+import com.bookvenue.backend.service.impl.VenueService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.zip.GZIPInputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class BookingControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private BookingService bookingService;
+
+    @Autowired
+    private VenueService venueService;
+
+    @Test
+    void exportsDateRangeAsCsvAndGzippedNdjson() throws Exception {
+        Venue venue = venueService.createVenue(new Venue("Export Hall, East", "Surat", 20, 50.0, "export-test"));
+        LocalDate from = LocalDate.now().plusDays(700);
+        bookingService.createBooking(booking(venue, from, "=SUM(A1)"));
+        bookingService.createBooking(booking(venue, from.plusDays(1), "Asha \"A\" Rao"));
+        bookingService.createBooking(booking(venue, from.plusDays(5), "Outside Range"));
+
+        MvcResult csv = mockMvc.perform(get("/api/bookings/export")
+                        .param("from", from.toString())
+                        .param("to", from.plusDays(1).toString()))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        String body = mockMvc.perform(asyncDispatch(csv))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CONTENT_TYPE, "text/csv;charset=UTF-8"))
+                .andReturn().getResponse().getContentAsString(StandardCharsets.UTF_8);
+        String[] lines = body.split("\n");
+        assertThat(lines).hasSize(3);
+        assertThat(lines[0]).startsWith("id,bookingDate,");
+        assertThat(lines[1]).contains(",\"Export Hall, East\",Surat,'=SUM(A1),");
+        assertThat(lines[2]).contains(",\"Asha \"\"A\"\" Rao\",");
+
+        MvcResult ndjson = mockMvc.perform(get("/api/bookings/export")
+                        .param("from", from.toString())
+                        .param("to", from.plusDays(30).toString())
+                        .param("format", "ndjson")
+                        .header(HttpHeaders.ACCEPT_ENCODING, "gzip"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        byte[] compressed = mockMvc.perform(asyncDispatch(ndjson))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CONTENT_ENCODING, "gzip"))
+                .andReturn().getResponse().getContentAsByteArray();
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(compressed))) {
+            String[] rows = new String(in.readAllBytes(), StandardCharsets.UTF_8).split("\n");
+            assertThat(rows).hasSize(3);
+            assertThat(rows[2]).startsWith("{").contains("\"userName\":\"Outside Range\"");
+        }
+
+        mockMvc.perform(get("/api/bookings/export")
+                        .param("from", from.toString())
+                        .param("to", from.minusDays(1).toString()))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void retriesWithTheSameIdempotencyKeyReplayTheFirstResponse() throws Exception {
+        Venue venue = venueService.createVenue(new Venue("Retry Hall", "Surat", 20, 50.0, "idempotency-test"));
+        String request = "{\"venueId\":" + venue.getId() + ",\"userName\":\"Retry User\","
+                + "\"userEmail\":\"retry@example.com\",\"bookingDate\":\"" + LocalDate.now().plusDays(760)
+                + "\",\"hoursBooked\":3}";
+
+        String first = mockMvc.perform(post("/api/bookings")
+                        .header(IdempotencyStore.HEADER, "retry-1")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(request))
+                .andExpect(status().isCreated())
+                .andExpect(header().doesNotExist(IdempotencyStore.REPLAYED_HEADER))
+                .andReturn().getResponse().getContentAsString();
+
+        String retry = mockMvc.perform(post("/api/bookings")
+                        .header(IdempotencyStore.HEADER, "retry-1")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(request))
+                .andExpect(status().isCreated())
+                .andExpect(header().string(IdempotencyStore.REPLAYED_HEADER, "true"))
+                .andReturn().getResponse().getContentAsString();
+
+        assertThat(retry).isEqualTo(first);
+        assertThat(bookingService.getVenueBookingsPage(venue.getId(), null, 50).getItems()).hasSize(1);
+
+        mockMvc.perform(post("/api/bookings")
+                        .header(IdempotencyStore.HEADER, "retry-1")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(request.replace("\"hoursBooked\":3", "\"hoursBooked\":4")))
+                .andExpect(status().isUnprocessableEntity());
+    }
+
+    private static Booking booking(Venue venue, LocalDate date, String userName) {
+        Venue reference = new Venue();
+        reference.setId(venue.getId());
+        return new Booking(reference, userName, "export@example.com", date, 2, null);
+    }
+}
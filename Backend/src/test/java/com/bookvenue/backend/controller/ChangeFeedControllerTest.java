@@ -0,0 +1,76 @@
+package com.bookvenue.backend.controller;
+
+import com.bookvenue.backend.model.Booking;
+import com.bookvenue.backend.model.Venue;
+import com.bookvenue.backend.service.impl.BookingService;
+import com.bookvenue.backend.service.impl.ChangeFeed;
+import com.bookvenue.backend.service.impl.VenueService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class ChangeFeedControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ChangeFeed changeFeed;
+
+    @Autowired
+    private VenueService venueService;
+
+    @Autowired
+    private BookingService bookingService;
+
+    @Test
+    void resumesFromLastEventIdThenStreamsNewChanges() throws Exception {
+        Venue venue = venueService.createVenue(new Venue("Feed Hall", "Pune", 40, 250.0, "feed-test"));
+        LocalDate blocked = LocalDate.now().plusDays(600);
+        long lastSeen = changeFeed.getLastSequence();
+        venueService.updateAvailability(venue.getId(), List.of(blocked), null);
+
+        MvcResult result = mockMvc.perform(get("/api/changes")
+                        .param("venueId", venue.getId().toString())
+                        .header("Last-Event-ID", lastSeen))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        await().untilAsserted(() -> assertThat(result.getResponse().getContentAsString())
+                .contains("id:" + (lastSeen + 1))
+                .contains("event:venue.availability")
+                .contains("\"blockedDates\":[\"" + blocked + "\"]"));
+
+        Venue reference = new Venue();
+        reference.setId(venue.getId());
+        bookingService.createBooking(new Booking(reference, "Feed User", "feed@example.com",
+                blocked.plusDays(1), 3, null));
+
+        await().untilAsserted(() -> assertThat(result.getResponse().getContentAsString())
+                .contains("event:booking.created")
+                .contains("\"bookingDate\":\"" + blocked.plusDays(1) + "\""));
+    }
+
+    @Test
+    void unknownLastEventIdGetsReset() throws Exception {
+        MvcResult result = mockMvc.perform(get("/api/changes").header("Last-Event-ID", 42))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        await().untilAsserted(() -> assertThat(result.getResponse().getContentAsString())
+                .contains("event:reset"));
+    }
+}
@@ -0,0 +1,134 @@
+package com.bookvenue.backend.controller;
+
+import com.bookvenue.backend.model.Booking;
+import com.bookvenue.backend.model.Venue;
+import com.bookvenue.backend.service.impl.BookingService;
+import com.bookvenue.backend.service.impl.VenueService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.Base64;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class VenueControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private VenueService venueService;
+
+    @Autowired
+    private BookingService bookingService;
+
+    @Test
+    void conditionalGetReturnsNotModifiedUntilCatalogChanges() throws Exception {
+        Venue venue = venueService.createVenue(new Venue("Etag Hall", "Indore", 60, 400.0, "etag-test"));
+        String path = "/api/venues/" + venue.getId();
+
+        String etag = mockMvc.perform(get(path))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        assertThat(etag).isNotBlank();
+
+        mockMvc.perform(get(path).header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, etag));
+
+        venueService.updateAvailability(venue.getId(), List.of(LocalDate.of(2032, 1, 1)), null);
+
+        mockMvc.perform(get(path).header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isOk())
+                .andExpect(result -> assertThat(result.getResponse().getHeader(HttpHeaders.ETAG)).isNotEqualTo(etag));
+
+        mockMvc.perform(get(path).header(HttpHeaders.IF_NONE_MATCH, "*"))
+                .andExpect(status().isNotModified());
+        mockMvc.perform(get("/api/venues/" + Long.MAX_VALUE).header(HttpHeaders.IF_NONE_MATCH, "*"))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void catalogIsServedGzippedWhenAccepted() throws Exception {
+        venueService.createVenue(new Venue("Gzip Hall", "Indore", 60, 400.0, "etag-test"));
+
+        MockHttpServletResponse gzipped = mockMvc.perform(get("/api/venues")
+                        .header(HttpHeaders.ACCEPT_ENCODING, "gzip, deflate"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CONTENT_ENCODING, "gzip"))
+                .andReturn().getResponse();
+
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(gzipped.getContentAsByteArray()))) {
+            assertThat(new String(in.readAllBytes(), StandardCharsets.UTF_8)).contains("Gzip Hall");
+        }
+
+        // Different bytes, so a different strong tag; either one validates the other
+        String gzipEtag = gzipped.getHeader(HttpHeaders.ETAG);
+        String etag = mockMvc.perform(get("/api/venues"))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        assertThat(gzipEtag).endsWith("-gzip\"").isNotEqualTo(etag);
+        mockMvc.perform(get("/api/venues").header(HttpHeaders.IF_NONE_MATCH, gzipEtag))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, etag));
+    }
+
+    @Test
+    void availabilityMergesBlocksAndBookingsIntoRanges() throws Exception {
+        Venue venue = venueService.createVenue(new Venue("Calendar Hall", "Indore", 60, 400.0, "calendar-test"));
+        LocalDate from = LocalDate.now().plusDays(500);
+        venueService.updateAvailability(venue.getId(), List.of(from, from.plusDays(1), from.plusDays(2)), null);
+        bookingService.createBooking(booking(venue, from.plusDays(9), null));
+        bookingService.createBooking(booking(venue, from.plusDays(5), LocalTime.of(10, 0)));
+
+        mockMvc.perform(get("/api/venues/" + venue.getId() + "/availability")
+                        .param("from", from.toString())
+                        .param("to", from.plusDays(30).toString()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.format").value("ranges"))
+                .andExpect(jsonPath("$.blocked").value("0-2,9"))
+                .andExpect(jsonPath("$.partial").value("5"));
+
+        mockMvc.perform(get("/api/venues/availability")
+                        .param("ids", venue.getId() + ",999999")
+                        .param("from", from.toString())
+                        .param("to", from.plusDays(30).toString())
+                        .param("format", "bitmap"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(1))
+                .andExpect(jsonPath("$[0].blocked").value(Base64.getEncoder().encodeToString(new byte[]{7, 2})));
+
+        mockMvc.perform(get("/api/venues/" + venue.getId() + "/availability")
+                        .param("from", from.toString())
+                        .param("to", from.plusDays(365).toString()))
+                .andExpect(status().isOk());
+        mockMvc.perform(get("/api/venues/" + venue.getId() + "/availability")
+                        .param("from", from.toString())
+                        .param("to", from.plusDays(366).toString()))
+                .andExpect(status().isBadRequest());
+    }
+
+    private static Booking booking(Venue venue, LocalDate date, LocalTime startTime) {
+        Venue reference = new Venue();
+        reference.setId(venue.getId());
+        Booking booking = new Booking(reference, "Cal User", "cal@example.com", date, 2, null);
+        booking.setStartTime(startTime);
+        return booking;
+    }
+}
@@ -0,0 +1,199 @@
+package com.bookvenue.backend.repository;
+
+import com.bookvenue.backend.model.BookingRollup.Scope;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.lang.reflect.Method;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Runs every query method, captures the SQL Hibernate sends and checks H2's plan
+// for it, so a missing or unusable index shows up as a full table or index scan.
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:bookvenue-plans;DB_CLOSE_DELAY=-1;MODE=PostgreSQL",
+        "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+                + "com.bookvenue.backend.repository.RepositoryQueryPlanTest$CapturedSql"
+})
+class RepositoryQueryPlanTest {
+
+    // A table, or an index walked without a condition
+    private static final Pattern FULL_SCAN = Pattern.compile("/\\* PUBLIC\\.[\\w.]+ \\*/");
+
+    // An index used only for the active flag, which nearly every venue has
+    private static final Pattern ACTIVE_ONLY = Pattern.compile("/\\* PUBLIC\\.[\\w.]+: IS_ACTIVE = TRUE \\*/");
+
+    // Read every row, or every active venue, by design
+    private static final Set<String> EXPECTED_FULL_SCANS = Set.of(
+            "BookingRepository.streamAllBookings",
+            "BookingRepository.sumConfirmedByVenue",
+            "BookingRepository.sumConfirmedByDate",
+            // The whole active catalog, loaded into the venue cache and search index
+            "VenueRepository.findByIsActiveTrueOrderByCreatedAtDesc",
+            "VenueRepository.findAllActiveVenues",
+            "VenueRepository.countActiveVenues",
+            // Served by an expression index on Postgres, which H2 lacks
+            "VenueRepository.findByNameIgnoreCase",
+            // A leading-wildcard LIKE no B-tree can serve; location search goes
+            // through the in-memory trigram index (VenueSearchIndex) instead
+            "VenueRepository.findActiveVenuesByLocation");
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private VenueRepository venueRepository;
+
+    @Autowired
+    private BookingRollupRepository rollupRepository;
+
+    @Autowired
+    private IdempotencyRecordRepository idempotencyRecordRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void queryMethodsUseIndexes() {
+        LocalDate today = LocalDate.now();
+        LocalDateTime now = LocalDateTime.now();
+        Map<String, Runnable> calls = new LinkedHashMap<>();
+        calls.put("BookingRepository.findFirstPage", () -> bookingRepository.findFirstPage(PageRequest.of(0, 20)));
+        calls.put("BookingRepository.findPageAfter",
+                () -> bookingRepository.findPageAfter(now, 100L, PageRequest.of(0, 20)));
+        calls.put("BookingRepository.streamAllBookings", () -> drain(bookingRepository.streamAllBookings()));
+        calls.put("BookingRepository.streamBookingsByDateRange",
+                () -> drain(bookingRepository.streamBookingsByDateRange(today, today.plusDays(7))));
+        calls.put("BookingRepository.existsConfirmedBookingByVenueAndDate",
+                () -> bookingRepository.existsConfirmedBookingByVenueAndDate(1L, today));
+        calls.put("BookingRepository.findConfirmedSlots", () -> bookingRepository.findConfirmedSlots(1L, today));
+        calls.put("BookingRepository.findConfirmedVenueDates",
+                () -> bookingRepository.findConfirmedVenueDates(List.of(1L, 2L), List.of(today, today.plusDays(1))));
+        calls.put("BookingRepository.findVenueFirstPage",
+                () -> bookingRepository.findVenueFirstPage(1L, PageRequest.of(0, 20)));
+        calls.put("BookingRepository.findVenuePageAfter",
+                () -> bookingRepository.findVenuePageAfter(1L, now, 100L, PageRequest.of(0, 20)));
+        calls.put("BookingRepository.findUserBookingsFrom",
+                () -> bookingRepository.findUserBookingsFrom("user@example.com", today, 0L, PageRequest.of(0, 20)));
+        calls.put("BookingRepository.findUserBookingsBefore",
+                () -> bookingRepository.findUserBookingsBefore("user@example.com", today, 0L, PageRequest.of(0, 20)));
+        calls.put("BookingRepository.findDateRangePageFrom",
+                () -> bookingRepository.findDateRangePageFrom(today, 0L, today.plusDays(7), PageRequest.of(0, 20)));
+        calls.put("BookingRepository.sumConfirmedByVenue", bookingRepository::sumConfirmedByVenue);
+        calls.put("BookingRepository.sumConfirmedByDate", bookingRepository::sumConfirmedByDate);
+        calls.put("BookingRollupRepository.increment",
+                () -> rollupRepository.increment(Scope.TOTAL, "all", 0, 0, 0, now));
+        calls.put("IdempotencyRecordRepository.deleteExpired", () -> idempotencyRecordRepository.deleteExpired(now));
+        calls.put("IdempotencyRecordRepository.reclaimExpired",
+                () -> idempotencyRecordRepository.reclaimExpired("key", "hash", now, now.plusMinutes(1)));
+        calls.put("IdempotencyRecordRepository.complete",
+                () -> idempotencyRecordRepository.complete("key", 201, null, "{}", now.plusDays(1)));
+        calls.put("IdempotencyRecordRepository.release", () -> idempotencyRecordRepository.release("key"));
+        calls.put("VenueRepository.findByIsActiveTrueOrderByCreatedAtDesc",
+                venueRepository::findByIsActiveTrueOrderByCreatedAtDesc);
+        calls.put("VenueRepository.findByIdForUpdate", () -> venueRepository.findByIdForUpdate(1L));
+        calls.put("VenueRepository.findAllByIdForUpdate", () -> venueRepository.findAllByIdForUpdate(List.of(1L, 2L)));
+        calls.put("VenueRepository.findAllActiveVenues", venueRepository::findAllActiveVenues);
+        calls.put("VenueRepository.findActiveVenuesByLocation", () -> venueRepository.findActiveVenuesByLocation("pune"));
+        calls.put("VenueRepository.findActiveVenuesByCapacityRange",
+                () -> venueRepository.findActiveVenuesByCapacityRange(50, 200));
+        calls.put("VenueRepository.findActiveVenuesByPriceRange",
+                () -> venueRepository.findActiveVenuesByPriceRange(100.0, 5000.0));
+        calls.put("VenueRepository.findByCreatedByOrderByCreatedAtDesc",
+                () -> venueRepository.findByCreatedByOrderByCreatedAtDesc("admin"));
+        calls.put("VenueRepository.findByNameIgnoreCase", () -> venueRepository.findByNameIgnoreCase("Hall"));
+        calls.put("VenueRepository.findNamesByIdIn", () -> venueRepository.findNamesByIdIn(List.of(1L, 2L)));
+        calls.put("VenueRepository.countActiveVenues", venueRepository::countActiveVenues);
+
+        assertThat(calls.keySet()).containsExactlyInAnyOrderElementsOf(declaredQueryMethods());
+
+        List<String> scans = new ArrayList<>();
+        calls.forEach((method, call) -> {
+            List<String> statements = capture(call);
+            assertThat(statements).as(method).isNotEmpty();
+            for (String sql : statements) {
+                String plan = explain(sql);
+                // First page straight off a sorted index
+                boolean topRows = plan.contains("/* index sorted */") && plan.contains("FETCH FIRST");
+                boolean scan = FULL_SCAN.matcher(plan).find() || ACTIVE_ONLY.matcher(plan).find();
+                if (scan && !topRows && !EXPECTED_FULL_SCANS.contains(method)) {
+                    scans.add(method + ": " + plan);
+                }
+            }
+        });
+        assertThat(scans).isEmpty();
+    }
+
+    // Runs in a transaction that is rolled back, so modifying queries change nothing
+    private List<String> capture(Runnable call) {
+        List<String> statements = new ArrayList<>();
+        transactionTemplate.executeWithoutResult(status -> {
+            CapturedSql.STATEMENTS.set(statements);
+            try {
+                call.run();
+            } finally {
+                CapturedSql.STATEMENTS.remove();
+                status.setRollbackOnly();
+            }
+        });
+        return statements;
+    }
+
+    // H2 plans don't depend on the parameter values, so every parameter is NULL
+    private String explain(String sql) {
+        int parameters = (int) sql.chars().filter(c -> c == '?').count();
+        return jdbcTemplate.queryForObject("EXPLAIN " + sql, String.class, new Object[parameters]);
+    }
+
+    private static void drain(Stream<?> stream) {
+        try (stream) {
+            stream.forEach(row -> {
+            });
+        }
+    }
+
+    private static Set<String> declaredQueryMethods() {
+        Set<String> methods = new TreeSet<>();
+        for (Class<?> repository : List.of(BookingRepository.class, BookingRollupRepository.class,
+                IdempotencyRecordRepository.class, VenueRepository.class)) {
+            for (Method method : repository.getDeclaredMethods()) {
+                if (!method.isSynthetic() && !method.isDefault()) {
+                    methods.add(repository.getSimpleName() + "." + method.getName());
+                }
+            }
+        }
+        return methods;
+    }
+
+    public static class CapturedSql implements StatementInspector {
+
+        static final ThreadLocal<List<String>> STATEMENTS = new ThreadLocal<>();
+
+        @Override
+        public String inspect(String sql) {
+            List<String> statements = STATEMENTS.get();
+            if (statements != null) {
+                statements.add(sql);
+            }
+            return sql;
+        }
+    }
+}
@@ -0,0 +1,83 @@
+package com.bookvenue.backend.service.impl;
+
+import com.bookvenue.backend.dto.BookingStats;
+import com.bookvenue.backend.dto.BookingStats.DayTotals;
+import com.bookvenue.backend.dto.BookingStats.VenueTotals;
+import com.bookvenue.backend.model.Booking;
+import com.bookvenue.backend.model.Venue;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.time.LocalDate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+class BookingAggregatesTest {
+
+    private static final int TOP = 3;
+
+    @Autowired
+    private BookingAggregates bookingAggregates;
+
+    @Autowired
+    private BookingService bookingService;
+
+    @Autowired
+    private VenueService venueService;
+
+    @Test
+    void totalsFollowBookingChangesAndSurviveFlushAndRebuild() {
+        BookingStats before = bookingAggregates.getStats(null, null, TOP);
+        Venue venue = venueService.createVenue(new Venue("Stats Hall", "Jaipur", 80, 150000.0, "stats-test"));
+        LocalDate date = LocalDate.now().plusDays(5);
+
+        Booking first = bookingService.createBooking(booking(venue, date, 2));
+        bookingService.createBooking(booking(venue, date.plusDays(1), 4));
+
+        BookingStats stats = bookingAggregates.getStats(null, null, TOP);
+        assertThat(stats.getConfirmedBookings()).isEqualTo(before.getConfirmedBookings() + 2);
+        assertThat(stats.getTotalRevenue()).isEqualTo(before.getTotalRevenue() + 900000.0);
+        assertThat(stats.getActiveVenues()).isEqualTo(before.getActiveVenues() + 1);
+        assertThat(stats.getVenues()).hasSizeLessThanOrEqualTo(TOP);
+        assertThat(venueTotals(stats, venue).getVenueName()).isEqualTo("Stats Hall");
+        assertThat(venueTotals(stats, venue).getHours()).isEqualTo(6);
+
+        bookingAggregates.flush();
+        first.setBookingDate(date.plusDays(2));
+        bookingService.updateBooking(first.getId(), first);
+        assertThat(dayTotals(bookingAggregates.getStats(null, null, TOP), date).getBookings())
+                .isEqualTo(dayTotals(before, date).getBookings());
+
+        bookingService.deleteBooking(first.getId());
+        stats = bookingAggregates.getStats(null, null, TOP);
+        assertThat(stats.getConfirmedBookings()).isEqualTo(before.getConfirmedBookings() + 1);
+        assertThat(venueTotals(stats, venue).getRevenue()).isEqualTo(600000.0);
+
+        bookingAggregates.rebuild();
+        VenueTotals rebuilt = venueTotals(bookingAggregates.getStats(null, null, TOP), venue);
+        assertThat(rebuilt.getBookings()).isEqualTo(1);
+        assertThat(rebuilt.getRevenue()).isEqualTo(600000.0);
+    }
+
+    private static VenueTotals venueTotals(BookingStats stats, Venue venue) {
+        return stats.getVenues().stream()
+                .filter(totals -> totals.getVenueId().equals(venue.getId()))
+                .findFirst()
+                .orElseThrow();
+    }
+
+    private static DayTotals dayTotals(BookingStats stats, LocalDate date) {
+        return stats.getDays().stream()
+                .filter(totals -> totals.getDate().equals(date))
+                .findFirst()
+                .orElseThrow();
+    }
+
+    private static Booking booking(Venue venue, LocalDate date, int hours) {
+        Venue reference = new Venue();
+        reference.setId(venue.getId());
+        return new Booking(reference, "Stats User", "stats@example.com", date, hours, null);
+    }
+}
@@ -0,0 +1,136 @@
+package com.bookvenue.backend.service.impl;
+
+import com.bookvenue.backend.model.Booking;
+import com.bookvenue.backend.model.Venue;
+import com.bookvenue.backend.repository.BookingRepository;
+import com.bookvenue.backend.repository.VenueRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.DataIntegrityViolationException;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest
+class BookingEngineStressTest {
+
+    private static final int VENUES = 4;
+
+    private static final int DATES_PER_ROUND = 5;
+
+    private static final int ATTEMPTS_PER_KEY = 8;
+
+    @Autowired
+    private BookingService bookingService;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private VenueRepository venueRepository;
+
+    @Test
+    void concurrentBookingsNeverDoubleBook() throws Exception {
+        List<Venue> venues = new ArrayList<>();
+        for (int i = 0; i < VENUES; i++) {
+            venues.add(venueRepository.save(new Venue("Stress Hall " + i, "Pune", 100, 1000.0, "stress-test")));
+        }
+
+        LocalDate firstDate = LocalDate.of(2030, 1, 1);
+        int[] threadCounts = {1, 2, 4, 8, 16};
+        for (int round = 0; round < threadCounts.length; round++) {
+            LocalDate roundStart = firstDate.plusDays((long) round * DATES_PER_ROUND);
+            runRound(venues, roundStart, threadCounts[round]);
+        }
+
+        Map<String, Long> confirmedPerKey = bookingRepository.findAll().stream()
+                .filter(b -> b.getStatus() == Booking.BookingStatus.CONFIRMED)
+                .filter(b -> "stress-test".equals(b.getVenue().getCreatedBy()))
+                .collect(Collectors.groupingBy(
+                        b -> b.getVenue().getId() + "@" + b.getBookingDate(), Collectors.counting()));
+
+        assertThat(confirmedPerKey).hasSize(VENUES * DATES_PER_ROUND * threadCounts.length);
+        assertThat(confirmedPerKey.values()).allMatch(count -> count == 1L);
+
+        for (Venue venue : venues) {
+            Venue reloaded = venueRepository.findById(venue.getId()).orElseThrow();
+            assertThat(reloaded.getAvailability().size()).isEqualTo(DATES_PER_ROUND * threadCounts.length);
+        }
+    }
+
+    @Test
+    void databaseRejectsSecondConfirmedBookingForSameVenueAndDate() {
+        Venue venue = venueRepository.save(new Venue("Constraint Hall", "Pune", 50, 500.0, "constraint-test"));
+        LocalDate date = LocalDate.of(2031, 6, 1);
+
+        bookingRepository.saveAndFlush(new Booking(venue, "First", "first@example.com", date, 2, 1000.0));
+
+        assertThatThrownBy(() -> bookingRepository.saveAndFlush(
+                new Booking(venue, "Second", "second@example.com", date, 2, 1000.0)))
+                .isInstanceOf(DataIntegrityViolationException.class);
+    }
+
+    private void runRound(List<Venue> venues, LocalDate roundStart, int threads) throws Exception {
+        List<Runnable> attempts = new ArrayList<>();
+        AtomicInteger confirmed = new AtomicInteger();
+        AtomicInteger rejected = new AtomicInteger();
+
+        for (Venue venue : venues) {
+            for (int day = 0; day < DATES_PER_ROUND; day++) {
+                LocalDate date = roundStart.plusDays(day);
+                for (int attempt = 0; attempt < ATTEMPTS_PER_KEY; attempt++) {
+                    String user = "user" + attempt;
+                    attempts.add(() -> {
+                        Venue ref = new Venue();
+                        ref.setId(venue.getId());
+                        Booking booking = new Booking(ref, user, user + "@example.com", date, 3, null);
+                        try {
+                            bookingService.createBooking(booking);
+                            confirmed.incrementAndGet();
+                        } catch (IllegalArgumentException e) {
+                            rejected.incrementAndGet();
+                        }
+                    });
+                }
+            }
+        }
+
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> futures = new ArrayList<>();
+        for (Runnable attempt : attempts) {
+            futures.add(executor.submit(() -> {
+                start.await();
+                attempt.run();
+                return null;
+            }));
+        }
+
+        long began = System.nanoTime();
+        start.countDown();
+        for (Future<?> future : futures) {
+            future.get();
+        }
+        long elapsedNanos = System.nanoTime() - began;
+        executor.shutdown();
+
+        System.out.printf("threads=%d attempts=%d confirmed=%d rejected=%d throughput=%.0f ops/s%n",
+                threads, attempts.size(), confirmed.get(), rejected.get(),
+                attempts.size() / (elapsedNanos / 1_000_000_000.0));
+
+        assertThat(confirmed.get()).isEqualTo(venues.size() * DATES_PER_ROUND);
+        assertThat(rejected.get()).isEqualTo(attempts.size() - confirmed.get());
+    }
+}
@@ -0,0 +1,93 @@
+package com.bookvenue.backend.service.impl;
+
+import com.bookvenue.backend.dto.BatchBookingResult;
+import com.bookvenue.backend.dto.BookingTicket;
+import com.bookvenue.backend.model.Booking;
+import com.bookvenue.backend.model.Venue;
+import com.bookvenue.backend.repository.VenueRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.awaitility.Awaitility.await;
+
+@SpringBootTest
+class BookingIntakeTest {
+
+    @Autowired
+    private BookingIntake bookingIntake;
+
+    @Autowired
+    private BookingService bookingService;
+
+    @Autowired
+    private VenueRepository venueRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void queuedBookingsAreGroupCommittedOncePerVenueAndDate() {
+        Venue venue = venueRepository.save(new Venue("Intake Hall", "Jaipur", 90, 700.0, "intake-test"));
+        LocalDate firstDate = LocalDate.of(2035, 4, 1);
+
+        // 20 dates, each requested twice: one of each pair must be rejected.
+        List<BookingTicket> tickets = new ArrayList<>();
+        for (int attempt = 0; attempt < 2; attempt++) {
+            for (int day = 0; day < 20; day++) {
+                Venue reference = new Venue();
+                reference.setId(venue.getId());
+                tickets.add(bookingIntake.submit(new Booking(reference, "Intake User", "intake@example.com",
+                        firstDate.plusDays(day), 3, null)));
+            }
+        }
+
+        await().atMost(Duration.ofSeconds(10)).until(() -> tickets.stream()
+                .allMatch(ticket -> ticket.getStatus() != BookingTicket.Status.PENDING));
+
+        assertThat(tickets).filteredOn(ticket -> ticket.getStatus() == BookingTicket.Status.CONFIRMED).hasSize(20);
+        assertThat(tickets).filteredOn(ticket -> ticket.getStatus() == BookingTicket.Status.REJECTED)
+                .allSatisfy(ticket -> assertThat(ticket.getError()).isEqualTo("Venue is already booked on this date"))
+                .hasSize(20);
+        assertThat(bookingIntake.getTicket(tickets.get(0).getId())).containsSame(tickets.get(0));
+        assertThat(venueRepository.findById(venue.getId()).orElseThrow().getAvailability().size()).isEqualTo(20);
+    }
+
+    @Test
+    void bookingRejectedByTheDatabaseOnlyFailsItself() {
+        Venue venue = venueRepository.save(new Venue("Bisect Hall", "Jaipur", 90, 700.0, "intake-test"));
+        LocalDate firstDate = LocalDate.of(2036, 4, 1);
+        List<Booking> bookings = new ArrayList<>();
+        for (int day = 0; day < 12; day++) {
+            Venue reference = new Venue();
+            reference.setId(venue.getId());
+            String userName = day == 5 ? "Rejected By Database" : day == 9 ? "x".repeat(256) : "Bisect User";
+            bookings.add(new Booking(reference, userName, "bisect@example.com", firstDate.plusDays(day), 3, null));
+        }
+
+        // Stands in for a constraint another instance hits first
+        jdbcTemplate.execute("ALTER TABLE bookings ADD CONSTRAINT chk_bisect CHECK (user_name <> 'Rejected By Database')");
+        BatchBookingResult result;
+        try {
+            result = bookingService.createBookings(bookings);
+        } finally {
+            jdbcTemplate.execute("ALTER TABLE bookings DROP CONSTRAINT chk_bisect");
+        }
+
+        assertThat(result.getSucceeded()).isEqualTo(10);
+        assertThat(result.getResults()).filteredOn(item -> !item.isSuccess())
+                .extracting(BatchBookingResult.Item::getIndex, BatchBookingResult.Item::getError)
+                .containsExactlyInAnyOrder(
+                        tuple(5, "Booking could not be saved"),
+                        tuple(9, "User name and email must be at most 255 characters"));
+        assertThat(venueRepository.findById(venue.getId()).orElseThrow().getAvailability().size()).isEqualTo(10);
+    }
+}
@@ -0,0 +1,62 @@
+package com.bookvenue.backend.service.impl;
+
+import com.bookvenue.backend.model.Booking;
+import com.bookvenue.backend.model.Venue;
+import com.bookvenue.backend.repository.VenueRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.time.LocalDate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest
+class BookingMetricsTest {
+
+    @Autowired
+    private BookingService bookingService;
+
+    @Autowired
+    private VenueRepository venueRepository;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Test
+    void recordsStagesAndRejectionReasons() {
+        Venue venue = venueRepository.save(new Venue("Metrics Hall", "Bhopal", 40, 200.0, "metrics-test"));
+        LocalDate date = LocalDate.of(2034, 2, 2);
+
+        long saves = stageCount("save");
+        long blockedDates = rejections("date_blocked");
+        long missingVenues = rejections("venue_not_found");
+
+        bookingService.createBooking(new Booking(venue, "Metrics User", "metrics@example.com", date, 1, null));
+        assertThatThrownBy(() -> bookingService.createBooking(
+                new Booking(venue, "Metrics User", "metrics@example.com", date, 1, null)))
+                .isInstanceOf(IllegalArgumentException.class);
+
+        Venue missing = new Venue();
+        missing.setId(-1L);
+        assertThatThrownBy(() -> bookingService.createBooking(
+                new Booking(missing, "Metrics User", "metrics@example.com", date, 1, null)))
+                .isInstanceOf(IllegalArgumentException.class);
+
+        assertThat(stageCount("save")).isEqualTo(saves + 1);
+        assertThat(rejections("date_blocked")).isEqualTo(blockedDates + 1);
+        assertThat(rejections("venue_not_found")).isEqualTo(missingVenues + 1);
+        assertThat(meterRegistry.get("bookvenue.booking.create").tag("outcome", "rejected").timer().count())
+                .isGreaterThanOrEqualTo(2);
+    }
+
+    private long stageCount(String stage) {
+        return meterRegistry.get("bookvenue.booking.stage").tag("stage", stage).timer().count();
+    }
+
+    private long rejections(String reason) {
+        return (long) meterRegistry.get("bookvenue.booking.rejected").tag("reason", reason).counter().count();
+    }
+}
@@ -0,0 +1,140 @@
+package com.bookvenue.backend.service.impl;
+
+import com.bookvenue.backend.dto.BookingPage;
+import com.bookvenue.backend.dto.BookingSummary;
+import com.bookvenue.backend.dto.UserBookingSummary;
+import com.bookvenue.backend.model.Booking;
+import com.bookvenue.backend.model.Venue;
+import com.bookvenue.backend.repository.BookingRepository;
+import com.bookvenue.backend.repository.VenueRepository;
+import com.bookvenue.backend.service.impl.BookingService.Period;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest
+class BookingSummaryQueryTest {
+
+    @Autowired
+    private BookingService bookingService;
+
+    @Autowired
+    private VenueService venueService;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private VenueRepository venueRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Test
+    void listEndpointsRunOneQueryWithoutLoadingEntities() {
+        LocalDate firstDate = LocalDate.of(2033, 6, 1);
+        Venue venue = null;
+        for (int i = 0; i < 3; i++) {
+            venue = venueRepository.save(new Venue("Summary Hall " + i, "Surat", 50, 300.0, "summary-test"));
+            bookingService.createBooking(new Booking(venue, "Summary User", "summary@example.com",
+                    firstDate.plusDays(i), 2, null));
+        }
+
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.setStatisticsEnabled(true);
+        try {
+            statistics.clear();
+            List<BookingSummary> recent = bookingService.getRecentBookings();
+            List<BookingSummary> forVenue = bookingService.getVenueBookingsPage(venue.getId(), null, 50).getItems();
+            BookingPage<BookingSummary> firstPage = bookingService.getBookingsBetweenPage(firstDate,
+                    firstDate.plusDays(2), null, 2);
+
+            assertThat(statistics.getPrepareStatementCount()).isEqualTo(3);
+            assertThat(statistics.getEntityLoadCount()).isZero();
+
+            assertThat(recent).isNotEmpty();
+            assertThat(forVenue).singleElement()
+                    .satisfies(booking -> assertThat(booking.getVenue().getName()).isEqualTo("Summary Hall 2"));
+            assertThat(firstPage.getItems()).extracting(BookingSummary::getBookingDate)
+                    .containsExactly(firstDate, firstDate.plusDays(1));
+            assertThat(bookingService.getBookingsBetweenPage(firstDate, firstDate.plusDays(2),
+                    firstPage.getNextCursor(), 2).getItems())
+                    .extracting(BookingSummary::getBookingDate)
+                    .containsExactly(firstDate.plusDays(2));
+            assertThatThrownBy(() -> bookingService.getBookingsBetweenPage(firstDate, firstDate.plusDays(366),
+                    null, 50))
+                    .isInstanceOf(IllegalArgumentException.class);
+        } finally {
+            statistics.setStatisticsEnabled(false);
+        }
+    }
+
+    @Test
+    void userBookingsArePagedByDateWithVenueNamesFromTheCache() {
+        String email = "history@example.com";
+        LocalDate today = LocalDate.now();
+        Venue current = venueService.createVenue(new Venue("History Hall", "Surat", 50, 300.0, "summary-test"));
+        Venue closed = new Venue("Closed Hall", "Surat", 50, 300.0, "summary-test");
+        closed.setIsActive(false);
+        closed = venueRepository.save(closed);
+        for (int offset = 0; offset < 4; offset++) {
+            bookingRepository.save(new Booking(current, "History User", email, today.plusDays(offset), 2, 600.0));
+        }
+        for (int offset = 1; offset < 4; offset++) {
+            bookingRepository.save(new Booking(closed, "History User", email, today.minusDays(offset), 2, 600.0));
+        }
+        bookingRepository.save(new Booking(current, "Someone Else", "other@example.com", today.plusDays(4), 2, 600.0));
+
+        // Browsing the venue caches it; the history only reads what is cached
+        venueService.getVenueById(current.getId());
+        BookingPage<UserBookingSummary> upcoming = bookingService.getUserBookingsPage(email, Period.UPCOMING, null, 3);
+        assertThat(upcoming.getItems()).extracting(UserBookingSummary::getBookingDate)
+                .containsExactly(today, today.plusDays(1), today.plusDays(2));
+        assertThat(upcoming.getItems()).allSatisfy(booking ->
+                assertThat(booking.getVenue().getName()).isEqualTo("History Hall"));
+
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.setStatisticsEnabled(true);
+        try {
+            statistics.clear();
+            BookingPage<UserBookingSummary> rest = bookingService.getUserBookingsPage(email, Period.UPCOMING,
+                    upcoming.getNextCursor(), 3);
+            assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+            assertThat(statistics.getEntityLoadCount()).isZero();
+            assertThat(rest.getItems()).extracting(UserBookingSummary::getBookingDate)
+                    .containsExactly(today.plusDays(3));
+            assertThat(rest.getNextCursor()).isNull();
+        } finally {
+            statistics.setStatisticsEnabled(false);
+        }
+
+        // The inactive venue is never cached: its name costs one more query, not one per venue
+        statistics.setStatisticsEnabled(true);
+        BookingPage<UserBookingSummary> past;
+        try {
+            statistics.clear();
+            past = bookingService.getUserBookingsPage(email, Period.PAST, null, 2);
+            assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+        } finally {
+            statistics.setStatisticsEnabled(false);
+        }
+        assertThat(past.getItems()).extracting(UserBookingSummary::getBookingDate)
+                .containsExactly(today.minusDays(1), today.minusDays(2));
+        assertThat(past.getItems()).allSatisfy(booking ->
+                assertThat(booking.getVenue().getName()).isEqualTo("Closed Hall"));
+        BookingPage<UserBookingSummary> older = bookingService.getUserBookingsPage(email, Period.PAST,
+                past.getNextCursor(), 2);
+        assertThat(older.getItems()).extracting(UserBookingSummary::getBookingDate)
+                .containsExactly(today.minusDays(3));
+        assertThat(older.getNextCursor()).isNull();
+    }
+}
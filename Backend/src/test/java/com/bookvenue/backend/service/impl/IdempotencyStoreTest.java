@@ -0,0 +1,77 @@
+package com.bookvenue.backend.service.impl;
+
+import com.bookvenue.backend.model.IdempotencyRecord;
+import com.bookvenue.backend.repository.IdempotencyRecordRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+class IdempotencyStoreTest {
+
+    @Autowired
+    private IdempotencyStore idempotencyStore;
+
+    @Autowired
+    private IdempotencyRecordRepository repository;
+
+    @Test
+    void aKeyClaimedElsewhereIsNotRunAgain() {
+        LocalDateTime now = LocalDateTime.now();
+        repository.saveAndFlush(new IdempotencyRecord("claimed-elsewhere", "other-instance", null, null, null,
+                now, now.plusMinutes(1)));
+        AtomicInteger runs = new AtomicInteger();
+
+        ResponseEntity<?> response = idempotencyStore.execute("claimed-elsewhere", Map.of("n", 1), () -> {
+            runs.incrementAndGet();
+            return ResponseEntity.ok(Map.of());
+        });
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.CONFLICT);
+        assertThat(runs).hasValue(0);
+    }
+
+    @Test
+    void aRetryWhileTheFirstRequestRunsGetsConflict() {
+        Map<String, Integer> request = Map.of("n", 2);
+
+        ResponseEntity<?> response = idempotencyStore.execute("running", request, () -> {
+            ResponseEntity<?> retry = idempotencyStore.execute("running", request,
+                    () -> ResponseEntity.ok(Map.of("ran", "twice")));
+            assertThat(retry.getStatusCode()).isEqualTo(HttpStatus.CONFLICT);
+            return ResponseEntity.status(HttpStatus.CREATED).body(Map.of("ran", "once"));
+        });
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.CREATED);
+        assertThat(repository.findById("running")).get()
+                .satisfies(record -> assertThat(record.getStatusCode()).isEqualTo(201))
+                .satisfies(record -> assertThat(record.getResponseBody()).isEqualTo("{\"ran\":\"once\"}"));
+    }
+
+    @Test
+    void expiredClaimsAndServerErrorsLeaveTheKeyFree() {
+        LocalDateTime past = LocalDateTime.now().minusMinutes(5);
+        repository.saveAndFlush(new IdempotencyRecord("crashed", "other-instance", null, null, null,
+                past, past.plusMinutes(1)));
+        Map<String, Integer> request = Map.of("n", 3);
+
+        ResponseEntity<?> failed = idempotencyStore.execute("crashed", request,
+                () -> ResponseEntity.internalServerError().body(Map.of()));
+        assertThat(failed.getStatusCode()).isEqualTo(HttpStatus.INTERNAL_SERVER_ERROR);
+        assertThat(repository.findById("crashed")).isEmpty();
+
+        ResponseEntity<?> retried = idempotencyStore.execute("crashed", request,
+                () -> ResponseEntity.ok(Map.of("ran", "again")));
+        assertThat(retried.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(repository.findById("crashed")).get()
+                .satisfies(record -> assertThat(record.isPending()).isFalse());
+    }
+}
@@ -0,0 +1,96 @@
+package com.bookvenue.backend.service.impl;
+
+import com.bookvenue.backend.dto.TimeSlot;
+import com.bookvenue.backend.model.Booking;
+import com.bookvenue.backend.model.Venue;
+import com.bookvenue.backend.repository.BookingRepository;
+import com.bookvenue.backend.repository.VenueRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.groups.Tuple.tuple;
+
+@SpringBootTest
+class SlotBookingTest {
+
+    @Autowired
+    private BookingService bookingService;
+
+    @Autowired
+    private VenueService venueService;
+
+    @Autowired
+    private VenueRepository venueRepository;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void slotsOnTheSameDayMustNotOverlap() {
+        Venue venue = venueRepository.save(new Venue("Slot Hall", "Kochi", 30, 100.0, "slot-test"));
+        LocalDate date = LocalDate.now().plusDays(400);
+
+        bookingService.createBooking(slot(venue, date, "10:00", 2));
+        bookingService.createBooking(slot(venue, date, "12:00", 2));
+
+        assertThatThrownBy(() -> bookingService.createBooking(slot(venue, date, "11:00", 1)))
+                .hasMessage("Venue is already booked for the selected time");
+        assertThatThrownBy(() -> bookingService.createBooking(slot(venue, date, "09:00", 2)))
+                .hasMessage("Venue is already booked for the selected time");
+        assertThatThrownBy(() -> bookingService.createBooking(slot(venue, date, null, 1)))
+                .hasMessage("Venue is already booked on this date");
+        assertThatThrownBy(() -> bookingService.createBooking(slot(venue, date, "22:00", 2)))
+                .isInstanceOf(IllegalArgumentException.class);
+
+        List<TimeSlot> free = venueService.getFreeSlots(venue.getId(), date, date, 1).orElseThrow();
+        assertThat(free).extracting(TimeSlot::getStart, TimeSlot::getEnd)
+                .containsExactly(
+                        tuple(LocalTime.of(6, 0), LocalTime.of(10, 0)),
+                        tuple(LocalTime.of(14, 0), LocalTime.of(23, 0)));
+        assertThat(venueRepository.findById(venue.getId()).orElseThrow().isAvailableOn(date)).isTrue();
+    }
+
+    @Test
+    void wholeDayModeBlocksSlotsAndIndexReloadsOnForeignBookings() {
+        Venue venue = venueRepository.save(new Venue("Mixed Hall", "Kochi", 30, 100.0, "slot-test"));
+        LocalDate wholeDay = LocalDate.now().plusDays(410);
+        LocalDate slotDay = wholeDay.plusDays(1);
+
+        bookingService.createBooking(slot(venue, wholeDay, null, 8));
+        assertThatThrownBy(() -> bookingService.createBooking(slot(venue, wholeDay, "08:00", 1)))
+                .hasMessage("Venue is not available on the selected date");
+        assertThat(venueService.getFreeSlots(venue.getId(), wholeDay, wholeDay, 1).orElseThrow()).isEmpty();
+
+        bookingService.createBooking(slot(venue, slotDay, "08:00", 1));
+
+        // Another instance books 15:00-17:00 without going through this index.
+        Venue stored = venueRepository.findById(venue.getId()).orElseThrow();
+        Booking foreign = slot(stored, slotDay, "15:00", 2);
+        foreign.setTotalCost(200.0);
+        bookingRepository.save(foreign);
+        jdbcTemplate.update("UPDATE venues SET slot_version = slot_version + 1 WHERE id = ?", venue.getId());
+
+        assertThatThrownBy(() -> bookingService.createBooking(slot(venue, slotDay, "16:00", 1)))
+                .hasMessage("Venue is already booked for the selected time");
+        bookingService.createBooking(slot(venue, slotDay, "17:00", 1));
+    }
+
+    private static Booking slot(Venue venue, LocalDate date, String start, int hours) {
+        Venue reference = new Venue();
+        reference.setId(venue.getId());
+        Booking booking = new Booking(reference, "Slot User", "slot@example.com", date, hours, null);
+        booking.setStartTime(start == null ? null : LocalTime.parse(start));
+        return booking;
+    }
+}
@@ -0,0 +1,80 @@
+package com.bookvenue.backend.service.impl;
+
+import com.bookvenue.backend.event.VenueChangedEvent;
+import com.bookvenue.backend.event.VenueChangedEvent.ChangeType;
+import com.bookvenue.backend.model.Booking;
+import com.bookvenue.backend.model.Venue;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+class VenueCacheTest {
+
+    @Autowired
+    private VenueService venueService;
+
+    @Autowired
+    private BookingService bookingService;
+
+    @Autowired
+    private VenueCache venueCache;
+
+    @Test
+    void bookingEvictsCachedCalendar() {
+        Venue venue = venueService.createVenue(new Venue("Cache Hall", "Nagpur", 80, 500.0, "cache-test"));
+        LocalDate date = LocalDate.of(2031, 3, 14);
+
+        assertThat(venueService.getVenueById(venue.getId())).get()
+                .satisfies(cached -> assertThat(cached.isAvailableOn(date)).isTrue());
+        assertThat(venueService.getAllVenues()).extracting(Venue::getId).contains(venue.getId());
+
+        bookingService.createBooking(new Booking(venue, "Cache User", "cache@example.com", date, 2, null));
+
+        assertThat(venueService.getVenueById(venue.getId())).get()
+                .satisfies(cached -> assertThat(cached.isAvailableOn(date)).isFalse());
+        assertThat(venueService.getAllVenues())
+                .filteredOn(cached -> cached.getId().equals(venue.getId()))
+                .singleElement()
+                .satisfies(cached -> assertThat(cached.isAvailableOn(date)).isFalse());
+    }
+
+    @Test
+    void updateAndDeleteEvictCachedVenue() {
+        Venue venue = venueService.createVenue(new Venue("Evict Hall", "Nagpur", 80, 500.0, "cache-test"));
+        venueService.getVenueById(venue.getId());
+
+        Venue changes = new Venue("Evict Hall Renamed", "Nagpur", 120, 650.0, "cache-test");
+        venueService.updateVenue(venue.getId(), changes);
+        assertThat(venueService.getVenueById(venue.getId())).get()
+                .extracting(Venue::getName).isEqualTo("Evict Hall Renamed");
+
+        venueService.updateAvailability(venue.getId(), List.of(LocalDate.of(2031, 5, 1)), null);
+        assertThat(venueService.getVenueById(venue.getId())).get()
+                .satisfies(cached -> assertThat(cached.isAvailableOn(LocalDate.of(2031, 5, 1))).isFalse());
+
+        venueService.deleteVenue(venue.getId());
+        assertThat(venueService.getVenueById(venue.getId())).isEmpty();
+        assertThat(venueService.getAllVenues()).extracting(Venue::getId).doesNotContain(venue.getId());
+    }
+
+    @Test
+    void loadOverlappingAChangeIsNotCached() {
+        Venue venue = venueService.createVenue(new Venue("Overlap Hall", "Nagpur", 80, 500.0, "cache-test"));
+        Venue stale = venue.copy();
+
+        Optional<Venue> loaded = venueCache.getVenue(venue.getId(), id -> {
+            venueCache.onVenueChanged(new VenueChangedEvent(venue, ChangeType.DATE_BOOKED));
+            return Optional.of(stale);
+        });
+
+        assertThat(loaded).containsSame(stale);
+        assertThat(venueCache.getVenue(venue.getId(), id -> Optional.of(venue))).containsSame(venue);
+    }
+}
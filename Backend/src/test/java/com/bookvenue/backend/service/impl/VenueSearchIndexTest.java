@@ -0,0 +1,73 @@
+package com.bookvenue.backend.service.impl;
+
+import com.bookvenue.backend.model.Venue;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+
+@SpringBootTest
+class VenueSearchIndexTest {
+
+    @Autowired
+    private VenueService venueService;
+
+    @Autowired
+    private VenueSearchIndex venueSearchIndex;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void structuralChangesReachTheIndexInTheBackground() {
+        venueService.searchVenues("Indore", null, null, null, null, null, null);
+
+        List<Venue> venues = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            venues.add(venueService.createVenue(new Venue("Index Hall " + i, "Indore", 40 + i, 200.0, "index-test")));
+        }
+        await().atMost(Duration.ofSeconds(10)).untilAsserted(() ->
+                assertThat(venueService.searchVenues("Indore", "Index Hall", null, null, null, null, null))
+                        .hasSize(20));
+
+        Venue renamed = venues.get(0);
+        venueService.updateVenue(renamed.getId(), new Venue("Renamed Index Hall", "Indore", 40, 200.0, "index-test"));
+        venueService.deleteVenue(venues.get(1).getId());
+        LocalDate blocked = LocalDate.of(2032, 2, 2);
+        venueService.updateAvailability(renamed.getId(), List.of(blocked), null);
+
+        await().atMost(Duration.ofSeconds(10)).untilAsserted(() -> {
+            assertThat(venueService.searchVenues("Indore", "Index Hall", null, null, null, null, null))
+                    .hasSize(19);
+            assertThat(venueService.searchVenues("Indore", "Renamed", null, null, null, null, null))
+                    .singleElement()
+                    .satisfies(venue -> assertThat(venue.isAvailableOn(blocked)).isFalse());
+        });
+    }
+
+    @Test
+    void reloadPicksUpChangesMadeByOtherInstances() {
+        Venue venue = venueService.createVenue(new Venue("Remote Hall", "Nagpur", 60, 300.0, "index-test"));
+        await().atMost(Duration.ofSeconds(10)).untilAsserted(() ->
+                assertThat(venueService.searchVenues("Nagpur", "Remote Hall", null, null, null, null, null))
+                        .hasSize(1));
+
+        // Written behind this instance's back, so no change event reaches the index
+        jdbcTemplate.update("UPDATE venues SET name = ? WHERE id = ?", "Elsewhere Hall", venue.getId());
+        assertThat(venueService.searchVenues("Nagpur", "Elsewhere Hall", null, null, null, null, null)).isEmpty();
+
+        venueSearchIndex.reload();
+        await().atMost(Duration.ofSeconds(10)).untilAsserted(() ->
+                assertThat(venueService.searchVenues("Nagpur", "Elsewhere Hall", null, null, null, null, null))
+                        .singleElement()
+                        .satisfies(found -> assertThat(found.getId()).isEqualTo(venue.getId())));
+    }
+}
@@ -0,0 +1,48 @@
+-- Schema spring.jpa.hibernate.ddl-auto=update created for the entities at
+-- commit 7e8d5b9, before versioned migrations, with a few rows in it.
+
+CREATE TABLE venues (
+    is_active      BOOLEAN NOT NULL,
+    capacity       INTEGER NOT NULL,
+    price_per_hour FLOAT(53) NOT NULL,
+    created_at     TIMESTAMP(6),
+    id             BIGINT GENERATED BY DEFAULT AS IDENTITY,
+    updated_at     TIMESTAMP(6),
+    name           VARCHAR(100) NOT NULL,
+    created_by     VARCHAR(255) NOT NULL,
+    location       VARCHAR(255) NOT NULL,
+    PRIMARY KEY (id)
+);
+
+CREATE TABLE venue_unavailable_dates (
+    unavailable_date DATE,
+    venue_id         BIGINT NOT NULL
+);
+
+CREATE TABLE bookings (
+    booking_date DATE NOT NULL,
+    hours_booked INTEGER NOT NULL,
+    total_cost   FLOAT(53) NOT NULL,
+    created_at   TIMESTAMP(6),
+    id           BIGINT GENERATED BY DEFAULT AS IDENTITY,
+    venue_id     BIGINT NOT NULL,
+    status       VARCHAR(255) CHECK (status IN ('CONFIRMED', 'CANCELLED')),
+    user_email   VARCHAR(255) NOT NULL,
+    user_name    VARCHAR(255) NOT NULL,
+    PRIMARY KEY (id)
+);
+
+ALTER TABLE IF EXISTS bookings
+    ADD CONSTRAINT FKe3kc4bm2ppyx7tvcc5t7jcfsc FOREIGN KEY (venue_id) REFERENCES venues;
+ALTER TABLE IF EXISTS venue_unavailable_dates
+    ADD CONSTRAINT FK3gvtx5kr6f2mwdt1ot1g5qf7g FOREIGN KEY (venue_id) REFERENCES venues;
+
+INSERT INTO venues (is_active, capacity, price_per_hour, created_at, updated_at, name, created_by, location)
+VALUES (TRUE, 100, 500.0, TIMESTAMP '2025-01-01 10:00:00', TIMESTAMP '2025-01-01 10:00:00',
+        'Old Hall', 'admin', 'Pune');
+INSERT INTO venue_unavailable_dates (unavailable_date, venue_id) VALUES (DATE '2025-03-01', 1);
+
+INSERT INTO bookings (booking_date, hours_booked, total_cost, created_at, venue_id, status, user_email, user_name)
+VALUES (DATE '2025-02-01', 4, 2000.0, TIMESTAMP '2025-01-10 09:00:00', 1, 'CONFIRMED', 'first@example.com', 'First'),
+       (DATE '2025-02-01', 2, 1000.0, TIMESTAMP '2025-01-10 09:00:01', 1, 'CONFIRMED', 'double@example.com', 'Double'),
+       (DATE '2025-02-02', 3, 1500.0, TIMESTAMP '2025-01-11 09:00:00', 1, 'CANCELLED', 'gone@example.com', 'Gone');
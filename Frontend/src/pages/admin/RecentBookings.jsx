@@ -1,5 +1,8 @@
 import { useQuery } from "@tanstack/react-query";
-import { getRecentBookings } from "../../services/bookingService";
+import {
+  getRecentBookings,
+  getBookingStats,
+} from "../../services/bookingService";
 import {
   Calendar,
   Clock,
@@ -27,6 +30,13 @@ export default function RecentBookings() {
     refetchInterval: 5 * 60 * 1000, // Auto-refresh every 5 minutes for real-time data
   });
 
+  // All-time totals maintained server-side; the list above only has the latest bookings
+  const { data: stats } = useQuery({
+    queryKey: ["bookingStats"],
+    queryFn: () => getBookingStats(),
+    staleTime: 60 * 1000,
+  });
+
   // Handle both array and object responses from different API structures
   const bookingList = Array.isArray(bookings) ? bookings : bookings?.data || [];
 
@@ -102,18 +112,16 @@ export default function RecentBookings() {
     );
   }
 
-  // Calculate dynamic stats from booking data
-  const confirmedBookings = bookingList.filter(
-    (b) => b.status === "CONFIRMED",
-  ).length;
-  const totalRevenue = bookingList.reduce(
-    (sum, booking) => sum + (booking.totalCost || 0),
-    0,
-  );
-  const totalHours = bookingList.reduce(
-    (sum, booking) => sum + (booking.hoursBooked || 0),
-    0,
-  );
+  // Totals from the stats endpoint, falling back to the loaded bookings
+  const confirmedBookings =
+    stats?.confirmedBookings ??
+    bookingList.filter((b) => b.status === "CONFIRMED").length;
+  const totalRevenue =
+    stats?.totalRevenue ??
+    bookingList.reduce((sum, booking) => sum + (booking.totalCost || 0), 0);
+  const totalHours =
+    stats?.totalHours ??
+    bookingList.reduce((sum, booking) => sum + (booking.hoursBooked || 0), 0);
 
   return (
     <div className="max-w-7xl mx-auto px-4 py-8 min-h-[80vh]">
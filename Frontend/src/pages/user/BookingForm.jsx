@@ -1,7 +1,12 @@
 import { useMutation, useQuery } from "@tanstack/react-query";
 import { createBooking } from "../../services/bookingService";
 import { useParams, useNavigate } from "react-router-dom";
-import { getVenueById } from "../../services/venueService";
+import {
+  getVenueById,
+  getVenueAvailability,
+  decodeDayRanges,
+  dayOffset,
+} from "../../services/venueService";
 import { useState } from "react";
 import {
   User,
@@ -58,6 +63,21 @@ export default function BookingForm() {
     enabled: !!venueId, // Only run query if venueId exists
   });
 
+  // ===== AVAILABILITY CALENDAR =====
+  // Blocked days for the bookable window (today to one year ahead), as compact ranges
+  const today = new Date().toISOString().split("T")[0];
+  const lastDay = new Date(Date.now() + 365 * 24 * 60 * 60 * 1000)
+    .toISOString()
+    .split("T")[0];
+  const { data: availability } = useQuery({
+    queryKey: ["venueAvailability", venueId, today],
+    queryFn: () => getVenueAvailability(venueId, today, lastDay),
+    enabled: !!venueId,
+  });
+  const blockedDays = decodeDayRanges(availability?.data?.blocked);
+  const dateUnavailable =
+    !!form.bookingDate && blockedDays.has(dayOffset(today, form.bookingDate));
+
   // ===== FORM HANDLERS =====
   // Handle form input changes with controlled components
   const handleChange = (e) => {
@@ -278,12 +298,8 @@ export default function BookingForm() {
                             id="bookingDate"
                             name="bookingDate"
                             type="date"
-                            min={new Date().toISOString().split("T")[0]} // Prevent past dates
-                            max={
-                              new Date(Date.now() + 365 * 24 * 60 * 60 * 1000)
-                                .toISOString()
-                                .split("T")[0]
-                            } // Max 1 year ahead
+                            min={today} // Prevent past dates
+                            max={lastDay} // Max 1 year ahead
                             className="w-full pl-10 pr-3 py-3 border border-slate-300 rounded-lg focus:outline-none focus:ring-2 focus:ring-blue-600 focus:border-blue-600 transition-colors"
                             value={form.bookingDate}
                             onChange={handleChange}
@@ -291,6 +307,11 @@ export default function BookingForm() {
                           />
                           <CalendarDays className="absolute left-3 top-3.5 w-4 h-4 text-slate-500" />
                         </div>
+                        {dateUnavailable && (
+                          <p className="text-red-600 text-sm mt-1">
+                            This venue is not available on the selected date.
+                          </p>
+                        )}
                       </div>
 
                       {/* Duration Field */}
@@ -347,7 +368,8 @@ export default function BookingForm() {
                       mutation.isLoading ||
                       !form.userName.trim() ||
                       !form.userEmail.trim() ||
-                      !form.bookingDate
+                      !form.bookingDate ||
+                      dateUnavailable
                     }
                     className="w-full flex items-center justify-center gap-2 bg-blue-600 hover:bg-blue-700 text-white font-semibold py-3 px-6 rounded-lg shadow-sm hover:shadow-md transition-all duration-200 disabled:opacity-50 disabled:cursor-not-allowed"
                     aria-label="Submit booking form"
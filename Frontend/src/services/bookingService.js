@@ -10,3 +10,7 @@ export const createBooking = (bookingData) => {
 // ← FIX: Get recent bookings - Spring Boot returns array directly
 export const getRecentBookings = () =>
   apiClient.get("/bookings/recent").then((res) => res.data); // Spring Boot returns array directly, not nested in 'data'
+
+// Get booking/revenue totals kept by the server (Admin)
+export const getBookingStats = (from, to) =>
+  apiClient.get("/admin/stats", { params: { from, to } }).then((res) => res.data);
@@ -12,3 +12,28 @@ export const getVenueById = (id) => apiClient.get(`/venues/${id}`);
 // Update venue availability (Admin)
 export const updateVenueAvailability = (id, availabilityData) =>
   apiClient.put(`/venues/${id}/availability`, availabilityData);
+
+// Get a venue's compact calendar between two ISO dates (format: "ranges" | "bitmap")
+export const getVenueAvailability = (id, from, to, format = "ranges") =>
+  apiClient.get(`/venues/${id}/availability`, { params: { from, to, format } });
+
+// Get calendars for several venues in one request
+export const getVenuesAvailability = (ids, from, to, format = "ranges") =>
+  apiClient.get("/venues/availability", {
+    params: { ids: ids.join(","), from, to, format },
+  });
+
+// Expand run-length day offsets ("0-2,9") into a Set of offsets from `from`
+export const decodeDayRanges = (encoded) => {
+  const days = new Set();
+  if (!encoded) return days;
+  for (const range of encoded.split(",")) {
+    const [start, end = start] = range.split("-").map(Number);
+    for (let day = start; day <= end; day++) days.add(day);
+  }
+  return days;
+};
+
+// Offset of an ISO date from another, in days
+export const dayOffset = (from, date) =>
+  Math.round((Date.parse(date) - Date.parse(from)) / (24 * 60 * 60 * 1000));